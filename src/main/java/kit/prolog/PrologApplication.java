@@ -2,11 +2,14 @@ package kit.prolog;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 import org.springframework.cache.annotation.EnableCaching;
 
 @EnableCaching
 
-@SpringBootApplication
+// R2DBC는 읽기 전용 리액티브 서버(ReactiveReadConfig)에서만 사용, JPA 트랜잭션 매니저와 겹치지 않도록 자동 설정 제외
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class PrologApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,95 @@
+package kit.prolog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import kit.prolog.controller.PostReadHandler;
+import kit.prolog.repository.r2dbc.PostR2dbcRepository;
+import kit.prolog.service.*;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/*
+* 공개 조회 API를 논블로킹으로 제공하는 리액티브 읽기 서버
+* 기존 MVC(Tomcat) 서버와 같은 애플리케이션에서 별도 포트(Reactor Netty)로 실행하여 같은 데이터로 두 방식을 비교
+* prolog.reactive.enabled=true 일 때만 실행, DB 접근은 R2DBC 커넥션 풀 사용
+* */
+@Log4j2
+@Configuration
+@ConditionalOnProperty(name = "prolog.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+    @Value("${prolog.reactive.port:8081}")
+    private int port;
+    @Value("${prolog.reactive.r2dbc.url}")
+    private String url;
+    @Value("${spring.datasource.username}")
+    private String username;
+    @Value("${spring.datasource.password}")
+    private String password;
+    @Value("${prolog.reactive.r2dbc.pool-size:20}")
+    private int poolSize;
+    // 댓글 페이지 번호를 MVC의 Pageable 변환과 같게 해석
+    @Value("${spring.data.web.pageable.one-indexed-parameters:false}")
+    private boolean oneIndexedPages;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionPool() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(Math.min(poolSize, 5))
+                .maxSize(poolSize)
+                .maxIdleTime(Duration.ofMinutes(10))
+                .build());
+    }
+
+    @Bean
+    public PostR2dbcRepository postR2dbcRepository(ConnectionPool reactiveConnectionPool) {
+        return new PostR2dbcRepository(DatabaseClient.create(reactiveConnectionPool));
+    }
+
+    @Bean
+    public PostReadHandler postReadHandler(PostR2dbcRepository postR2dbcRepository, PostPreviewService postPreviewService,
+                                           PostDetailDocumentService postDetailDocumentService, FeedCacheService feedCacheService,
+                                           HitCountBuffer hitCountBuffer, UniqueVisitorService uniqueVisitorService,
+                                           TagSuggestService tagSuggestService, JwtService jwtService) {
+        return new PostReadHandler(postR2dbcRepository, postPreviewService, postDetailDocumentService,
+                feedCacheService, hitCountBuffer, uniqueVisitorService, tagSuggestService, jwtService, oneIndexedPages);
+    }
+
+    /*
+    * MVC와 같은 ObjectMapper로 응답을 직렬화해 두 서버의 응답 형식을 맞춤
+    * */
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveReadServer(PostReadHandler postReadHandler, ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(postReadHandler.routes(), strategies));
+        DisposableServer server = HttpServer.create().port(port).handle(adapter).bindNow();
+        log.info("reactive read server started on port {}", port);
+        return server;
+    }
+}
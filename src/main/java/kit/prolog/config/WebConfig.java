@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -18,6 +20,29 @@ public class WebConfig implements WebMvcConfigurer {
     private String connectPath;
     @Value("${external.static.url.inbound}")
     private String resourcePath;
+    @Value("${prolog.feed.stream.threads:8}")
+    private int streamThreads;
+    @Value("${prolog.feed.stream.queue-capacity:100}")
+    private int streamQueueCapacity;
+    @Value("${prolog.feed.stream.timeout-ms:30000}")
+    private long streamTimeout;
+
+    /*
+    * 피드 스트리밍(StreamingResponseBody)을 실행할 스레드 풀
+    * 기본 SimpleAsyncTaskExecutor는 요청마다 스레드를 만들므로 크기를 제한
+    * */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamThreads);
+        executor.setMaxPoolSize(streamThreads);
+        executor.setQueueCapacity(streamQueueCapacity);
+        executor.setThreadNamePrefix("feed-stream-");
+        executor.setDaemon(true);
+        executor.initialize();
+        configurer.setTaskExecutor(executor);
+        configurer.setDefaultTimeout(streamTimeout);
+    }
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
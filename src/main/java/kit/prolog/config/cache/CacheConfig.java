@@ -0,0 +1,97 @@
+package kit.prolog.config.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+* 공개 피드 앞쪽 페이지용 2단계 캐시 설정
+* L1(Caffeine)은 인스턴스마다 따로 있으므로 다른 인스턴스의 무효화가 닿지 않아 TTL을 L2보다 짧게 둠
+* */
+@Configuration
+public class CacheConfig {
+    public static final String RECENT_FEED = "feed:recent";
+    public static final String HOTTEST_FEED = "feed:hottest";
+
+    @Value("${prolog.cache.feed.l1-ttl-seconds:5}")
+    private long localTtlSeconds;
+
+    @Value("${prolog.cache.feed.l1-max-size:100}")
+    private long localMaxSize;
+
+    @Value("${prolog.cache.feed.l2-ttl-seconds:30}")
+    private long remoteTtlSeconds;
+
+    /*
+    * @EnableCaching이 사용할 기본 CacheManager
+    * RedisConfig의 redisCacheManager와 구분하기 위해 @Primary 지정
+    * */
+    @Bean
+    @Primary
+    public CacheManager twoTierCacheManager(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
+        RedisCacheConfiguration remoteConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofSeconds(remoteTtlSeconds))
+                .disableCachingNullValues()
+                .serializeKeysWith(RedisSerializationContext
+                        .SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext
+                        .SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer(cacheObjectMapper())));
+        Set<String> cacheNames = Set.of(RECENT_FEED, HOTTEST_FEED);
+        RedisCacheManager remote = RedisCacheManager
+                .RedisCacheManagerBuilder
+                .fromConnectionFactory(redisConnectionFactory)
+                .cacheDefaults(remoteConfiguration)
+                .initialCacheNames(cacheNames)
+                .build();
+        remote.initializeCaches();
+
+        List<TwoTierCache> caches = cacheNames.stream()
+                .map(name -> new TwoTierCache(name,
+                        Caffeine.newBuilder()
+                                .maximumSize(localMaxSize)
+                                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                                .build(),
+                        remote.getCache(name),
+                        meterRegistry))
+                .collect(Collectors.toList());
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    /*
+    * LocalDateTime을 포함한 DTO를 타입 정보와 함께 저장
+    * */
+    private static ObjectMapper cacheObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        objectMapper.activateDefaultTyping(objectMapper.getPolymorphicTypeValidator(),
+                ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        return objectMapper;
+    }
+}
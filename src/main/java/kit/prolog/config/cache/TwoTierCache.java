@@ -0,0 +1,149 @@
+package kit.prolog.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/*
+* 2단계 캐시
+* L1 : 프로세스 내 Caffeine 캐시(크기 제한, 짧은 TTL), L2 : 인스턴스 간 공유되는 Redis 캐시
+* L1 미스 시 L2를 조회하여 L1을 채우고, 둘 다 미스일 때만 원본을 조회
+* Redis 장애 시 L2는 미스로 취급하여 원본 조회로 대체
+* */
+@Log4j2
+public class TwoTierCache extends AbstractValueAdaptingCache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Cache remote;
+
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local, Cache remote,
+                        MeterRegistry meterRegistry) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.localHits = counter(meterRegistry, "l1", "hit");
+        this.localMisses = counter(meterRegistry, "l1", "miss");
+        this.remoteHits = counter(meterRegistry, "l2", "hit");
+        this.remoteMisses = counter(meterRegistry, "l2", "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        localMisses.increment();
+        value = lookupRemote(key);
+        if (value != null) local.put(key, value);
+        return value;
+    }
+
+    /**
+     * 캐시 조회, 없을 경우 valueLoader로 적재
+     * 같은 인스턴스에서 동시에 들어온 같은 key의 미스는 Caffeine이 한 번만 적재하도록 묶음
+     * */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = {false};
+        Object value = local.get(key, k -> {
+            loaded[0] = true;
+            Object remoteValue = lookupRemote(k);
+            if (remoteValue != null) return remoteValue;
+            Object loadedValue = toStoreValue(call(k, valueLoader));
+            putRemote(k, loadedValue);
+            return loadedValue;
+        });
+        if (loaded[0]) localMisses.increment();
+        else localHits.increment();
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        local.put(key, storeValue);
+        putRemote(key, storeValue);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        try {
+            remote.evict(key);
+        } catch (RuntimeException e) {
+            log.warn("cache {} l2 evict failed, key : {}", name, key, e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("cache {} l2 clear failed", name, e);
+        }
+    }
+
+    private Object lookupRemote(Object key) {
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                remoteHits.increment();
+                return wrapper.get();
+            }
+        } catch (RuntimeException e) {
+            log.warn("cache {} l2 lookup failed, key : {}", name, key, e);
+        }
+        remoteMisses.increment();
+        return null;
+    }
+
+    private void putRemote(Object key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("cache {} l2 put failed, key : {}", name, key, e);
+        }
+    }
+
+    private static <T> T call(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("prolog.cache.requests")
+                .description("2단계 캐시 계층별 적중/미스 횟수")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
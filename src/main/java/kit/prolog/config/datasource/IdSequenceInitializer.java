@@ -0,0 +1,80 @@
+package kit.prolog.config.datasource;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+/*
+* CONTEXTS/LAYOUTS/ATTACHMENTS pk 시퀀스 보정
+* 세 엔티티는 IDENTITY 대신 pooled 시퀀스(allocationSize 50)로 pk를 미리 받아 INSERT를 JDBC batch로 묶음
+* MySQL에는 시퀀스가 없어 Hibernate가 xxx_seq(next_val) 테이블을 만들어 사용하는데,
+* IDENTITY로 쌓인 기존 행이 있으면 1부터 발급하여 pk가 겹치므로 기동 시 next_val을 MAX(pk) + 50 + 1 이상으로 올림
+* 실제 시퀀스를 쓰는 DB(H2 등)는 시퀀스 테이블이 없으므로 건너뜀
+* 시퀀스 테이블이 있는데 보정에 실패하면 pk가 겹칠 수 있으므로 기동을 멈춤
+* */
+@Log4j2
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+    private static final int ALLOCATION_SIZE = 50;
+
+    // 시퀀스 테이블, 엔티티 테이블, pk 컬럼
+    private static final String[][] SEQUENCES = {
+            {"contexts_seq", "contexts", "context_id"},
+            {"layouts_seq", "layouts", "layout_id"},
+            {"attachments_seq", "attachments", "attachment_id"}
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void align() {
+        for (String[] sequence : SEQUENCES) {
+            String table = sequence[0], next = "(SELECT COALESCE(MAX(" + sequence[2] + "), 0) + " + (ALLOCATION_SIZE + 1) +
+                    " FROM " + sequence[1] + ")";
+            if (!tableExists(table)) {
+                log.debug("{} is not a table sequence, skipped", table);
+                continue;
+            }
+            try {
+                jdbcTemplate.update("INSERT INTO " + table + "(next_val) SELECT " + next +
+                        " FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM " + table + ")");
+                int updated = jdbcTemplate.update("UPDATE " + table + " SET next_val = " + next +
+                        " WHERE next_val < " + next);
+                if (updated > 0) log.info("{} aligned with {}.{}", table, sequence[1], sequence[2]);
+            } catch (DataAccessException e) {
+                log.error("{} align failed", table, e);
+                throw new IllegalStateException(table + " align failed", e);
+            }
+        }
+    }
+
+    /*
+    * 현재 스키마에 테이블이 있는지 확인 (DB마다 식별자 대소문자 저장 방식이 달라 소문자/대문자 모두 확인)
+    * */
+    private boolean tableExists(String table) {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(),
+                        name, new String[]{"TABLE"})) {
+                    if (tables.next()) return true;
+                }
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
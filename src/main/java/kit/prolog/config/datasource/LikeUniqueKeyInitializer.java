@@ -0,0 +1,103 @@
+package kit.prolog.config.datasource;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/*
+* LIKES(user, post) 유니크 키 보정
+* 좋아요 멱등성(INSERT IGNORE)은 유니크 키에 의존하는데, ddl-auto: update는 이전 전환 로직이 남긴 중복 행이 있으면
+* 키 추가에 실패하고 로그만 남기므로 기동 시 직접 확인
+* 키가 없으면 (user, post)마다 pk가 가장 작은 행만 남기고, 중복으로 부풀려진 POSTS/POST_PREVIEWS 좋아요 수를 다시 센 뒤 키 추가
+* 인기 게시글 순위는 기동 시 LIKES로 재구성하므로 따로 보정하지 않음
+* 키를 추가하지 못하면 좋아요 중복을 막을 수 없으므로 기동을 멈춤
+* */
+@Log4j2
+@Component
+@DependsOn("entityManagerFactory")
+public class LikeUniqueKeyInitializer {
+    private static final String TABLE = "likes";
+    private static final Set<String> KEY_COLUMNS = Set.of("user_user_id", "post_post_id");
+
+    private static final String DUPLICATED_POSTS =
+            "SELECT DISTINCT post_post_id FROM likes GROUP BY user_user_id, post_post_id HAVING COUNT(*) > 1";
+    // MySQL은 DELETE 대상 테이블을 하위 쿼리에서 바로 읽을 수 없으므로 파생 테이블로 감쌈
+    private static final String DELETE_DUPLICATES =
+            "DELETE FROM likes WHERE like_id NOT IN (SELECT like_id FROM " +
+            "(SELECT MIN(like_id) AS like_id FROM likes GROUP BY user_user_id, post_post_id) kept)";
+    private static final String RECOUNT_POST =
+            "UPDATE posts SET like_count = (SELECT COUNT(*) FROM likes WHERE post_post_id = ?), " +
+            "like_version = like_version + 1 WHERE post_id = ?";
+    private static final String RECOUNT_PREVIEW =
+            "UPDATE post_previews SET like_count = (SELECT COUNT(*) FROM likes WHERE post_post_id = ?) WHERE post_id = ?";
+    private static final String ADD_UNIQUE_KEY =
+            "ALTER TABLE likes ADD CONSTRAINT uk_likes_user_post UNIQUE (user_user_id, post_post_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LikeUniqueKeyInitializer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (hasUniqueKey()) return;
+        try {
+            List<Long> postIds = transactionTemplate.execute(status -> removeDuplicates());
+            // DDL은 MySQL에서 암묵적으로 커밋하므로 중복 삭제 트랜잭션이 끝난 뒤 실행
+            jdbcTemplate.execute(ADD_UNIQUE_KEY);
+            log.info("likes unique key added, duplicated likes removed from {} posts", postIds.size());
+        } catch (DataAccessException e) {
+            log.error("likes unique key migration failed", e);
+            throw new IllegalStateException("likes unique key migration failed", e);
+        }
+    }
+
+    private List<Long> removeDuplicates() {
+        List<Long> postIds = jdbcTemplate.queryForList(DUPLICATED_POSTS, Long.class);
+        if (postIds.isEmpty()) return postIds;
+        int deleted = jdbcTemplate.update(DELETE_DUPLICATES);
+        List<Object[]> rows = postIds.stream().map(postId -> new Object[]{postId, postId}).collect(Collectors.toList());
+        jdbcTemplate.batchUpdate(RECOUNT_POST, rows);
+        jdbcTemplate.batchUpdate(RECOUNT_PREVIEW, rows);
+        log.warn("{} duplicated likes deleted, like counts of {} posts recounted", deleted, postIds.size());
+        return postIds;
+    }
+
+    /*
+    * (user_user_id, post_post_id)로만 이루어진 유니크 인덱스가 있는지 확인
+    * DB마다 식별자 대소문자 저장 방식이 달라 소문자/대문자 모두 확인
+    * */
+    private boolean hasUniqueKey() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String table : new String[]{TABLE, TABLE.toUpperCase(Locale.ROOT)}) {
+                Map<String, Set<String>> indexes = new HashMap<>();
+                try (ResultSet index = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                        table, true, false)) {
+                    while (index.next()) {
+                        if (index.getString("INDEX_NAME") == null || index.getString("COLUMN_NAME") == null) continue;
+                        indexes.computeIfAbsent(index.getString("INDEX_NAME"), name -> new HashSet<>())
+                                .add(index.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                    }
+                }
+                if (indexes.values().stream().anyMatch(KEY_COLUMNS::equals)) return true;
+            }
+            return false;
+        });
+        return Boolean.TRUE.equals(exists);
+    }
+}
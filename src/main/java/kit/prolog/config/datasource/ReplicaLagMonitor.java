@@ -0,0 +1,94 @@
+package kit.prolog.config.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/*
+* 복제 지연 측정 (heartbeat)
+* 주기마다 프라이머리의 REPLICA_HEARTBEATS에 현재 시각을 쓰고, 레플리카에 복제된 값과 비교하여 지연을 계산
+* 측정값은 실제 지연보다 최대 check-interval만큼 크므로 max-lag-ms는 check-interval-ms보다 크게 설정
+* 지연이 max-lag-ms를 넘거나 레플리카 조회가 실패하면 읽기 전용 트랜잭션도 프라이머리로 보냄
+* */
+@Log4j2
+public class ReplicaLagMonitor {
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS REPLICA_HEARTBEATS " +
+            "(ID INT NOT NULL PRIMARY KEY, BEAT_AT BIGINT NOT NULL)";
+    private static final int HEARTBEAT_ID = 1;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean available = false;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+        Gauge.builder("prolog.datasource.replica.lag", this, monitor -> monitor.available ? monitor.lagMillis : -1)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("prolog.datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    public void init() {
+        primary.execute(CREATE_TABLE);
+        check();
+    }
+
+    @Scheduled(fixedDelayString = "${prolog.datasource.replica.check-interval-ms:500}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        beat(now);
+        try {
+            List<Long> beats = replica.queryForList("SELECT BEAT_AT FROM REPLICA_HEARTBEATS WHERE ID = ?",
+                    Long.class, HEARTBEAT_ID);
+            lagMillis = beats.isEmpty() ? Long.MAX_VALUE : Math.max(0L, now - beats.get(0));
+            update(lagMillis <= maxLagMillis);
+        } catch (RuntimeException e) {
+            lagMillis = Long.MAX_VALUE;
+            update(false);
+            log.warn("replica heartbeat read failed", e);
+        }
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /*
+    * 레플리카 커넥션을 얻지 못한 경우, 다음 측정까지 프라이머리 사용
+    * */
+    void markUnavailable() {
+        update(false);
+    }
+
+    private void beat(long now) {
+        try {
+            if (primary.update("UPDATE REPLICA_HEARTBEATS SET BEAT_AT = ? WHERE ID = ?", now, HEARTBEAT_ID) == 0) {
+                primary.update("INSERT INTO REPLICA_HEARTBEATS(ID, BEAT_AT) VALUES (?, ?)", HEARTBEAT_ID, now);
+            }
+        } catch (RuntimeException e) {
+            log.warn("replica heartbeat write failed", e);
+        }
+    }
+
+    private void update(boolean available) {
+        if (this.available != available) {
+            log.info("replica {} (lag {}ms)", available ? "available" : "unavailable, reading from primary",
+                    lagMillis == Long.MAX_VALUE ? "unknown" : lagMillis);
+        }
+        this.available = available;
+    }
+}
@@ -0,0 +1,89 @@
+package kit.prolog.config.datasource;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/*
+* 읽기 전용 트랜잭션은 레플리카, 그 외(쓰기 트랜잭션, 트랜잭션 밖)는 프라이머리로 보내는 DataSource
+* 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로 LazyConnectionDataSourceProxy로 감싸서 사용
+* 레플리카가 지연되었거나 커넥션을 얻지 못하면 프라이머리 사용
+* 캐시/ETag 버전을 다시 채우는 조회는 readFromPrimary로 감싸 프라이머리로 고정
+* (커밋 후 무효화된 캐시를 지연된 레플리카로 다시 채우면 새 버전에 이전 본문이 저장되어 304로 계속 응답됨)
+* */
+@Log4j2
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = ThreadLocal.withInitial(() -> false);
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * 읽기 전용 트랜잭션 안에서도 프라이머리에서 읽음
+     * 매개변수 : read(캐시나 ETag 버전 스탬프를 다시 채우는 조회)
+     * 커넥션은 첫 쿼리에서 얻으므로 트랜잭션의 첫 쿼리 전에 감싸야 함
+     * */
+    public static <T> T readFromPrimary(Supplier<T> read) {
+        boolean pinned = PRIMARY_PINNED.get();
+        PRIMARY_PINNED.set(true);
+        try {
+            return read.get();
+        } finally {
+            if (pinned) PRIMARY_PINNED.set(true);
+            else PRIMARY_PINNED.remove();
+        }
+    }
+
+    /**
+     * 현재 스레드가 프라이머리로 고정되어 있는지 (다른 스레드로 조회를 넘길 때 고정을 이어가기 위해 사용)
+     * */
+    public static boolean isPrimaryPinned() {
+        return PRIMARY_PINNED.get();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return !PRIMARY_PINNED.get() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagMonitor.isAvailable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == getResolvedDefaultDataSource()) return target.getConnection();
+        try {
+            return target.getConnection();
+        } catch (SQLException e) {
+            log.warn("replica connection failed, reading from primary", e);
+            replicaLagMonitor.markUnavailable();
+            return getResolvedDefaultDataSource().getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == getResolvedDefaultDataSource()) return target.getConnection(username, password);
+        try {
+            return target.getConnection(username, password);
+        } catch (SQLException e) {
+            log.warn("replica connection failed, reading from primary", e);
+            replicaLagMonitor.markUnavailable();
+            return getResolvedDefaultDataSource().getConnection(username, password);
+        }
+    }
+}
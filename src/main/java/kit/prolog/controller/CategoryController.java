@@ -3,13 +3,16 @@ package kit.prolog.controller;
 import kit.prolog.dto.CategoryInfoDto;
 import kit.prolog.dto.SuccessDto;
 import kit.prolog.service.CategoryService;
+import kit.prolog.service.ContentVersionService;
 import kit.prolog.service.JwtService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.util.List;
 
@@ -19,6 +22,7 @@ public class CategoryController {
 
     private final CategoryService categoryService;
     private final JwtService jwtService;
+    private final ContentVersionService contentVersionService;
 
     @PostMapping("/categories")
     public ResponseEntity createCategory(@RequestBody CategoryFormDto categoryFormDto,
@@ -57,8 +61,16 @@ public class CategoryController {
         return new ResponseEntity(new SuccessDto(true), HttpStatus.OK);
     }
 
+    /*
+    * 카테고리 버전이 같으면 목록을 조회하지 않고 304 응답
+    * */
     @GetMapping("/users/{account}/categories")
-    public SuccessDto getCategories(@PathVariable("account") String userAccount) {
+    public SuccessDto getCategories(@PathVariable("account") String userAccount, ServletWebRequest webRequest) {
+        String etag = contentVersionService.categoriesTag(userAccount);
+        if (etag != null) {
+            webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            if (webRequest.checkNotModified(etag)) return null;
+        }
         List<CategoryInfoDto> categoryInfos = categoryService.findCategoryInfos(userAccount);
         return new SuccessDto(true, categoryInfos);
     }
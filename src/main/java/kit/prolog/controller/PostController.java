@@ -1,10 +1,18 @@
 package kit.prolog.controller;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import kit.prolog.domain.User;
 import kit.prolog.dto.*;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.service.ContentVersionService;
+import kit.prolog.service.FeedCacheService;
 import kit.prolog.service.JwtService;
+import kit.prolog.service.LikeService;
 import kit.prolog.service.PostService;
+import kit.prolog.service.UniqueVisitorService;
 import kit.prolog.service.UserService;
+import kit.prolog.util.ClientIpUtil;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
@@ -13,26 +21,43 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+
 @Log4j2
 @RestController
 @RequiredArgsConstructor
 public class PostController {
     private static final Long NO_USER = 0L;
+    private static final String POST_HITS = "X-Post-Hits";
+    private static final int MAX_STREAM_SIZE = PAGE_SIZE * 20;
+    private static final byte[] SSE_DATA = "data: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NDJSON_END = "\n".getBytes(StandardCharsets.UTF_8);
     private final PostService postService;
+    private final LikeService likeService;
+    private final FeedCacheService feedCacheService;
     private final UserService userService;
     private final JwtService jwtService;
     private final WebClient api;
+    private final ObjectMapper objectMapper;
+    private final ContentVersionService contentVersionService;
 
     /**
      * 레이아웃 작성 API
@@ -123,26 +148,59 @@ public class PostController {
      * 특정 카테고리 게시글 조회 API
      */
     @GetMapping("/{user}/{category}")
-    public SuccessDto readPostsInCategory(@PathVariable String user,
+    public SuccessDto readPostsInCategory(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                          @PathVariable String user,
                                           @PathVariable String category,
-                                          @RequestParam int last) {
+                                          @RequestParam int last, ServletWebRequest webRequest) {
+        Long memberPk = optionalUser(accessToken);
+        if (notModified(webRequest, contentVersionService.categoryFeedTag(user, memberPk))) return null;
         List<PostPreviewDto> posts = postService.viewPostsByCategory(user, category, last);
-        List<PostPreview> previewList = changeResponseType(posts);
+        List<PostPreview> previewList = changeResponseType(posts, memberPk);
         return new SuccessDto(true, previewList);
     }
 
+    /**
+     * 특정 카테고리 게시글 스트리밍 조회 API
+     * Accept가 application/x-ndjson 또는 text/event-stream 일 때, 페이지를 넘어 limit개까지 게시글을 하나씩 전송
+     */
+    @GetMapping(value = "/{user}/{category}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamPostsInCategory(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                                                       @RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                                                       @PathVariable String user,
+                                                                       @PathVariable String category,
+                                                                       @RequestParam int last,
+                                                                       @RequestParam(defaultValue = "15") int limit) {
+        Long memberPk = optionalUser(accessToken);
+        return streamFeed(accept, memberPk, limit, previous -> postService.viewPostsByCategory(user, category,
+                previous == null ? last : previous.getPostDto().getId().intValue()));
+    }
+
     /**
      * 게시글 상세 조회 API
      * 로그인 상태일 때, 좋아요 exist 정보를 포함하여 조회
+     * If-None-Match가 현재 ETag와 같으면 상세 문서를 읽지 않고 조회수만 올린 뒤 304 응답
+     * 조회수는 ETag에 포함하지 않고 X-Post-Hits 헤더로 응답
      */
     @GetMapping("/board/{id}")
     public SuccessDto readPost(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
-                               @PathVariable Long id) throws NullPointerException, AccessDeniedException {
+                               @PathVariable Long id, HttpServletRequest request,
+                               ServletWebRequest webRequest) throws NullPointerException, AccessDeniedException {
         PostDetailDto post;
         Long memberPk = null;
         if (accessToken != null && !accessToken.isEmpty()) memberPk = validateUser(accessToken);
         memberPk = memberPk == null ? NO_USER : memberPk;
-        post = postService.viewPostDetailById(memberPk, id);
+        String visitor = memberPk.equals(NO_USER)
+                ? UniqueVisitorService.ipVisitor(ClientIpUtil.getClientIp(request))
+                : UniqueVisitorService.userVisitor(memberPk);
+        Long viewer = memberPk.equals(NO_USER) ? null : memberPk;
+        PostRepository.DetailCounters counters = postService.findPostDetailCounters(id);
+        if (notModified(webRequest, ContentVersionService.postTag(counters, viewer))) {
+            long hits = postService.recordPostView(id, counters.getWriterId(), counters.getHitCount(), visitor);
+            webRequest.getResponse().setHeader(POST_HITS, String.valueOf(hits));
+            return null;
+        }
+        post = postService.viewPostDetailById(memberPk, id, visitor);
+        webRequest.getResponse().setHeader(POST_HITS, String.valueOf(post.getHits()));
         PostDetail postDetail = new PostDetail(post);
         return new SuccessDto(true, postDetail);
     }
@@ -206,6 +264,19 @@ public class PostController {
         return new SuccessDto(true, tags);
     }
 
+    /**
+     * 태그별 게시글 목록 조회 API
+     * 여러 태그는 쉼표로 구분(/tags/spring,jpa/posts), 모든 태그가 달린 게시글만 최신순으로 조회
+     */
+    @GetMapping("/tags/{names}/posts")
+    public SuccessDto readPostsByTags(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                      @PathVariable List<String> names, @RequestParam int last) {
+        Long memberPk = optionalUser(accessToken);
+        List<PostPreviewDto> taggedPosts = postService.getPostsByTags(names, last);
+        List<PostPreview> post = changeResponseType(taggedPosts, memberPk);
+        return new SuccessDto(true, post);
+    }
+
     /**
      * 파일 업로드 API
      * TODO : 2022.11.08. 업로드 파일 타입 제한 & 파일 실행 권한 제거 - 김태훈
@@ -254,14 +325,34 @@ public class PostController {
     }
 
     /**
-     * 게시글 좋아요/취소 API
+     * 게시글 좋아요/취소 전환 API
+     * 반환 : LikeDto(좋아요 수, 좋아요 여부)
      */
     @PostMapping("/board/{id}")
     public SuccessDto likePost(@RequestHeader(value = "X-AUTH-TOKEN") String accessToken,
                                @PathVariable Long id) throws AccessDeniedException, NullPointerException {
         Long memberPk = validateUser(accessToken);
-        boolean like = postService.likePost(memberPk, id);
-        return new SuccessDto(like);
+        return new SuccessDto(true, likeService.toggle(memberPk, id));
+    }
+
+    /**
+     * 게시글 좋아요 API (멱등)
+     */
+    @PutMapping("/board/{id}/like")
+    public SuccessDto like(@RequestHeader(value = "X-AUTH-TOKEN") String accessToken,
+                           @PathVariable Long id) throws AccessDeniedException, NullPointerException {
+        Long memberPk = validateUser(accessToken);
+        return new SuccessDto(true, likeService.like(memberPk, id));
+    }
+
+    /**
+     * 게시글 좋아요 취소 API (멱등)
+     */
+    @DeleteMapping("/board/{id}/like")
+    public SuccessDto unlike(@RequestHeader(value = "X-AUTH-TOKEN") String accessToken,
+                             @PathVariable Long id) throws AccessDeniedException, NullPointerException {
+        Long memberPk = validateUser(accessToken);
+        return new SuccessDto(true, likeService.unlike(memberPk, id));
     }
 
     /**
@@ -321,32 +412,72 @@ public class PostController {
     /**
      * 전체 게시글 목록 조회 API
      * 최근 좋아요 많이 받은 게시글 리스트 조회
-     * 메인화면
+     * 메인화면, 다음 페이지는 이전 페이지 마지막 게시글의 score, id를 score, last로 전달
      */
     @GetMapping("/")
-    public SuccessDto readHottestPosts(@RequestParam int last) {
-        List<PostPreviewDto> hottestPosts = postService.getHottestPostList(last);
-        List<PostPreview> post = changeResponseType(hottestPosts);
+    public SuccessDto readHottestPosts(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                       @RequestParam(required = false) Long score,
+                                       @RequestParam(required = false) Long last, ServletWebRequest webRequest) {
+        Long memberPk = optionalUser(accessToken);
+        if (notModified(webRequest, contentVersionService.feedTag(memberPk))) return null;
+        List<PostPreviewDto> hottestPosts = feedCacheService.getHottestPosts(score, last);
+        List<PostPreview> post = changeResponseType(hottestPosts, memberPk);
         return new SuccessDto(true, post);
     }
 
+    /**
+     * 전체 게시글 스트리밍 조회 API
+     */
+    @GetMapping(value = "/", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamHottestPosts(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                                                    @RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                                                    @RequestParam(required = false) Long score,
+                                                                    @RequestParam(required = false) Long last,
+                                                                    @RequestParam(defaultValue = "15") int limit) {
+        Long memberPk = optionalUser(accessToken);
+        return streamFeed(accept, memberPk, limit, previous -> previous == null
+                ? feedCacheService.getHottestPosts(score, last)
+                : feedCacheService.getHottestPosts(previous.getScore(), previous.getPostDto().getId()));
+    }
+
     /**
      * 최근 게시글 목록 조회 API
      */
     @GetMapping("/recent/")
-    public SuccessDto readRecentPosts(@RequestParam int last) {
+    public SuccessDto readRecentPosts(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                      @RequestParam int last, ServletWebRequest webRequest) {
+        Long memberPk = optionalUser(accessToken);
+        if (notModified(webRequest, contentVersionService.feedTag(memberPk))) return null;
         List<PostPreviewDto> recentPostList = postService.getRecentPostList(last);
-        List<PostPreview> post = changeResponseType(recentPostList);
+        List<PostPreview> post = changeResponseType(recentPostList, memberPk);
         return new SuccessDto(true, post);
     }
 
+    /**
+     * 최근 게시글 스트리밍 조회 API
+     */
+    @GetMapping(value = "/recent/", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamRecentPosts(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                                                   @RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                                                   @RequestParam int last,
+                                                                   @RequestParam(defaultValue = "15") int limit) {
+        Long memberPk = optionalUser(accessToken);
+        return streamFeed(accept, memberPk, limit, previous -> postService.getRecentPostList(
+                previous == null ? last : previous.getPostDto().getId().intValue()));
+    }
+
     /**
      * 검색 기능 API
+     * 검색 점수 순, 다음 페이지는 이전 페이지 마지막 게시글의 score, id를 score, last로 전달
      */
     @GetMapping("/search")
-    public SuccessDto searchPosts(@RequestParam String keyword, @RequestParam int last) {
-        List<PostPreviewDto> searchPosts = postService.searchPosts(keyword, last);
-        List<PostPreview> post = changeResponseType(searchPosts);
+    public SuccessDto searchPosts(@RequestHeader(value = "X-AUTH-TOKEN", required = false) String accessToken,
+                                  @RequestParam String keyword,
+                                  @RequestParam(required = false) Long score,
+                                  @RequestParam(required = false) Long last) {
+        Long memberPk = optionalUser(accessToken);
+        List<PostPreviewDto> searchPosts = postService.searchPosts(keyword, score, last);
+        List<PostPreview> post = changeResponseType(searchPosts, memberPk);
         return new SuccessDto(true, post);
     }
 
@@ -354,6 +485,74 @@ public class PostController {
         return serviceOutput.stream().map(PostPreview::new).collect(Collectors.toList());
     }
 
+    /*
+    * 로그인 상태일 때 페이지의 좋아요 여부를 IN 쿼리 한 번으로 조회하여 liked에 표시
+    * */
+    private List<PostPreview> changeResponseType(List<PostPreviewDto> serviceOutput, Long memberPk) {
+        List<PostPreview> previews = changeResponseType(serviceOutput);
+        if (memberPk == null) return previews;
+        Set<Long> likedPostIds = likeService.findLikedPostIds(memberPk,
+                previews.stream().map(PostPreview::getId).collect(Collectors.toList()));
+        previews.forEach(preview -> preview.setLiked(likedPostIds.contains(preview.getId())));
+        return previews;
+    }
+
+    /*
+    * 피드 스트리밍
+    * nextPage는 이전 페이지의 마지막 게시글(첫 페이지는 null)로 다음 페이지를 조회
+    * 게시글마다 한 줄(NDJSON) 또는 한 이벤트(SSE)로 쓰고 바로 flush
+    * 클라이언트가 읽지 않으면 쓰기가 막혀 다음 페이지도 조회하지 않으므로 클라이언트 속도에 맞춰 진행
+    * */
+    private ResponseEntity<StreamingResponseBody> streamFeed(String accept, Long memberPk, int limit,
+                                                             Function<PostPreviewDto, List<PostPreviewDto>> nextPage) {
+        boolean sse = accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        int size = Math.max(1, Math.min(limit, MAX_STREAM_SIZE));
+        StreamingResponseBody body = output -> {
+            int written = 0;
+            PostPreviewDto previous = null;
+            while (written < size) {
+                List<PostPreviewDto> page = nextPage.apply(previous);
+                for (PostPreview preview : changeResponseType(page, memberPk)) {
+                    if (written == size) break;
+                    byte[] json = objectMapper.writeValueAsBytes(preview);
+                    if (sse) output.write(SSE_DATA);
+                    output.write(json);
+                    output.write(sse ? SSE_END : NDJSON_END);
+                    output.flush();
+                    written++;
+                }
+                if (page.size() < PAGE_SIZE) break;
+                previous = page.get(page.size() - 1);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(body);
+    }
+
+    /*
+    * If-None-Match가 etag와 같으면 304 응답 상태로 만들고 true 반환, etag가 null이면 조건부 응답을 하지 않음
+    * 로그인 회원마다 좋아요 여부가 다르므로 X-AUTH-TOKEN에 따라 캐시를 구분하고 매번 재검증
+    * */
+    private boolean notModified(ServletWebRequest webRequest, String etag) {
+        if (etag == null) return false;
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        webRequest.getResponse().addHeader(HttpHeaders.VARY, "X-AUTH-TOKEN");
+        return webRequest.checkNotModified(etag);
+    }
+
+    /*
+    * 로그인하지 않아도 되는 조회 API의 회원 pk
+    * 토큰이 없거나 만료/위조되었거나 회원이 없으면 비로그인으로 처리 (로그아웃한 클라이언트가 이전 토큰을 보내도 목록을 조회할 수 있도록)
+    * */
+    private Long optionalUser(String accessToken) {
+        if (accessToken == null || accessToken.isEmpty() || !jwtService.validateToken(accessToken)) return null;
+        String memberPk = jwtService.getUserPk(accessToken);
+        User user = memberPk == null ? null : userService.readUser(Long.valueOf(memberPk));
+        return user == null ? null : user.getId();
+    }
+
     private Long validateUser(String accessToken) throws AccessDeniedException {
         String memberPk = jwtService.validateToken(accessToken) ? jwtService.getUserPk(accessToken) : null;
         if (memberPk == null) throw new AccessDeniedException("No User Data");
@@ -367,12 +566,12 @@ public class PostController {
      */
     @Data
     @AllArgsConstructor
-    class Image {
+    static class Image {
         String url;
     }
 
     @Data
-    class MainLayout {
+    static class MainLayout {
         private int type;
         private Double width;
         private Double height;
@@ -393,7 +592,7 @@ public class PostController {
     }
 
     @Data
-    class PostPreview {
+    static class PostPreview {
         private Long id;
         private String title;
         private LocalDate written;
@@ -401,6 +600,10 @@ public class PostController {
         private String memberImage;
         private Integer likes;
         private Integer hits;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long score;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean liked;
         private MainLayout mainLayout;
 
         PostPreview(PostPreviewDto dto) {
@@ -411,12 +614,13 @@ public class PostController {
             this.memberImage = dto.getUserDto().getImage();
             this.likes = dto.getLikes().intValue();
             this.hits = dto.getHits().intValue();
+            this.score = dto.getScore();
             this.mainLayout = new MainLayout(dto.getLayoutDto());
         }
     }
 
     @Data
-    class PostDetail {
+    static class PostDetail {
         private UserDto user;
         private PostDto post;
         private Long layoutId;  // moldId
@@ -427,6 +631,7 @@ public class PostController {
         private Long hits;
         private LikeDto likes;
         private List<CommentDto> comments;
+        private Boolean isPostWriter;
 
         PostDetail(PostDetailDto dto) {
             this.user = dto.getUserDto();
@@ -438,11 +643,12 @@ public class PostController {
             this.tag = dto.getTags();
             this.hits = dto.getHits();
             this.likes = dto.getLikeDto();
+            this.isPostWriter = dto.getIsPostWriter();
         }
     }
 
     @Getter
-    class LayoutDetail extends MainLayout {
+    static class LayoutDetail extends MainLayout {
         private Long id;
         private double coordinateX;
         private double coordinateY;
@@ -0,0 +1,278 @@
+package kit.prolog.controller;
+
+import kit.prolog.controller.PostController.PostDetail;
+import kit.prolog.controller.PostController.PostPreview;
+import kit.prolog.dto.LikeDto;
+import kit.prolog.dto.PostDetailDto;
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.dto.SuccessDto;
+import kit.prolog.repository.r2dbc.PostR2dbcRepository;
+import kit.prolog.service.*;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/*
+* 리액티브 읽기 서버(ReactiveReadConfig)의 공개 조회 API
+* PostController, CommentController의 조회 API와 같은 경로, 같은 응답 형식
+* DB 조회는 R2DBC로 실행하고, 블로킹 API(Redis 리더보드/방문자 기록, 상세 문서 재생성)만 boundedElastic 스케줄러로 넘김
+* */
+@Log4j2
+public class PostReadHandler {
+    // CommentController의 @PageableDefault, Spring Data 기본 최대 크기와 같게 맞춤
+    private static final int COMMENT_PAGE_SIZE = 10;
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final PostR2dbcRepository postR2dbcRepository;
+    private final PostPreviewService postPreviewService;
+    private final PostDetailDocumentService postDetailDocumentService;
+    private final FeedCacheService feedCacheService;
+    private final HitCountBuffer hitCountBuffer;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final TagSuggestService tagSuggestService;
+    private final JwtService jwtService;
+    private final boolean oneIndexedPages;
+
+    public PostReadHandler(PostR2dbcRepository postR2dbcRepository, PostPreviewService postPreviewService,
+                           PostDetailDocumentService postDetailDocumentService, FeedCacheService feedCacheService,
+                           HitCountBuffer hitCountBuffer, UniqueVisitorService uniqueVisitorService,
+                           TagSuggestService tagSuggestService, JwtService jwtService, boolean oneIndexedPages) {
+        this.postR2dbcRepository = postR2dbcRepository;
+        this.postPreviewService = postPreviewService;
+        this.postDetailDocumentService = postDetailDocumentService;
+        this.feedCacheService = feedCacheService;
+        this.hitCountBuffer = hitCountBuffer;
+        this.uniqueVisitorService = uniqueVisitorService;
+        this.tagSuggestService = tagSuggestService;
+        this.jwtService = jwtService;
+        this.oneIndexedPages = oneIndexedPages;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return route(GET("/"), this::readHottestPosts)
+                .andRoute(GET("/recent/"), this::readRecentPosts)
+                .andRoute(GET("/tags"), this::getTags)
+                .andRoute(GET("/board/{id}"), this::readPost)
+                .andRoute(GET("/boards/{id}/comments"), this::getComments)
+                .andRoute(GET("/{user}/{category}"), this::readPostsInCategory);
+    }
+
+    /**
+     * 전체 게시글 목록 조회 API
+     * 리더보드가 Redis 블로킹 API이므로 캐시 조회를 boundedElastic에서 실행
+     */
+    public Mono<ServerResponse> readHottestPosts(ServerRequest request) {
+        return respond(() -> {
+            Long memberPk = optionalUser(request);
+            Long score = request.queryParam("score").map(Long::valueOf).orElse(null);
+            Long last = request.queryParam("last").map(Long::valueOf).orElse(null);
+            return Mono.fromCallable(() -> feedCacheService.getHottestPosts(score, last))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(posts -> changeResponseType(posts, memberPk));
+        });
+    }
+
+    /**
+     * 최근 게시글 목록 조회 API
+     */
+    public Mono<ServerResponse> readRecentPosts(ServerRequest request) {
+        return respond(() -> {
+            Long memberPk = optionalUser(request);
+            long last = fromCursor(requiredParam(request, "last"));
+            return postR2dbcRepository.findRecentPreviews(last, PAGE_SIZE).collectList()
+                    .map(postPreviewService::toPreviewDtos)
+                    .flatMap(posts -> changeResponseType(posts, memberPk));
+        });
+    }
+
+    /**
+     * 특정 카테고리 게시글 조회 API
+     */
+    public Mono<ServerResponse> readPostsInCategory(ServerRequest request) {
+        return respond(() -> {
+            Long memberPk = optionalUser(request);
+            long last = fromCursor(requiredParam(request, "last"));
+            return postR2dbcRepository.findCategoryPreviews(request.pathVariable("user"),
+                            request.pathVariable("category"), last, PAGE_SIZE).collectList()
+                    .map(postPreviewService::toPreviewDtos)
+                    .flatMap(posts -> changeResponseType(posts, memberPk));
+        });
+    }
+
+    /**
+     * 게시글 상세 조회 API
+     * 게시글 카운터와 상세 문서를 한 번에 조회하고, 문서가 없거나 오래된 경우에만 블로킹 재생성
+     */
+    public Mono<ServerResponse> readPost(ServerRequest request) {
+        return respond(() -> {
+            Long postId = Long.valueOf(request.pathVariable("id"));
+            Long memberPk = optionalUser(request);
+            String visitor = memberPk == null
+                    ? UniqueVisitorService.ipVisitor(clientIp(request))
+                    : UniqueVisitorService.userVisitor(memberPk);
+            return readDetail(postId, memberPk, visitor).map(PostDetail::new);
+        });
+    }
+
+    /**
+     * 태그 조회 API
+     * 메모리의 태그 trie에서 바로 응답
+     */
+    public Mono<ServerResponse> getTags(ServerRequest request) {
+        return respond(() -> Mono.just(tagSuggestService.suggest(requiredParam(request, "name"))));
+    }
+
+    /**
+     * 게시글 댓글 조회 API
+     * page는 1부터 시작, 작성 시간 오름차순
+     */
+    public Mono<ServerResponse> getComments(ServerRequest request) {
+        return respond(() -> {
+            Long postId = Long.valueOf(request.pathVariable("id"));
+            int page = commentPage(request);
+            int size = commentPageSize(request);
+            Long userId = validToken(request).orElse(null);
+            return postR2dbcRepository.findComments(postId, userId, (long) page * size, size);
+        });
+    }
+
+    /*
+    * MVC의 Pageable 변환과 같은 규칙으로 0부터 시작하는 페이지 번호를 구함
+    * page가 없거나 잘못되면 첫 페이지, spring.data.web.pageable.one-indexed-parameters가 켜져 있으면 1부터 받음
+    * */
+    private int commentPage(ServerRequest request) {
+        Integer page = request.queryParam("page").map(PostReadHandler::parseOrNull).orElse(null);
+        if (page == null) return 0;
+        return Math.max(oneIndexedPages ? page - 1 : page, 0);
+    }
+
+    private int commentPageSize(ServerRequest request) {
+        Integer size = request.queryParam("size").map(PostReadHandler::parseOrNull).orElse(null);
+        if (size == null || size < 1) return COMMENT_PAGE_SIZE;
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private static Integer parseOrNull(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /*
+    * PostService.viewPostDetailById와 같은 순서로 실시간 값과 회원별 값을 덧씌우고 조회 기록
+    * */
+    private Mono<PostDetailDto> readDetail(Long postId, Long memberPk, String visitor) {
+        return postR2dbcRepository.findDetail(postId)
+                .switchIfEmpty(Mono.error(new NullPointerException("No Post Data")))
+                .flatMap(row -> loadDocument(postId, row)
+                        .map(document -> {
+                            document.setHits(row.getHitCount() + hitCountBuffer.pending(postId));
+                            document.setLikeDto(new LikeDto(row.getLikeCount().intValue()));
+                            document.setIsPostWriter(document.getWriterId().equals(memberPk));
+                            return document;
+                        }))
+                .flatMap(document -> memberPk == null ? Mono.just(document)
+                        : postR2dbcRepository.existsLike(memberPk, postId).map(exist -> {
+                            document.getLikeDto().setExist(exist);
+                            return document;
+                        }))
+                .flatMap(document -> Mono.fromRunnable(() -> {
+                            hitCountBuffer.record(postId);
+                            uniqueVisitorService.recordVisit(postId, document.getWriterId(), visitor);
+                        })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(document));
+    }
+
+    private Mono<PostDetailDto> loadDocument(Long postId, PostR2dbcRepository.PostDetailRow row) {
+        if (row.getDocument() != null && row.getRevision().equals(row.getDocumentRevision())) {
+            return Mono.fromCallable(() -> postDetailDocumentService.read(row.getDocument()));
+        }
+        return Mono.fromCallable(() -> postDetailDocumentService.get(postId, row.getRevision()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .switchIfEmpty(Mono.error(new NullPointerException("No Post Data")));
+    }
+
+    /*
+    * 로그인 상태일 때 페이지의 좋아요 여부를 IN 쿼리 한 번으로 조회하여 liked에 표시
+    * */
+    private Mono<List<PostPreview>> changeResponseType(List<PostPreviewDto> serviceOutput, Long memberPk) {
+        List<PostPreview> previews = serviceOutput.stream().map(PostPreview::new).collect(Collectors.toList());
+        if (memberPk == null) return Mono.just(previews);
+        return postR2dbcRepository.findLikedPostIds(memberPk,
+                        previews.stream().map(PostPreview::getId).collect(Collectors.toList()))
+                .map(likedPostIds -> {
+                    previews.forEach(preview -> preview.setLiked(likedPostIds.contains(preview.getId())));
+                    return previews;
+                });
+    }
+
+    /*
+    * ExceptionController와 같은 상태 코드, 같은 응답 형식으로 변환
+    * */
+    private Mono<ServerResponse> respond(Supplier<Mono<?>> data) {
+        return Mono.defer(data)
+                .flatMap(body -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(new SuccessDto(true, body)))
+                .onErrorResume(AccessDeniedException.class, e -> error(HttpStatus.UNAUTHORIZED, e.getMessage()))
+                .onErrorResume(IllegalArgumentException.class, e -> error(HttpStatus.FORBIDDEN, e.getMessage()))
+                .onErrorResume(NullPointerException.class, e -> error(HttpStatus.BAD_REQUEST, e.getMessage()))
+                .onErrorResume(e -> {
+                    log.error("reactive read failed", e);
+                    return error(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected Server Error");
+                });
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new SuccessDto(false, message));
+    }
+
+    /*
+    * 토큰이 없거나 만료/위조되었으면 비로그인으로 처리 (MVC 조회 API와 같음)
+    * 회원 존재 확인은 블로킹 조회이므로 하지 않고 토큰의 pk를 그대로 사용
+    * */
+    private Long optionalUser(ServerRequest request) {
+        return validToken(request).orElse(null);
+    }
+
+    private Optional<Long> validToken(ServerRequest request) {
+        String accessToken = request.headers().firstHeader("X-AUTH-TOKEN");
+        if (accessToken == null || !jwtService.validateToken(accessToken)) return Optional.empty();
+        return Optional.ofNullable(jwtService.getUserPk(accessToken)).map(Long::valueOf);
+    }
+
+    private static String requiredParam(ServerRequest request, String name) {
+        return request.queryParam(name).orElseThrow(() -> new NullPointerException("Required Parameter " + name));
+    }
+
+    private static String clientIp(ServerRequest request) {
+        String forwarded = request.headers().firstHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) return forwarded.split(",")[0].trim();
+        return request.remoteAddress().map(InetSocketAddress::getAddress)
+                .map(address -> address.getHostAddress()).orElse("unknown");
+    }
+
+    private static long fromCursor(String cursor) {
+        long last = Long.parseLong(cursor);
+        return last == 0 ? Long.MAX_VALUE : last;
+    }
+}
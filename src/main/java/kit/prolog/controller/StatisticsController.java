@@ -8,12 +8,14 @@ import kit.prolog.service.JwtService;
 import kit.prolog.service.PostService;
 import kit.prolog.service.StatisticService;
 import kit.prolog.dto.*;
+import kit.prolog.enums.StatisticsGranularity;
 import kit.prolog.service.UserService;
 import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.client.MultipartBodyBuilder;
@@ -75,6 +77,32 @@ public class StatisticsController {
         }
         return response;
     }
+    /**
+     * 구간 통계 API
+     * post가 없으면 회원의 전체 게시글, unit은 day/week/month
+     */
+    @GetMapping("/statistics")
+    @CrossOrigin(origins = "*", allowedHeaders = "*")
+    public SuccessDto findStatistics(
+            @RequestHeader(value = "X-AUTH-TOKEN") String accessToken,
+            @RequestParam(required = false) Long post,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String unit){
+        SuccessDto response;
+        try{
+            Long memberPk = validateUser(accessToken);
+            StatisticsBucketsDto statistics = statisticService.viewStatistics(
+                    memberPk, post, from, to, StatisticsGranularity.from(unit));
+            response = new SuccessDto(true, statistics);
+        }catch (IllegalArgumentException | NullPointerException exception) {
+            response = new SuccessDto(false, exception.getMessage());
+        }catch (Exception e){
+            response = new SuccessDto(false, SERVER_ERROR);
+        }
+        return response;
+    }
+
     private Long validateUser(String accessToken) throws NullPointerException, IllegalArgumentException{
         String memberPk = jwtService.validateToken(accessToken) ? jwtService.getUserPk(accessToken) : null;
         if (memberPk == null) throw new NullPointerException("No User Data");
@@ -12,7 +12,8 @@ import javax.persistence.*;
 @NoArgsConstructor
 public class Attachment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachments_seq")
+    @SequenceGenerator(name = "attachments_seq", sequenceName = "attachments_seq", allocationSize = 50)
     @Column(name = "ATTACHMENT_ID", nullable = false)
     private Long id;
     @Column(nullable = false)
@@ -11,7 +11,8 @@ import javax.persistence.*;
 @NoArgsConstructor
 public class Context{
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "contexts_seq")
+    @SequenceGenerator(name = "contexts_seq", sequenceName = "contexts_seq", allocationSize = 50)
     @Column(name = "CONTEXT_ID", nullable = false)
     private Long id;
 
@@ -44,4 +45,14 @@ public class Context{
         this.post = post;
         this.layout = layout;
     }
+
+    // 게시글 수정 API (값이 같으면 UPDATE 없음)
+    public void updateContent(Context source) {
+        this.context = source.getContext();
+        this.url = source.getUrl();
+        this.code = source.getCode();
+        this.codeType = source.getCodeType();
+        this.codeExplanation = source.getCodeExplanation();
+        this.main = source.isMain();
+    }
 }
@@ -7,6 +7,7 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity(name = "HITS")
+@Table(indexes = @Index(columnList = "time"))
 @Data
 @NoArgsConstructor
 public class Hit {
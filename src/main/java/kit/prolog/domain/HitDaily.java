@@ -0,0 +1,36 @@
+package kit.prolog.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/*
+* 게시글별 일간 조회수 집계
+* HITS 원본 행을 (게시글, 날짜) 단위로 누적, 통계 조회는 이 테이블만 사용
+* */
+@Entity(name = "HITS_DAILY")
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"post_post_id", "view_date"}))
+@Data
+@NoArgsConstructor
+public class HitDaily {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "HIT_DAILY_ID", nullable = false)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate viewDate;
+    @Column(nullable = false)
+    private Long viewCount;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Post post;
+
+    public HitDaily(LocalDate viewDate, Long viewCount, Post post) {
+        this.viewDate = viewDate;
+        this.viewCount = viewCount;
+        this.post = post;
+    }
+}
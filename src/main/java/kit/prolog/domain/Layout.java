@@ -17,7 +17,8 @@ import javax.persistence.*;
 @AllArgsConstructor
 public class Layout {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "layouts_seq")
+    @SequenceGenerator(name = "layouts_seq", sequenceName = "layouts_seq", allocationSize = 50)
     @Column(name = "LAYOUT_ID", nullable = false)
     protected Long id;
 
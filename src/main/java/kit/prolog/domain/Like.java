@@ -6,6 +6,8 @@ import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity(name = "LIKES")
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_user_id", "post_post_id"}),
+        indexes = @Index(columnList = "time"))
 @NoArgsConstructor
 public class Like {
     @Id
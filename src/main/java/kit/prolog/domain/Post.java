@@ -3,6 +3,7 @@ package kit.prolog.domain;
 import lombok.Data;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
@@ -30,6 +31,27 @@ public class Post {
     @ManyToOne(fetch = FetchType.LAZY)
     private Mold mold;
 
+    // 반정규화 카운터, 엔티티 저장 시 덮어쓰지 않도록 updatable = false 로 두고 증감 쿼리로만 변경
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long hitCount = 0L;
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long likeCount = 0L;
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long commentCount = 0L;
+
+    // 상세 문서(POST_DETAILS) 버전, 상세 내용이 바뀔 때마다 증가 쿼리로만 변경
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long revision = 0L;
+
+    // 좋아요/취소마다 증가, 좋아요 수가 같아도 누군가의 좋아요 여부가 바뀌었음을 상세 ETag에 반영
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long likeVersion = 0L;
+
     @OneToMany(mappedBy = "post")
     private List<Like> likes = new ArrayList<>();
 
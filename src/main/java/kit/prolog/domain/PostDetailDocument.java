@@ -0,0 +1,33 @@
+package kit.prolog.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/*
+* 게시글 상세 문서
+* 수정 시에만 바뀌는 상세 내용(작성자, 카테고리, 레이아웃, 태그, 첨부파일)을 작성/수정 시점에 PostDetailDto JSON으로 저장
+* revision은 문서를 만들 때의 POSTS.revision, 게시글의 revision과 다르면 다시 만듦
+* */
+@Entity(name = "POST_DETAILS")
+@Data
+@NoArgsConstructor
+public class PostDetailDocument {
+    @Id
+    @Column(name = "POST_ID", nullable = false)
+    private Long postId;
+
+    @Column(nullable = false)
+    private Long revision;
+
+    @Lob
+    @Column(nullable = false)
+    private String document;
+
+    public PostDetailDocument(Long postId, Long revision, String document) {
+        this.postId = postId;
+        this.revision = revision;
+        this.document = document;
+    }
+}
@@ -0,0 +1,54 @@
+package kit.prolog.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/*
+* 게시글 미리보기 읽기 모델
+* 목록 조회에 필요한 값을 게시글당 한 행에 모아 두어 POSTS, USERS, CONTEXTS, LAYOUTS 조인 없이 pk 범위로 조회
+* 대표 레이아웃은 LayoutDto JSON, 카운터는 POSTS와 같은 방식으로 증감 쿼리로만 변경
+* */
+@Entity(name = "POST_PREVIEWS")
+@Table(indexes = {
+        @Index(columnList = "USER_ACCOUNT, POST_ID"),
+        @Index(columnList = "USER_ID, POST_ID"),
+        @Index(columnList = "USER_ACCOUNT, CATEGORY_NAME, POST_ID")
+})
+@Data
+@NoArgsConstructor
+public class PostPreviewSnapshot {
+    @Id
+    @Column(name = "POST_ID", nullable = false)
+    private Long postId;
+
+    @Column(nullable = false)
+    private String title;
+    @Column(nullable = false)
+    private LocalDateTime time;
+
+    @Column(name = "USER_ID", nullable = false)
+    private Long userId;
+    @Column(name = "USER_ACCOUNT", nullable = false)
+    private String account;
+    private String userName;
+    private String userImage;
+
+    @Column(name = "CATEGORY_ID")
+    private Long categoryId;
+    @Column(name = "CATEGORY_NAME")
+    private String categoryName;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long hitCount = 0L;
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private Long likeCount = 0L;
+
+    @Lob
+    private String mainLayout;
+}
@@ -2,6 +2,7 @@ package kit.prolog.dto;
 
 import kit.prolog.domain.Attachment;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -10,6 +11,7 @@ import java.util.List;
  * PostDetailDto를 위한 부분 DTO
  * */
 @Getter
+@NoArgsConstructor
 public class AttachmentDto {
     private Long id;
     private String name;
@@ -2,6 +2,7 @@ package kit.prolog.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
 /*
@@ -9,6 +10,7 @@ import lombok.experimental.SuperBuilder;
  * */
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor
 @SuperBuilder
 public class CategoryDto {
     private Long id;
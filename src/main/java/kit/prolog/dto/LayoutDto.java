@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
  * PostDetailDto를 위한 부분 DTO
  * */
 @Data
+@NoArgsConstructor
 public class LayoutDto {
     private Long id;
     private int dtype;
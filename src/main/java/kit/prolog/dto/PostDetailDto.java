@@ -1,6 +1,7 @@
 package kit.prolog.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDate;
@@ -12,8 +13,10 @@ import java.util.List;
 * */
 @Getter
 @Setter
+@NoArgsConstructor
 public class PostDetailDto {
     private UserDto userDto;
+    private Long writerId;
     private Long moldId;
     private PostDto postDto;
     private CategoryDto categoryDto;
@@ -23,13 +26,31 @@ public class PostDetailDto {
     private List<String> tags;
     private Long hits;
     private List<CommentLv1Dto> comments;
+    private Boolean isPostWriter;
 
-    public PostDetailDto(String userName, String userImage, Long postId, String postTitle,
+    public PostDetailDto(Long writerId, String userName, String userImage, Long postId, String postTitle,
                          LocalDateTime postTime, Long moldId, Long categoryId, String categoryName, Long hits) {
+        this.writerId = writerId;
         this.userDto = new UserDto(userName, userImage);
         this.postDto = new PostDto(postId, postTitle, postTime);
         this.categoryDto = new CategoryDto(categoryId, categoryName);
         this.moldId = moldId;
         this.hits = hits;
     }
+
+    // 요청마다 덧씌우는 값(hits, likeDto, isPostWriter)만 따로 두고 나머지는 원본과 공유
+    public PostDetailDto(PostDetailDto detail) {
+        this.userDto = detail.userDto;
+        this.writerId = detail.writerId;
+        this.moldId = detail.moldId;
+        this.postDto = detail.postDto;
+        this.categoryDto = detail.categoryDto;
+        this.likeDto = detail.likeDto;
+        this.attachmentDto = detail.attachmentDto;
+        this.layoutDto = detail.layoutDto;
+        this.tags = detail.tags;
+        this.hits = detail.hits;
+        this.comments = detail.comments;
+        this.isPostWriter = detail.isPostWriter;
+    }
 }
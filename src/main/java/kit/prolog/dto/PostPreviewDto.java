@@ -2,24 +2,32 @@ package kit.prolog.dto;
 
 import lombok.Data;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
 @Getter
+@NoArgsConstructor
 public class PostPreviewDto {
     private PostDto postDto;
     private Long hits = 0L;
     private Long likes = 0L;
     private UserDto userDto;
     private LayoutDto layoutDto;
+    private Long score;     // 순위 점수(인기 게시글은 최근 좋아요 수, 검색은 BM25 점수 x1000), 다음 페이지 cursor로 사용
     public PostPreviewDto(Long postId, String title, LocalDateTime time, String name,
                           String image, Long likes) {
         this.postDto = new PostDto(postId, title, time);
         this.likes = likes;
         this.userDto = new UserDto(name, image);
     }
+    public PostPreviewDto(Long postId, String title, LocalDateTime time, String name,
+                          String image, Long likes, Long hits) {
+        this(postId, title, time, name, image, likes);
+        this.hits = hits;
+    }
     public PostPreviewDto(Long postId, String title, LocalDateTime time,
                           String name, String image){
         this.postDto = new PostDto(postId, title, time);
@@ -0,0 +1,29 @@
+package kit.prolog.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import kit.prolog.enums.StatisticsGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+* 구간별 조회수 통계 반환용 DTO
+* starts[i] 부터 다음 구간 시작 전까지의 조회수가 views[i], 조회수가 없는 구간도 0으로 포함
+* */
+@ToString
+@Getter
+@AllArgsConstructor
+public class StatisticsBucketsDto {
+    private StatisticsGranularity granularity;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate from;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate to;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private List<LocalDate> starts;
+    private long[] views;
+    private long total;
+}
@@ -1,6 +1,7 @@
 package kit.prolog.dto;
 
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 
 import java.time.LocalDateTime;
@@ -15,6 +16,11 @@ public class StatisticsDto {
 
     private long recentViews; // 최근 조회수 (기간 : 10일)
 
+    @Setter
+    private long todayVisitors; // 오늘 순 방문자 수
+    @Setter
+    private long recentVisitors; // 최근 순 방문자 수 (기간 : 10일, 중복 방문자 제외)
+
     private long januaryViews; //각 월별 조회수
     private long februaryViews;
     private long marchViews;
@@ -49,4 +55,11 @@ public class StatisticsDto {
         this.decemberViews = decemberViews;
 
     }
+
+    // 월 단위 구간 통계(1~12월) 변환
+    public StatisticsDto(long cumulativeViews, long recentViews, long[] monthlyViews){
+        this(cumulativeViews, recentViews, monthlyViews[0], monthlyViews[1], monthlyViews[2],
+                monthlyViews[3], monthlyViews[4], monthlyViews[5], monthlyViews[6], monthlyViews[7],
+                monthlyViews[8], monthlyViews[9], monthlyViews[10], monthlyViews[11]);
+    }
 }
@@ -2,6 +2,7 @@ package kit.prolog.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 /*
@@ -10,6 +11,7 @@ import lombok.ToString;
 @Getter
 @ToString
 @AllArgsConstructor
+@NoArgsConstructor
 public class UserDto {
     private String name;
     private String image;
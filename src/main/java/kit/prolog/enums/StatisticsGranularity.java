@@ -0,0 +1,37 @@
+package kit.prolog.enums;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/*
+* 통계 집계 단위
+* 구간 시작일 정렬(align)과 다음 구간 시작일(next) 계산
+* */
+public enum StatisticsGranularity {
+    DAY {
+        @Override
+        public LocalDate align(LocalDate date) { return date; }
+        @Override
+        public LocalDate next(LocalDate start) { return start.plusDays(1); }
+    },
+    WEEK {
+        @Override
+        public LocalDate align(LocalDate date) { return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)); }
+        @Override
+        public LocalDate next(LocalDate start) { return start.plusWeeks(1); }
+    },
+    MONTH {
+        @Override
+        public LocalDate align(LocalDate date) { return date.withDayOfMonth(1); }
+        @Override
+        public LocalDate next(LocalDate start) { return start.plusMonths(1); }
+    };
+
+    public abstract LocalDate align(LocalDate date);
+    public abstract LocalDate next(LocalDate start);
+
+    public static StatisticsGranularity from(String value) {
+        return valueOf(value.toUpperCase());
+    }
+}
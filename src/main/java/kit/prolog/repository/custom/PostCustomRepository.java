@@ -16,9 +16,8 @@ public interface PostCustomRepository {
     List<PostPreviewDto> findLikePostByAccount(String account, int cursor);
     List<PostPreviewDto> findMyPostByUserId(Long userId, int cursor);
     List<PostPreviewDto> findLikePostByAccount(Long userId, int cursor);
-    List<PostPreviewDto> findHottestPosts(int cursor);
+    List<PostPreviewDto> findPreviewsByIds(List<Long> postIds);
     List<PostPreviewDto> findRecentPosts(int cursor);
-    List<PostPreviewDto> searchPosts(String keyword, int cursor);
     Long checkPostWriter(Long postId);
     Long checkMoldWriter(Long moldId);
 }
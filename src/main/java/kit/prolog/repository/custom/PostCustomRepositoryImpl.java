@@ -3,21 +3,17 @@ package kit.prolog.repository.custom;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
-import com.querydsl.core.types.dsl.Expressions;
-import com.querydsl.core.types.dsl.NumberPath;
-import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import kit.prolog.domain.*;
 import kit.prolog.dto.LayoutDto;
 import kit.prolog.dto.PostDetailDto;
-import kit.prolog.dto.PostDto;
 import kit.prolog.dto.PostPreviewDto;
 import kit.prolog.repository.jpa.LayoutRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,17 +29,15 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
     private final QUser user = QUser.user;
     private final QCategory category = QCategory.category;
     private final QLayout layout = QLayout.layout;
-    private final QHit hit = QHit.hit;
     private final QLike like = QLike.like;
     private final QContext context = QContext.context1;
-    private final QPostTag postTag = QPostTag.postTag;
-    private final QTag tag = QTag.tag;
     private final QAttachment attachment = QAttachment.attachment;
 
     @Override
     public PostDetailDto findPostById(Long postId) {
         return query.select(
                 Projections.constructor(PostDetailDto.class,
+                        user.id,
                         user.name,
                         user.image,
                         post.id,
@@ -52,16 +46,14 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
                         mold.id,
                         category.id,
                         category.name,
-                        hit.count()
+                        post.hitCount
                 )
         )
                 .from(post)
                 .leftJoin(user).on(post.user.id.eq(user.id))
                 .leftJoin(mold).on(post.mold.id.eq(mold.id))
                 .leftJoin(category).on(post.category.id.eq(category.id))
-                .leftJoin(hit).on(post.id.eq(hit.post.id))
                 .where(post.id.eq(postId))
-                .groupBy(hit.post.id)
                 .fetchOne();
     }
 
@@ -83,25 +75,17 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
         List<PostPreviewDto> previewDtos = query.select(
                         Projections.constructor(PostPreviewDto.class,
                                 post.id, post.title, post.time,
-                                user.name, user.image, like.count())
+                                user.name, user.image, post.likeCount, post.hitCount)
                 )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user).and(user.account.eq(account)))
                 .innerJoin(category).on(category.eq(post.category).and(category.name.eq(categoryName)))
-                .leftJoin(like).on(post.eq(like.post))
                 .where(lowerThanCursor(cursor))
-                .groupBy(post)
                 .orderBy(post.id.desc())
                 .limit(PAGE_SIZE)
                 .fetch();
 
-        getPostsHits(previewDtos);
-
-        previewDtos.forEach(post -> {
-            List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-            post.addLayoutDto(layoutContext);
-                }
-        );
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
@@ -110,24 +94,16 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
         List<PostPreviewDto> previewDtos = query.select(
                 Projections.constructor(PostPreviewDto.class,
                         post.id, post.title, post.time,
-                        user.name, user.image, like.count())
+                        user.name, user.image, post.likeCount, post.hitCount)
         )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user).and(user.account.eq(account)))
-                .leftJoin(like).on(post.eq(like.post))
                 .where(lowerThanCursor(cursor))
-                .groupBy(post)
                 .orderBy(post.id.desc())
                 .limit(PAGE_SIZE)
                 .fetch();
 
-        getPostsHits(previewDtos);
-
-        previewDtos.forEach(post -> {
-                    List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-                    post.addLayoutDto(layoutContext);
-                }
-        );
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
@@ -136,24 +112,17 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
         List<PostPreviewDto> previewDtos = query.select(
                 Projections.constructor(PostPreviewDto.class,
                         post.id, post.title, post.time,
-                        user.name, user.image, like.count())
+                        user.name, user.image, post.likeCount, post.hitCount)
         )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user))
                 .innerJoin(like).on(post.eq(like.post).and(like.user.eq(user)))
                 .where(lowerThanCursor(cursor))
-                .groupBy(post)
                 .orderBy(post.id.desc())
                 .limit(PAGE_SIZE)
                 .fetch();
 
-        getPostsHits(previewDtos);
-
-        previewDtos.forEach(post -> {
-                    List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-                    post.addLayoutDto(layoutContext);
-                }
-        );
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
@@ -162,24 +131,16 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
         List<PostPreviewDto> previewDtos = query.select(
                 Projections.constructor(PostPreviewDto.class,
                         post.id, post.title, post.time,
-                        user.name, user.image, like.count())
+                        user.name, user.image, post.likeCount, post.hitCount)
         )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user))
-                .leftJoin(like).on(post.eq(like.post))
                 .where(user.id.eq(userId).and(lowerThanCursor(cursor)))
-                .groupBy(post)
                 .orderBy(post.id.desc())
                 .limit(PAGE_SIZE)
                 .fetch();
 
-        getPostsHits(previewDtos);
-
-        previewDtos.forEach(post -> {
-                    List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-                    post.addLayoutDto(layoutContext);
-                }
-        );
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
@@ -188,53 +149,37 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
         List<PostPreviewDto> previewDtos = query.select(
                 Projections.constructor(PostPreviewDto.class,
                         post.id, post.title, post.time,
-                        user.name, user.image, like.count())
+                        user.name, user.image, post.likeCount, post.hitCount)
         )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user))
-                .leftJoin(like).on(post.eq(like.post))
+                .innerJoin(like).on(post.eq(like.post))
                 .where(like.user.eq(user).and(lowerThanCursor(cursor)))
-                .groupBy(post)
                 .orderBy(post.id.desc())
                 .limit(PAGE_SIZE)
                 .fetch();
 
-        getPostsHits(previewDtos);
-
-        previewDtos.forEach(post -> {
-                    List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-                    post.addLayoutDto(layoutContext);
-                }
-        );
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
 
+    /*
+    * 인기 게시글 순위표에서 받은 pk 목록의 미리보기 조회, 순서는 호출하는 쪽에서 순위대로 정렬
+    * */
     @Override
-    public List<PostPreviewDto> findHottestPosts(int page) {
-        NumberPath<Long> likeCount = Expressions.numberPath(Long.class, "quantity");
+    public List<PostPreviewDto> findPreviewsByIds(List<Long> postIds) {
         List<PostPreviewDto> previewDtos = query.select(
                 Projections.constructor(PostPreviewDto.class,
                         post.id, post.title, post.time,
-                        user.name, user.image, like.count().as(likeCount))
+                        user.name, user.image, post.likeCount, post.hitCount)
         )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user))
-                .leftJoin(like).on(post.eq(like.post))
-                .where(like.time.after(LocalDateTime.now().minusDays(7)).or(like.time.isNull()))
-                .groupBy(post)
-                .orderBy(likeCount.desc(), post.id.desc())
-                .offset(page)
-                .limit(PAGE_SIZE)
+                .where(post.id.in(postIds))
                 .fetch();
 
-        getPostsHits(previewDtos);
-
-        previewDtos.forEach(post -> {
-                    List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-                    post.addLayoutDto(layoutContext);
-                }
-        );
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
@@ -243,49 +188,15 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
         List<PostPreviewDto> previewDtos = query.select(
                 Projections.constructor(PostPreviewDto.class,
                         post.id, post.title, post.time,
-                        user.name, user.image, like.count())
+                        user.name, user.image, post.likeCount, post.hitCount)
         )
                 .from(post)
                 .innerJoin(user).on(post.user.eq(user))
-                .leftJoin(like).on(post.eq(like.post))
                 .where(lowerThanCursor(cursor))
-                .groupBy(post)
-                .orderBy(post.id.desc())
-                .limit(PAGE_SIZE)
-                .fetch();
-        previewDtos.forEach(post -> {
-                    List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-                    post.addLayoutDto(layoutContext);
-                }
-        );
-        return previewDtos;
-    }
-
-    @Override
-    public List<PostPreviewDto> searchPosts(String keyword, int cursor) {
-        List<PostPreviewDto> previewDtos = query.select(
-                Projections.constructor(PostPreviewDto.class,
-                        post.id, post.title, post.time,
-                        user.name, user.image)
-        )
-                .from(post)
-                .innerJoin(user).on(user.id.eq(post.user.id))
-                .leftJoin(context).on(context.post.id.eq(post.id))
-                .leftJoin(postTag).on(postTag.post.id.eq(post.id))
-                .leftJoin(tag).on(tag.id.eq(postTag.tag.id))
-                .where(post.title.contains(keyword).and(lowerThanCursor(cursor)))
-                .groupBy(post)
                 .orderBy(post.id.desc())
                 .limit(PAGE_SIZE)
                 .fetch();
-
-        previewDtos.forEach(post -> {
-            List<LayoutDto> layoutContext = selectMainContext(post.getPostDto().getId()).fetch();
-            Long likeCount = selectLikes(post.getPostDto().getId()).fetchOne();
-            post.addLayoutDto(layoutContext);
-            post.setLikes(likeCount);
-        });
-
+        assemblePreviews(previewDtos);
         return previewDtos;
     }
 
@@ -307,41 +218,38 @@ public class PostCustomRepositoryImpl implements PostCustomRepository {
                 .fetchOne();
     }
 
-    private JPQLQuery<Long> selectLikes(Long postId){
-        return query.select(like.count()).from(like).where(like.post.id.eq(postId));
-    }
-    private JPQLQuery<LayoutDto> selectMainContext(Long postId){
-        return query.select(
+    /*
+    * 미리보기 조립
+    * 페이지의 모든 게시글 대표 레이아웃을 IN 쿼리 한 번으로 조회하여 게시글별로 연결
+    * 게시글마다 조회하던 N+1 쿼리를 제거하여 목록 조회 쿼리 수를 페이지 크기와 무관하게 고정
+    * */
+    private void assemblePreviews(List<PostPreviewDto> previewDtos){
+        if (previewDtos.isEmpty()) return;
+        List<Long> postIds = previewDtos.stream()
+                .map(dto -> dto.getPostDto().getId())
+                .collect(Collectors.toList());
+
+        Map<Long, List<LayoutDto>> mainContexts = new HashMap<>();
+        List<Tuple> tuples = query.select(context.post.id,
                         Projections.constructor(LayoutDto.class,
                                 layout.dtype, layout.width, layout.height, layout.explanation,
                                 context.context, context.code, context.codeExplanation, context.codeType, context.url
                         ))
                 .from(context)
                 .innerJoin(layout).on(context.layout.id.eq(layout.id))
-                .where(context.post.id.eq(postId)
+                .where(context.post.id.in(postIds)
                         .and(context.main.eq(true))
-                );
-    }
-    private void getPostsHits(List<PostPreviewDto> previewDtos){
-        List<Long> idList = previewDtos.stream()
-                .map(PostPreviewDto::getPostDto)
-                .map(PostDto::getId).collect(Collectors.toList());
-
-        Map<Long, Long> hitCount = new HashMap<>();
-        List<Tuple> tuples = query
-                .select(hit.post.id, hit.count())
-                .from(hit)
-                .where(hit.post.id.in(idList))
-                .groupBy(hit.post).fetch();
-        for(Tuple tuple : tuples){
-            hitCount.put(tuple.get(0, Long.class), tuple.get(1, Long.class));
+                )
+                .orderBy(context.id.asc())
+                .fetch();
+        for (Tuple tuple : tuples) {
+            mainContexts.computeIfAbsent(tuple.get(0, Long.class), id -> new ArrayList<>())
+                    .add(tuple.get(1, LayoutDto.class));
         }
-        previewDtos.forEach(dto -> {
-            Long hit = hitCount.get(dto.getPostDto().getId());
-
-            dto.setHits(hit == null ? 0 : hit);
-        });
+        previewDtos.forEach(dto ->
+                dto.addLayoutDto(mainContexts.getOrDefault(dto.getPostDto().getId(), List.of())));
     }
+
     private BooleanExpression lowerThanCursor(int cursor){
         return cursor == 0 ? null : post.id.lt( cursor);
     }
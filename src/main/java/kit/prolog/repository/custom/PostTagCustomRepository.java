@@ -0,0 +1,8 @@
+package kit.prolog.repository.custom;
+
+import java.util.Collection;
+
+public interface PostTagCustomRepository {
+    // 게시글-태그 연결을 한 문장으로 추가
+    void insertAll(Long postId, Collection<Long> tagIds);
+}
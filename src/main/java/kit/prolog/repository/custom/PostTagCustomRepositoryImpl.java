@@ -0,0 +1,28 @@
+package kit.prolog.repository.custom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+@RequiredArgsConstructor
+@Repository
+public class PostTagCustomRepositoryImpl implements PostTagCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long postId, Collection<Long> tagIds) {
+        if (tagIds.isEmpty()) return;
+        List<Object> args = new ArrayList<>();
+        tagIds.forEach(tagId -> {
+            args.add(postId);
+            args.add(tagId);
+        });
+        jdbcTemplate.update("INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES " +
+                String.join(", ", Collections.nCopies(tagIds.size(), "(?, ?)")), args.toArray());
+    }
+}
@@ -1,11 +1,17 @@
 package kit.prolog.repository.custom;
 
-import kit.prolog.dto.StatisticsDto;
+import java.time.LocalDate;
+import java.util.Map;
 
 public interface StatisticsCustomRepository {
 
-    StatisticsDto findStatisticByPostId(long userId, long postId);
+    // 일자별 조회수 [from, to), 조회수가 없는 날짜는 포함되지 않음
+    Map<LocalDate, Long> findDailyViewsByPostId(long postId, LocalDate from, LocalDate to);
 
-    StatisticsDto findStatisticsByUserId(long userId, long year);
+    Map<LocalDate, Long> findDailyViewsByUserId(long userId, LocalDate from, LocalDate to);
+
+    long countViewsByPostId(long postId);
+
+    long countViewsByUserId(long userId);
 
 }
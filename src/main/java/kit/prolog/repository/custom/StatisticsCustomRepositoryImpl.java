@@ -1,234 +1,80 @@
 package kit.prolog.repository.custom;
 
-import com.querydsl.core.types.dsl.DateTimeExpression;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import kit.prolog.domain.*;
 
-import kit.prolog.dto.StatisticsDto;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+/*
+* 조회수 통계
+* HITS 원본 대신 HITS_DAILY 일간 집계에서 조회하므로 조회수 규모와 무관하게 구간당 grouped 쿼리 1회
+* */
 @Repository
 @RequiredArgsConstructor
 public class StatisticsCustomRepositoryImpl implements StatisticsCustomRepository {
 
     private final JPAQueryFactory query;
-    private final QHit hit = QHit.hit;
+    private final QHitDaily hitDaily = QHitDaily.hitDaily;
     private final QPost post = QPost.post;
 
     @Override
-    public StatisticsDto findStatisticByPostId(long userId, long postId) {
-
-        long cumulativeViews = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .fetch().size();
-
-        long tendaysView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.after(LocalDateTime.now().minusDays(10)))
-                .fetch().size();
-
-        long januaryView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 1,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),2,1,0,0)))
-                .fetch().size();
-
-        long februaryView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 2,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),3,1,0,0)))
-                .fetch().size();
-
-        long marchView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 3,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),4,1,0,0)))
-                .fetch().size();
-
-        long aprilView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 4,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),5,1,0,0)))
-                .fetch().size();
-
-        long mayView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 5,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),6,1,0,0)))
-                .fetch().size();
-
-        long juneView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 6,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),7,1,0,0)))
-                .fetch().size();
-
-        long julyView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 7,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),8,1,0,0)))
-                .fetch().size();
-
-        long augustView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 8,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),9,1,0,0)))
-                .fetch().size();
-
-        long septemberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 9,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),10,1,0,0)))
-                .fetch().size();
-
-        long octoberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 10,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),1,1,0,0)))
-                .fetch().size();
-
-        long novemberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 11,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear(),12,1,0,0)))
-                .fetch().size();
-
-        long decemberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.id.eq(postId))
-                .where(hit.time.between(LocalDateTime.of(LocalDateTime.now().getYear(), 12,1,0,0),LocalDateTime.of(LocalDateTime.now().getYear()+1,1,1,0,0)))
-                .fetch().size();
-
-        StatisticsDto statisticsDto = new StatisticsDto(cumulativeViews,tendaysView,januaryView
-                                                        ,februaryView,marchView,aprilView,mayView
-                                                        ,juneView,julyView,augustView,septemberView
-                                                        ,octoberView,novemberView,decemberView);
-        return statisticsDto;
+    public Map<LocalDate, Long> findDailyViewsByPostId(long postId, LocalDate from, LocalDate to) {
+        return findDailyViews(ofPost(postId), from, to);
     }
 
     @Override
-    public StatisticsDto findStatisticsByUserId(long userId, long year) {
-        long cumulativeViews = query.select(hit.id)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .fetchCount();
-
-        long tendaysView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.after(LocalDateTime.now().minusDays(10)))
-                .fetchCount();
-
-        long januaryView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),1,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),2,1,0,0)))
-                .fetchCount();
-
-        long februaryView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),2,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),3,1,0,0)))
-                .fetchCount();
-
-        long marchView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),3,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),4,1,0,0)))
-                .fetchCount();
-
-        long aprilView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),4,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),5,1,0,0)))
-                .fetchCount();
-
-        long mayView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),5,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),6,1,0,0)))
-                .fetchCount();
-
-        long juneView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),6,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),7,1,0,0)))
-                .fetchCount();
-
-        long julyView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),7,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),8,1,0,0)))
-                .fetchCount();
+    public Map<LocalDate, Long> findDailyViewsByUserId(long userId, LocalDate from, LocalDate to) {
+        return findDailyViews(ofUser(userId), from, to);
+    }
 
-        long augustView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),8,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),9,1,0,0)))
-                .fetchCount();
+    @Override
+    public long countViewsByPostId(long postId) {
+        return sumViews(ofPost(postId));
+    }
 
-        long septemberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),9,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),10,1,0,0)))
-                .fetchCount();
+    @Override
+    public long countViewsByUserId(long userId) {
+        return sumViews(ofUser(userId));
+    }
 
-        long octoberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),10,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),11,1,0,0)))
-                .fetchCount();
+    private Map<LocalDate, Long> findDailyViews(BooleanExpression condition, LocalDate from, LocalDate to) {
+        List<Tuple> tuples = query.select(hitDaily.viewDate, hitDaily.viewCount.sum())
+                .from(hitDaily)
+                .where(condition
+                        .and(hitDaily.viewDate.goe(from))
+                        .and(hitDaily.viewDate.lt(to)))
+                .groupBy(hitDaily.viewDate)
+                .fetch();
+
+        Map<LocalDate, Long> dailyViews = new HashMap<>();
+        for (Tuple tuple : tuples) {
+            dailyViews.put(tuple.get(0, LocalDate.class), tuple.get(1, Long.class));
+        }
+        return dailyViews;
+    }
 
-        long novemberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),11,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue(),12,1,0,0)))
-                .fetchCount();
+    private long sumViews(BooleanExpression condition) {
+        Long sum = query.select(hitDaily.viewCount.sum())
+                .from(hitDaily)
+                .where(condition)
+                .fetchOne();
+        return sum == null ? 0L : sum;
+    }
 
-        long decemberView = query.select(hit)
-                .from(hit).join(post)
-                .on(post.id.eq(hit.post.id))
-                .where(post.user.id.eq(userId))
-                .where(hit.time.between(LocalDateTime.of(Long.valueOf(year).intValue(),12,1,0,0),LocalDateTime.of(Long.valueOf(year).intValue()+1,1,1,0,0)))
-                .fetchCount();
+    private BooleanExpression ofPost(long postId) {
+        return hitDaily.post.id.eq(postId);
+    }
 
-        StatisticsDto statisticsDto = new StatisticsDto(cumulativeViews,tendaysView,januaryView
-                ,februaryView,marchView,aprilView,mayView
-                ,juneView,julyView,augustView,septemberView
-                ,octoberView,novemberView,decemberView);
-        return statisticsDto;
+    private BooleanExpression ofUser(long userId) {
+        return hitDaily.post.id.in(
+                query.select(post.id).from(post).where(post.user.id.eq(userId)));
     }
 }
@@ -0,0 +1,8 @@
+package kit.prolog.repository.custom;
+
+import java.util.Collection;
+
+public interface TagCustomRepository {
+    // 없는 태그만 한 문장으로 추가, 이미 있는 이름(unique key)은 무시
+    void insertIgnore(Collection<String> names);
+}
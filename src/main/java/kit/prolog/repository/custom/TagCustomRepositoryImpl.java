@@ -0,0 +1,24 @@
+package kit.prolog.repository.custom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/*
+* 동시에 같은 태그를 만드는 요청이 있어도 unique key 충돌로 실패하지 않도록 INSERT IGNORE 사용
+* */
+@RequiredArgsConstructor
+@Repository
+public class TagCustomRepositoryImpl implements TagCustomRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertIgnore(Collection<String> names) {
+        if (names.isEmpty()) return;
+        jdbcTemplate.update("INSERT IGNORE INTO tags(name) VALUES " +
+                String.join(", ", Collections.nCopies(names.size(), "(?)")), names.toArray());
+    }
+}
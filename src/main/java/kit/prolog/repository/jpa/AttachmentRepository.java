@@ -1,9 +1,14 @@
 package kit.prolog.repository.jpa;
 
 import kit.prolog.domain.Attachment;
+import kit.prolog.domain.Post;
 import kit.prolog.dto.AttachmentDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +17,13 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
     void deleteAllByPost_Id(Long postId);
     Optional<Attachment> findByName(String name);
     Optional<Attachment> findByUrl(String url);
+
+    // 게시글 작성/수정 시 업로드된 첨부파일들을 한 문장으로 게시글에 연결
+    @Modifying
+    @Query("UPDATE ATTACHMENTS a SET a.post = :post WHERE a.name IN :names")
+    int updatePostByNameIn(@Param("post") Post post, @Param("names") Collection<String> names);
+
+    @Modifying
+    @Query("UPDATE ATTACHMENTS a SET a.post = :post WHERE a.url IN :urls")
+    int updatePostByUrlIn(@Param("post") Post post, @Param("urls") Collection<String> urls);
 }
@@ -3,6 +3,9 @@ package kit.prolog.repository.jpa;
 import kit.prolog.domain.Context;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface ContextRepository extends JpaRepository<Context, Long> {
+    List<Context> findByPost_IdOrderByIdAsc(Long postId);
     void deleteAllByPost_Id(Long postId);
 }
@@ -0,0 +1,8 @@
+package kit.prolog.repository.jpa;
+
+import kit.prolog.domain.HitDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface HitDailyRepository extends JpaRepository<HitDaily, Long> {
+    void deleteAllByPost_Id(Long postId);
+}
@@ -3,9 +3,11 @@ package kit.prolog.repository.jpa;
 import kit.prolog.domain.Layout;
 import kit.prolog.dto.LayoutDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,14 @@ public interface LayoutRepository extends JpaRepository<Layout, Long> {
 
     void deleteAllByMold_Id(Long moldId);
 
+    /*
+    * 게시글 수정에서 빠진 레이아웃 삭제 (레이아웃 틀의 레이아웃과 아직 Context가 가리키는 레이아웃은 남김)
+    * */
+    @Modifying
+    @Query(value = "DELETE FROM layouts WHERE layout_id IN (:ids) AND mold_mold_id IS NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM contexts c WHERE c.layout_layout_id = layouts.layout_id)", nativeQuery = true)
+    int deleteOrphansByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT l FROM LAYOUTS l WHERE l.id = :id")
     Optional<Layout> findLayoutById(@Param("id")Long id);
 
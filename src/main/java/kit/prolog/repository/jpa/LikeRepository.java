@@ -2,8 +2,14 @@ package kit.prolog.repository.jpa;
 
 import kit.prolog.domain.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface LikeRepository extends JpaRepository<Like, Long> {
     Optional<Like> findByUser_IdAndPost_Id(Long userId, Long postId);
@@ -11,6 +17,21 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     boolean existsByUser_IdAndPost_Id(Long userId, Long postId);
     int countByPost_Id(Long postId);
 
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO likes(time, user_user_id, post_post_id) VALUES (NOW(), :userId, :postId)",
+            nativeQuery = true)
+    int insertIgnore(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Query("SELECT l.time FROM LIKES l WHERE l.user.id = :userId AND l.post.id = :postId")
+    Optional<LocalDateTime> findTimeByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
+    @Query("SELECT l.post.id FROM LIKES l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    Set<Long> findLikedPostIds(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM LIKES l WHERE l.user.id = :userId AND l.post.id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") Long userId, @Param("postId") Long postId);
+
     void deleteAllByPost_Id(Long postId);
     void deleteAllByUser_Id(Long userId);
 }
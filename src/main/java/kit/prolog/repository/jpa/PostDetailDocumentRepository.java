@@ -0,0 +1,18 @@
+package kit.prolog.repository.jpa;
+
+import kit.prolog.domain.PostDetailDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PostDetailDocumentRepository extends JpaRepository<PostDetailDocument, Long> {
+    // 늦게 끝난 이전 revision의 재생성이 새 문서를 덮어쓰지 않도록 revision이 같거나 클 때만 교체
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO post_details(post_id, revision, document) VALUES (:postId, :revision, :document) " +
+            "ON DUPLICATE KEY UPDATE document = IF(VALUES(revision) >= revision, VALUES(document), document), " +
+            "revision = GREATEST(revision, VALUES(revision))", nativeQuery = true)
+    int upsert(@Param("postId") Long postId, @Param("revision") Long revision, @Param("document") String document);
+}
@@ -0,0 +1,49 @@
+package kit.prolog.repository.jpa;
+
+import kit.prolog.domain.PostPreviewSnapshot;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PostPreviewSnapshotRepository extends JpaRepository<PostPreviewSnapshot, Long> {
+    List<PostPreviewSnapshot> findByPostIdLessThanOrderByPostIdDesc(Long cursor, Pageable pageable);
+    List<PostPreviewSnapshot> findByAccountAndPostIdLessThanOrderByPostIdDesc(String account, Long cursor, Pageable pageable);
+    List<PostPreviewSnapshot> findByUserIdAndPostIdLessThanOrderByPostIdDesc(Long userId, Long cursor, Pageable pageable);
+    List<PostPreviewSnapshot> findByAccountAndCategoryNameAndPostIdLessThanOrderByPostIdDesc(
+            String account, String categoryName, Long cursor, Pageable pageable);
+
+    @Query(value = "SELECT p.post_id FROM posts p LEFT JOIN post_previews s ON s.post_id = p.post_id " +
+            "WHERE s.post_id IS NULL", nativeQuery = true)
+    List<Long> findMissingPostIds();
+
+    @Modifying
+    @Query("UPDATE POST_PREVIEWS s SET s.likeCount = s.likeCount + :delta WHERE s.postId = :postId")
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // 회원 탈퇴 시 다른 게시글에 남긴 좋아요 수 만큼 차감 (LIKES 삭제 전에 호출)
+    @Modifying
+    @Query(value = "UPDATE post_previews s JOIN (SELECT post_post_id, COUNT(*) cnt FROM likes " +
+            "WHERE user_user_id = :userId GROUP BY post_post_id) l ON l.post_post_id = s.post_id " +
+            "SET s.like_count = s.like_count - l.cnt", nativeQuery = true)
+    int subtractLikeCountsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE POST_PREVIEWS s SET s.categoryName = :name WHERE s.categoryId = :categoryId")
+    int updateCategoryName(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE POST_PREVIEWS s SET s.categoryId = :newCategoryId, s.categoryName = :newCategoryName " +
+            "WHERE s.categoryId = :oldCategoryId")
+    int moveCategory(@Param("oldCategoryId") Long oldCategoryId,
+                     @Param("newCategoryId") Long newCategoryId, @Param("newCategoryName") String newCategoryName);
+
+    @Modifying
+    @Query("UPDATE POST_PREVIEWS s SET s.userName = :name, s.userImage = :image WHERE s.userId = :userId")
+    int updateWriter(@Param("userId") Long userId, @Param("name") String name, @Param("image") String image);
+
+    void deleteAllByUserId(Long userId);
+}
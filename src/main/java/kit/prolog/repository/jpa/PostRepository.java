@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long>, PostCustomRepository {
@@ -24,4 +25,68 @@ public interface PostRepository extends JpaRepository<Post, Long>, PostCustomRep
     @Modifying
     @Query("UPDATE POSTS p SET p.category = :newCategory WHERE p.category = :oldCategory")
     int updatePostCategory(@Param("oldCategory") Category oldCategory,@Param("newCategory") Category newCategory);
+
+    @Query("SELECT p.likeCount FROM POSTS p WHERE p.id = :postId")
+    Long findLikeCountById(@Param("postId") Long postId);
+
+    @Query("SELECT p.revision AS revision, p.hitCount AS hitCount, p.likeCount AS likeCount, " +
+            "p.likeVersion AS likeVersion, p.user.id AS writerId FROM POSTS p WHERE p.id = :postId")
+    Optional<DetailCounters> findDetailCountersById(@Param("postId") Long postId);
+
+    @Query("SELECT p.revision FROM POSTS p WHERE p.id = :postId")
+    Long findRevisionById(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.revision = p.revision + 1 WHERE p.id = :postId")
+    int increaseRevision(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.revision = p.revision + 1 WHERE p.user.id = :userId")
+    int increaseRevisionByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.revision = p.revision + 1 WHERE p.category.id = :categoryId")
+    int increaseRevisionByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.revision = p.revision + 1 WHERE p.mold.id = :moldId")
+    int increaseRevisionByMoldId(@Param("moldId") Long moldId);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.likeCount = p.likeCount + :delta, p.likeVersion = p.likeVersion + 1 " +
+            "WHERE p.id = :postId")
+    int addLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int addCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE POSTS p SET p.commentCount = p.commentCount - 1 " +
+            "WHERE p.id = (SELECT c.post.id FROM COMMENTS c WHERE c.id = :commentId)")
+    int decreaseCommentCountByCommentId(@Param("commentId") Long commentId);
+
+    // 회원 탈퇴 시 다른 게시글에 남긴 좋아요/댓글 수 만큼 차감
+    @Modifying
+    @Query(value = "UPDATE posts p JOIN (SELECT post_post_id, COUNT(*) cnt FROM likes " +
+            "WHERE user_user_id = :userId GROUP BY post_post_id) l ON l.post_post_id = p.post_id " +
+            "SET p.like_count = p.like_count - l.cnt, p.like_version = p.like_version + 1", nativeQuery = true)
+    int subtractLikeCountsByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query(value = "UPDATE posts p JOIN (SELECT post_post_id, COUNT(*) cnt FROM comments " +
+            "WHERE user_user_id = :userId AND block = false GROUP BY post_post_id) c ON c.post_post_id = p.post_id " +
+            "SET p.comment_count = p.comment_count - c.cnt", nativeQuery = true)
+    int subtractCommentCountsByUserId(@Param("userId") Long userId);
+
+    /*
+    * 상세조회 시 상세 문서에 덧씌우는 실시간 값
+    * */
+    interface DetailCounters {
+        Long getRevision();
+        Long getHitCount();
+        Long getLikeCount();
+        Long getLikeVersion();
+        Long getWriterId();
+    }
 }
@@ -1,14 +1,23 @@
 package kit.prolog.repository.jpa;
 
 import kit.prolog.domain.PostTag;
+import kit.prolog.repository.custom.PostTagCustomRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface PostTagRepository extends JpaRepository<PostTag, Long> {
+public interface PostTagRepository extends JpaRepository<PostTag, Long>, PostTagCustomRepository {
     @Query("SELECT t.name FROM POSTS_AND_TAGS pt INNER JOIN TAGS t ON pt.tag.id = t.id WHERE pt.post.id = :postId")
     List<String> findTagNameByPost_Id(@Param("postId") Long postId);
     void deleteAllByPost_Id(Long postId);
+
+    // 게시글 수정 시 빠진 태그 연결만 한 문장으로 삭제
+    @Modifying
+    @Query("DELETE FROM POSTS_AND_TAGS pt WHERE pt.post.id = :postId " +
+            "AND pt.tag.id IN (SELECT t.id FROM TAGS t WHERE t.name IN :names)")
+    int deleteByPost_IdAndTagNameIn(@Param("postId") Long postId, @Param("names") Collection<String> names);
 }
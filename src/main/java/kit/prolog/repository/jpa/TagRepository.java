@@ -1,17 +1,16 @@
 package kit.prolog.repository.jpa;
 
 import kit.prolog.domain.Tag;
+import kit.prolog.repository.custom.TagCustomRepository;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TagRepository extends JpaRepository<Tag, Long> {
-    // 검색어가 포함된 태그 이름 모두 조회
-    @Query("SELECT t FROM TAGS t WHERE t.name LIKE :name%")
-    List<Tag> findByNameStartingWith(@Param("name") String name);
+public interface TagRepository extends JpaRepository<Tag, Long>, TagCustomRepository {
     // 태그 조회(name은 unique key)
     Optional<Tag> findByName(String name);
+    // 게시글 작성/수정 시 태그 목록을 한 번에 조회
+    List<Tag> findByNameIn(Collection<String> names);
 }
@@ -0,0 +1,195 @@
+package kit.prolog.repository.r2dbc;
+
+import io.r2dbc.spi.Row;
+import kit.prolog.domain.PostPreviewSnapshot;
+import kit.prolog.dto.CommentLv1Dto;
+import kit.prolog.dto.CommentLv2Dto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/*
+* 리액티브 읽기 서버용 R2DBC 조회
+* JPA 엔티티/QueryDSL 조회와 같은 결과를 논블로킹 드라이버로 조회
+* 목록은 POST_PREVIEWS, 상세는 POSTS 카운터와 POST_DETAILS 문서를 사용
+* */
+public class PostR2dbcRepository {
+    private static final String PREVIEW_COLUMNS = "SELECT post_id, title, time, user_id, user_account, user_name, user_image, " +
+            "category_id, category_name, hit_count, like_count, main_layout FROM post_previews ";
+    private static final String COMMENT_COLUMNS = "SELECT c.comment_id, c.user_user_id, u.nickname, u.image, c.context, c.block, c.time " +
+            "FROM comments c LEFT JOIN users u ON u.user_id = c.user_user_id ";
+    private static final String BLOCKED_COMMENT = "삭제된 댓글입니다.";
+
+    private final DatabaseClient client;
+
+    public PostR2dbcRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Flux<PostPreviewSnapshot> findRecentPreviews(long cursor, int size) {
+        return client.sql(PREVIEW_COLUMNS + "WHERE post_id < :cursor ORDER BY post_id DESC LIMIT :size")
+                .bind("cursor", cursor)
+                .bind("size", size)
+                .map((row, metadata) -> toSnapshot(row))
+                .all();
+    }
+
+    public Flux<PostPreviewSnapshot> findCategoryPreviews(String account, String categoryName, long cursor, int size) {
+        return client.sql(PREVIEW_COLUMNS + "WHERE user_account = :account AND category_name = :categoryName " +
+                        "AND post_id < :cursor ORDER BY post_id DESC LIMIT :size")
+                .bind("account", account)
+                .bind("categoryName", categoryName)
+                .bind("cursor", cursor)
+                .bind("size", size)
+                .map((row, metadata) -> toSnapshot(row))
+                .all();
+    }
+
+    public Flux<PostPreviewSnapshot> findPreviewsByIds(Collection<Long> postIds) {
+        if (postIds.isEmpty()) return Flux.empty();
+        return client.sql(PREVIEW_COLUMNS + "WHERE post_id IN (:postIds)")
+                .bind("postIds", postIds)
+                .map((row, metadata) -> toSnapshot(row))
+                .all();
+    }
+
+    /**
+     * 게시글 실시간 값과 상세 문서를 한 번에 조회
+     * 반환 : 게시글이 없으면 empty
+     * */
+    public Mono<PostDetailRow> findDetail(Long postId) {
+        return client.sql("SELECT p.revision, p.hit_count, p.like_count, d.revision AS document_revision, d.document " +
+                        "FROM posts p LEFT JOIN post_details d ON d.post_id = p.post_id WHERE p.post_id = :postId")
+                .bind("postId", postId)
+                .map((row, metadata) -> new PostDetailRow(
+                        row.get("revision", Long.class),
+                        row.get("hit_count", Long.class),
+                        row.get("like_count", Long.class),
+                        row.get("document_revision", Long.class),
+                        row.get("document", String.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsLike(Long userId, Long postId) {
+        return client.sql("SELECT 1 FROM likes WHERE user_user_id = :userId AND post_post_id = :postId LIMIT 1")
+                .bind("userId", userId)
+                .bind("postId", postId)
+                .map((row, metadata) -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Set<Long>> findLikedPostIds(Long userId, Collection<Long> postIds) {
+        if (postIds.isEmpty()) return Mono.just(Set.of());
+        return client.sql("SELECT post_post_id FROM likes WHERE user_user_id = :userId AND post_post_id IN (:postIds)")
+                .bind("userId", userId)
+                .bind("postIds", postIds)
+                .map((row, metadata) -> row.get("post_post_id", Long.class))
+                .all()
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 게시글 댓글 조회 (CommentCustomRepositoryImpl.findByPostId와 같은 결과)
+     * 삭제된 상위 댓글은 삭제되지 않은 하위 댓글이 있을 때만 내용을 가려서 포함
+     * 매개변수 : userId(조회하는 회원 pk, 비로그인 시 null), offset, size(상위 댓글 기준 페이지)
+     * */
+    public Mono<List<CommentLv1Dto>> findComments(Long postId, Long userId, long offset, int size) {
+        return client.sql("SELECT user_user_id FROM posts WHERE post_id = :postId")
+                .bind("postId", postId)
+                .map((row, metadata) -> Optional.ofNullable(row.get("user_user_id", Long.class)))
+                .one()
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(writerId -> findUpperComments(postId, userId, writerId.orElse(null), offset, size)
+                        .collectList()
+                        .flatMap(comments -> attachLowerComments(comments, userId, writerId.orElse(null))));
+    }
+
+    private Flux<CommentLv1Dto> findUpperComments(Long postId, Long userId, Long writerId, long offset, int size) {
+        return client.sql(COMMENT_COLUMNS + "WHERE c.post_post_id = :postId AND c.upper_comment_comment_id IS NULL " +
+                        "AND (c.block = false OR EXISTS (SELECT 1 FROM comments c2 " +
+                        "WHERE c2.upper_comment_comment_id = c.comment_id AND c2.block = false)) " +
+                        "ORDER BY c.time ASC LIMIT :size OFFSET :offset")
+                .bind("postId", postId)
+                .bind("size", size)
+                .bind("offset", offset)
+                .map((row, metadata) -> {
+                    Long commentUserId = row.get("user_user_id", Long.class);
+                    return CommentLv1Dto.builder()
+                            .id(row.get("comment_id", Long.class))
+                            .userId(commentUserId)
+                            .nickname(row.get("nickname", String.class))
+                            .userImage(row.get("image", String.class))
+                            .isPostWriter(commentUserId != null && commentUserId.equals(writerId))
+                            .isCommentWriter(Objects.equals(commentUserId, userId))
+                            .context(Boolean.TRUE.equals(row.get("block", Boolean.class))
+                                    ? BLOCKED_COMMENT : row.get("context", String.class))
+                            .time(row.get("time", LocalDateTime.class))
+                            .lowerComments(new ArrayList<>())
+                            .build();
+                })
+                .all();
+    }
+
+    private Mono<List<CommentLv1Dto>> attachLowerComments(List<CommentLv1Dto> comments, Long userId, Long writerId) {
+        if (comments.isEmpty()) return Mono.just(comments);
+        Map<Long, CommentLv1Dto> uppers = comments.stream()
+                .collect(Collectors.toMap(CommentLv1Dto::getId, comment -> comment));
+        return client.sql(COMMENT_COLUMNS.replace("SELECT ", "SELECT c.upper_comment_comment_id, ") +
+                        "WHERE c.upper_comment_comment_id IN (:upperIds) AND c.block = false ORDER BY c.time ASC")
+                .bind("upperIds", uppers.keySet())
+                .map((row, metadata) -> {
+                    Long commentUserId = row.get("user_user_id", Long.class);
+                    CommentLv2Dto lower = CommentLv2Dto.builder()
+                            .id(row.get("comment_id", Long.class))
+                            .userId(commentUserId)
+                            .nickname(row.get("nickname", String.class))
+                            .userImage(row.get("image", String.class))
+                            .isPostWriter(commentUserId != null && commentUserId.equals(writerId))
+                            .isCommentWriter(Objects.equals(commentUserId, userId))
+                            .context(row.get("context", String.class))
+                            .time(row.get("time", LocalDateTime.class))
+                            .build();
+                    return Map.entry(row.get("upper_comment_comment_id", Long.class), lower);
+                })
+                .all()
+                .doOnNext(entry -> uppers.get(entry.getKey()).getLowerComments().add(entry.getValue()))
+                .then(Mono.just(comments));
+    }
+
+    private static PostPreviewSnapshot toSnapshot(Row row) {
+        PostPreviewSnapshot snapshot = new PostPreviewSnapshot();
+        snapshot.setPostId(row.get("post_id", Long.class));
+        snapshot.setTitle(row.get("title", String.class));
+        snapshot.setTime(row.get("time", LocalDateTime.class));
+        snapshot.setUserId(row.get("user_id", Long.class));
+        snapshot.setAccount(row.get("user_account", String.class));
+        snapshot.setUserName(row.get("user_name", String.class));
+        snapshot.setUserImage(row.get("user_image", String.class));
+        snapshot.setCategoryId(row.get("category_id", Long.class));
+        snapshot.setCategoryName(row.get("category_name", String.class));
+        snapshot.setHitCount(row.get("hit_count", Long.class));
+        snapshot.setLikeCount(row.get("like_count", Long.class));
+        snapshot.setMainLayout(row.get("main_layout", String.class));
+        return snapshot;
+    }
+
+    /*
+    * 상세조회 한 행, 문서가 없으면 documentRevision과 document는 null
+    * */
+    @Getter
+    @AllArgsConstructor
+    public static class PostDetailRow {
+        private final Long revision;
+        private final Long hitCount;
+        private final Long likeCount;
+        private final Long documentRevision;
+        private final String document;
+    }
+}
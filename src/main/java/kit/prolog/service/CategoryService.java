@@ -13,6 +13,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+import static kit.prolog.config.datasource.ReplicaRoutingDataSource.readFromPrimary;
+
 @Transactional
 @Service
 @RequiredArgsConstructor
@@ -21,6 +23,8 @@ public class CategoryService {
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
     private final PostRepository postRepository;
+    private final PostPreviewService postPreviewService;
+    private final ContentVersionService contentVersionService;
 
     public void insertCategory(CategoryController.CategoryFormDto categoryFormDto, Long userId) {
         Category upperCategory = categoryRepository.findById(categoryFormDto.getUpperId()).get();
@@ -37,6 +41,7 @@ public class CategoryService {
                 .upperCategory(upperCategory)
                 .build();
         categoryRepository.save(category);
+        contentVersionService.increaseCategoryVersion(upperCategory.getUser().getAccount());
     }
 
     public void updateCategory(Long categoryId, CategoryController.CategoryFormDto categoryFormDto, Long userId) {
@@ -53,6 +58,9 @@ public class CategoryService {
         category.setName(categoryFormDto.getName());
 //        category.setUpperCategory(upperCategory);
         categoryRepository.save(category);
+        postPreviewService.renameCategory(category);
+        postRepository.increaseRevisionByCategoryId(category.getId());
+        contentVersionService.increaseCategoryVersion(category.getUser().getAccount());
     }
 
     public void deleteCategory(Long categoryId, Long userId) {
@@ -63,16 +71,25 @@ public class CategoryService {
             throw new AccessDeniedException("");
 
         Category newCategory = category.getUpperCategory();
+        postRepository.increaseRevisionByCategoryId(category.getId());
         postRepository.updatePostCategory(category, newCategory);
+        postPreviewService.moveCategory(category, newCategory);
         categoryRepository.findByUpperCategory(category)
                 .stream()
-                .forEach(lowerCategory -> postRepository.updatePostCategory(lowerCategory, newCategory));
+                .forEach(lowerCategory -> {
+                    postRepository.increaseRevisionByCategoryId(lowerCategory.getId());
+                    postRepository.updatePostCategory(lowerCategory, newCategory);
+                    postPreviewService.moveCategory(lowerCategory, newCategory);
+                });
 
         categoryRepository.deleteByUpperCategory(category);
         categoryRepository.delete(category);
+        contentVersionService.increaseCategoryVersion(category.getUser().getAccount());
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryInfoDto> findCategoryInfos(String userAccount) {
-        return categoryRepository.findInfoByUserAccount(userAccount);
+        // 카테고리 ETag가 바뀐 뒤 지연된 레플리카의 이전 목록을 응답하지 않도록 프라이머리에서 조회
+        return readFromPrimary(() -> categoryRepository.findInfoByUserAccount(userAccount));
     }
 }
@@ -40,6 +40,7 @@ public class CommentService {
                 .context(commentFormDto.getContext())
                 .build();
         commentRepository.save(comment);
+        postRepository.addCommentCount(commentFormDto.getPostId(), 1L);
     }
 
     public void updateComment(Long commentId, CommentFormDto commentFormDto, Long userId) {
@@ -62,8 +63,10 @@ public class CommentService {
 
         comment.setBlock(true);
         commentRepository.save(comment);
+        postRepository.decreaseCommentCountByCommentId(commentId);
     }
 
+    @Transactional(readOnly = true)
     public List<CommentLv1Dto> findCommentsInPost(Long postId, Long userId, Pageable pageable) {
         postRepository.findById(postId).get();
         return commentRepository.findByPostId(postId, userId, pageable);
@@ -0,0 +1,123 @@
+package kit.prolog.service;
+
+import kit.prolog.repository.jpa.PostRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static kit.prolog.util.TransactionUtil.afterCommit;
+
+/*
+* 조건부 조회(If-None-Match)용 ETag 생성
+* 게시글 상세는 POSTS.revision과 좋아요 버전/수, 피드와 카테고리 목록은 Redis INCR 버전 스탬프로 만들어 본문 조회/직렬화 없이 비교
+* 목록의 좋아요 여부는 회원별 좋아요 버전으로, 좋아요 수는 조회수와 같이 피드 캐시 주기로만 반영 (좋아요마다 모든 회원의 피드 ETag를 바꾸지 않음)
+* 버전 스탬프는 변경 커밋 후 증가, Redis를 사용할 수 없으면 null을 반환하여 항상 전체 응답
+* */
+@Log4j2
+@Service
+public class ContentVersionService {
+    private static final String FEED_VERSION = "version:feed";
+    private static final String CATEGORY_VERSION = "version:categories:";
+    private static final String LIKE_VERSION = "version:likes:";
+    private static final long NO_USER = 0L;
+
+    private final StringRedisTemplate redisTemplate;
+    private final long feedWindowMillis;
+
+    public ContentVersionService(StringRedisTemplate redisTemplate,
+                                 @Value("${prolog.cache.feed.l2-ttl-seconds:30}") long feedWindowSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.feedWindowMillis = feedWindowSeconds * 1000L;
+    }
+
+    /**
+     * 게시글 상세 ETag
+     * 매개변수 : counters(게시글 실시간 값), userId(조회하는 회원 pk, 비로그인 시 null)
+     * 조회수는 조회마다 바뀌므로 제외하고 X-Post-Hits 헤더로 따로 응답
+     * 좋아요 여부(liked)는 좋아요 수만으로는 알 수 없으므로(A 취소 후 B 좋아요) 좋아요/취소마다 증가하는 likeVersion을 포함
+     * 좋아요 수는 카운터 보정(PostCounterService)으로도 바뀌므로 함께 포함
+     * */
+    public static String postTag(PostRepository.DetailCounters counters, Long userId) {
+        return "p" + counters.getRevision() + "-" + counters.getLikeVersion() + "-" + counters.getLikeCount() +
+                "-" + member(userId);
+    }
+
+    /**
+     * 인기/최근 게시글 목록 ETag
+     * 목록의 조회수는 피드 캐시와 같은 주기(prolog.cache.feed.l2-ttl-seconds)로만 갱신
+     * */
+    public String feedTag(Long userId) {
+        List<Long> versions = versions(List.of(FEED_VERSION, LIKE_VERSION + member(userId)));
+        return versions == null ? null
+                : "f" + versions.get(0) + "-l" + versions.get(1) + "-" + window() + "-" + member(userId);
+    }
+
+    /**
+     * 특정 카테고리 게시글 목록 ETag
+     * */
+    public String categoryFeedTag(String account, Long userId) {
+        List<Long> versions = versions(List.of(FEED_VERSION, CATEGORY_VERSION + account, LIKE_VERSION + member(userId)));
+        return versions == null ? null : "f" + versions.get(0) + "-c" + versions.get(1) + "-l" + versions.get(2) +
+                "-" + window() + "-" + member(userId);
+    }
+
+    /**
+     * 회원 카테고리 목록 ETag
+     * */
+    public String categoriesTag(String account) {
+        List<Long> versions = versions(List.of(CATEGORY_VERSION + account));
+        return versions == null ? null : "c" + versions.get(0);
+    }
+
+    /*
+    * 게시글 작성/수정/삭제 시
+    * */
+    public void increaseFeedVersion() {
+        afterCommit(() -> increase(FEED_VERSION));
+    }
+
+    /*
+    * 회원이 좋아요/취소한 경우 (그 회원의 목록 ETag만 변경)
+    * */
+    public void increaseLikeVersion(Long userId) {
+        afterCommit(() -> increase(LIKE_VERSION + userId));
+    }
+
+    /*
+    * 카테고리 추가/수정/삭제, 카테고리별 게시글 수 변경 시
+    * */
+    public void increaseCategoryVersion(String account) {
+        afterCommit(() -> increase(CATEGORY_VERSION + account));
+    }
+
+    private List<Long> versions(List<String> keys) {
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values == null) return null;
+            return values.stream().map(value -> value == null ? 0L : Long.parseLong(value)).collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            log.warn("content version read failed", e);
+            return null;
+        }
+    }
+
+    private void increase(String key) {
+        try {
+            redisTemplate.opsForValue().increment(key);
+        } catch (RuntimeException e) {
+            log.warn("content version increase failed: {}", key, e);
+        }
+    }
+
+    private long window() {
+        return System.currentTimeMillis() / feedWindowMillis;
+    }
+
+    private static long member(Long userId) {
+        return userId == null ? NO_USER : userId;
+    }
+}
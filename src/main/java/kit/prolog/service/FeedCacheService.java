@@ -0,0 +1,125 @@
+package kit.prolog.service;
+
+import kit.prolog.config.cache.CacheConfig;
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.service.leaderboard.ScoredPost;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+import static kit.prolog.util.TransactionUtil.afterCommit;
+
+/*
+* 공개 피드(인기 게시글, 최근 게시글) 앞쪽 페이지 캐시
+* 앞쪽 pages개 페이지 분량을 한 덩어리(head)로 캐싱하고, cursor가 head 안에 있으면 잘라서 응답
+* head 밖의 cursor는 기존처럼 원본을 조회
+* head를 읽을 때 원본의 끝에 닿았는지(exhausted) 함께 저장하여, head가 페이지보다 짧아도 끝이면 잘라서 응답
+* 게시글 작성/수정/삭제 커밋 후 head를 무효화
+* */
+@Service
+public class FeedCacheService {
+    // 이전 형식(List)으로 L2에 남은 값과 키를 구분
+    private static final String HEAD = "head:v2";
+
+    private final PostPreviewService postPreviewService;
+    private final HotPostService hotPostService;
+    private final Cache recentFeed;
+    private final Cache hottestFeed;
+    private final int headSize;
+
+    public FeedCacheService(PostPreviewService postPreviewService, HotPostService hotPostService,
+                            CacheManager cacheManager,
+                            @Value("${prolog.cache.feed.pages:3}") int pages) {
+        this.postPreviewService = postPreviewService;
+        this.hotPostService = hotPostService;
+        this.recentFeed = cacheManager.getCache(CacheConfig.RECENT_FEED);
+        this.hottestFeed = cacheManager.getCache(CacheConfig.HOTTEST_FEED);
+        this.headSize = pages * PAGE_SIZE;
+    }
+
+    /**
+     * 최근 게시글 목록 조회
+     * 매개변수 : cursor(마지막 게시글 pk, 첫 페이지는 0)
+     * 반환 : List<PostPreviewDto>
+     * */
+    public List<PostPreviewDto> getRecentPosts(int cursor) {
+        FeedHead head = recentFeed.get(HEAD, () -> {
+            List<PostPreviewDto> posts = new ArrayList<>(postPreviewService.getRecentPosts(0, headSize));
+            // pk 순서이므로 head가 가득 차지 않았다면 그 뒤에는 게시글이 없음
+            return new FeedHead(posts, posts.size() < headSize);
+        });
+        List<PostPreviewDto> page = slice(head,
+                cursor == 0 ? 0 : indexOf(head.getPosts(), dto -> dto.getPostDto().getId() < cursor));
+        return page != null ? page : postPreviewService.getRecentPosts(cursor);
+    }
+
+    /**
+     * 인기 게시글 목록 조회
+     * 매개변수 : score, last(이전 페이지 마지막 게시글의 점수와 pk, 첫 페이지는 null)
+     * 반환 : List<PostPreviewDto>
+     * */
+    public List<PostPreviewDto> getHottestPosts(Long score, Long last) {
+        FeedHead head = hottestFeed.get(HEAD, () -> {
+            List<ScoredPost> ranking = hotPostService.getRanking(null, headSize);
+            // 삭제된 게시글은 미리보기에서 빠지므로 끝은 순위표 크기로 판단
+            return new FeedHead(new ArrayList<>(hotPostService.toPreviews(ranking)), ranking.size() < headSize);
+        });
+        int from = 0;
+        if (score != null && last != null) {
+            ScoredPost cursor = new ScoredPost(last, score);
+            from = indexOf(head.getPosts(), dto -> ScoredPost.RANKING.compare(
+                    new ScoredPost(dto.getPostDto().getId(), dto.getScore()), cursor) > 0);
+        }
+        List<PostPreviewDto> page = slice(head, from);
+        return page != null ? page : hotPostService.getHottestPosts(score, last);
+    }
+
+    public void evictRecent() {
+        afterCommit(() -> recentFeed.evict(HEAD));
+    }
+
+    public void evictAll() {
+        afterCommit(() -> {
+            recentFeed.evict(HEAD);
+            hottestFeed.evict(HEAD);
+        });
+    }
+
+    /*
+    * head에서 한 페이지 분량을 잘라냄, head만으로 페이지를 채울 수 없으면 null
+    * */
+    private static List<PostPreviewDto> slice(FeedHead head, int from) {
+        List<PostPreviewDto> posts = head.getPosts();
+        int to = from + PAGE_SIZE;
+        if (to > posts.size() && !head.isExhausted()) return null;
+        return new ArrayList<>(posts.subList(from, Math.min(to, posts.size())));
+    }
+
+    private static int indexOf(List<PostPreviewDto> head, Predicate<PostPreviewDto> after) {
+        for (int i = 0; i < head.size(); i++) {
+            if (after.test(head.get(i))) return i;
+        }
+        return head.size();
+    }
+
+    /*
+    * 캐싱하는 앞쪽 페이지 묶음
+    * exhausted : 원본을 끝까지 읽었는지, 참이면 head 뒤에는 게시글이 없음
+    * */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FeedHead {
+        private List<PostPreviewDto> posts;
+        private boolean exhausted;
+    }
+}
@@ -0,0 +1,224 @@
+package kit.prolog.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import kit.prolog.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+* 조회수 쓰기 지연 버퍼
+* 게시글 상세조회마다 HITS에 insert 하던 것을 게시글 pk별 카운터에 누적한 뒤
+* 스케줄러가 주기적으로 JDBC batch insert로 반영
+* 같은 트랜잭션에서 HITS_DAILY 일간 집계와 POSTS, POST_PREVIEWS의 hit_count 카운터도 함께 누적
+* 삭제된 게시글의 조회수는 버리며 (삭제 커밋 후 카운터 제거, 쓸 때 POSTS에 없는 게시글은 건너뜀)
+* 그래도 제약 조건 위반이 나면 게시글별로 다시 써서 실패한 게시글만 버리고 나머지는 반영
+* */
+@Log4j2
+@Component
+public class HitCountBuffer {
+    private static final String INSERT_HIT = "INSERT INTO hits(time, post_post_id) SELECT ?, post_id FROM posts WHERE post_id = ?";
+    private static final String UPSERT_HIT_DAILY = "INSERT INTO hits_daily(post_post_id, view_date, view_count) " +
+            "SELECT post_id, ?, ? FROM posts WHERE post_id = ? " +
+            "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count)";
+    private static final String ADD_HIT_COUNT = "UPDATE posts SET hit_count = hit_count + ? WHERE post_id = ?";
+    private static final String ADD_PREVIEW_HIT_COUNT = "UPDATE post_previews SET hit_count = hit_count + ? WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacity;
+    private final int batchSize;
+
+    // 게시글 pk -> 누적 조회수, LongAdder가 내부적으로 cell 단위 striping
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicBoolean overflow = new AtomicBoolean();
+    private final AtomicLong flushedTotal = new AtomicLong();
+    private final AtomicLong overflowDrains = new AtomicLong();
+
+    public HitCountBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${prolog.hit.buffer.capacity:10000}") int capacity,
+                          @Value("${prolog.hit.buffer.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+
+        Gauge.builder("prolog.hit.buffer.pending", this, HitCountBuffer::pendingTotal)
+                .description("아직 DB에 반영되지 않은 조회수")
+                .register(meterRegistry);
+        Gauge.builder("prolog.hit.buffer.posts", counters, Map::size)
+                .description("버퍼에 카운터가 존재하는 게시글 수")
+                .register(meterRegistry);
+        Gauge.builder("prolog.hit.buffer.flushed", flushedTotal, AtomicLong::get)
+                .description("DB에 반영된 누적 조회수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회 1건 기록
+     * 매개변수 : postId(게시글 pk)
+     * 버퍼가 가득 찼을 경우 요청 스레드에서 DB에 쓰지 않고 다음 스케줄러 주기에 모든 카운터를 비우도록 표시
+     * (용량은 한 주기 동안 넘을 수 있는 느슨한 제한)
+     * */
+    public void record(Long postId) {
+        if (!counters.containsKey(postId) && counters.size() >= capacity && overflow.compareAndSet(false, true)) {
+            overflowDrains.incrementAndGet();
+        }
+        add(postId, 1L);
+    }
+
+    /*
+    * drain이 제거(retire)한 카운터에 늦게 더해진 값은 더한 스레드가 직접 회수하여 새 카운터로 옮김
+    * drain은 retired 표시 후 sumThenReset 하므로 그 이후의 증가분은 더한 스레드가 retired를 보고 회수
+    * */
+    private void add(Long postId, long amount) {
+        Counter counter = counters.computeIfAbsent(postId, id -> new Counter());
+        counter.add(amount);
+        while (counter.retired) {
+            long late = counter.sumThenReset();
+            if (late == 0L) return;
+            counter = counters.computeIfAbsent(postId, id -> new Counter());
+            counter.add(late);
+        }
+    }
+
+    /**
+     * 게시글 삭제 후 쌓인 조회수 버리기 (커밋 후 실행)
+     * 매개변수 : postId(삭제한 게시글 pk)
+     * */
+    public void discard(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            Counter counter = counters.remove(postId);
+            if (counter == null) return;
+            counter.retired = true;
+            counter.sumThenReset();
+        });
+    }
+
+    /**
+     * 아직 반영되지 않은 특정 게시글의 조회수
+     * */
+    public long pending(Long postId) {
+        Counter counter = counters.get(postId);
+        return counter == null ? 0L : counter.sum();
+    }
+
+    public long pendingTotal() {
+        return counters.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long overflowDrains() {
+        return overflowDrains.get();
+    }
+
+    @Scheduled(fixedDelayString = "${prolog.hit.buffer.flush-interval-ms:1000}")
+    public void flush() {
+        drain(overflow.getAndSet(false));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drain(true);
+        log.info("hit buffer drained on shutdown, flushed total : {}", flushedTotal.get());
+    }
+
+    /**
+     * 버퍼 비우기
+     * 카운터는 sumThenReset으로 0을 만든 뒤 그대로 두고, 이미 0인 카운터만 제거
+     * 용량 초과/종료 시(evictAll)에는 모든 카운터를 제거
+     * 제거한 카운터는 retired로 표시한 뒤 다시 회수하고, 그 뒤에 늦게 더해진 값은 record 쪽에서 새 카운터로 옮김
+     * */
+    void drain(boolean evictAll) {
+        drainLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Map.Entry<Long, Long>> drained = new ArrayList<>();
+            counters.forEach((postId, counter) -> {
+                long count = counter.sumThenReset();
+                if ((evictAll || count == 0L) && counters.remove(postId, counter)) {
+                    counter.retired = true;
+                    count += counter.sumThenReset();
+                }
+                if (count > 0L) drained.add(Map.entry(postId, count));
+            });
+            if (drained.isEmpty()) return;
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(drained, now));
+                flushedTotal.addAndGet(drained.stream().mapToLong(Map.Entry::getValue).sum());
+            } catch (DataIntegrityViolationException e) {
+                log.warn("hit buffer flush violated a constraint, writing {} posts one by one", drained.size(), e);
+                drained.forEach(entry -> writeOne(entry, now));
+            } catch (RuntimeException e) {
+                // 반영 실패 시 트랜잭션이 롤백되므로 다음 주기에 재시도
+                drained.forEach(entry -> add(entry.getKey(), entry.getValue()));
+                log.warn("hit buffer flush failed, {} posts requeued", drained.size(), e);
+            }
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /*
+    * 게시글 하나만 반영, 제약 조건 위반이면 버리고 그 밖의 실패는 다음 주기에 재시도
+    * */
+    private void writeOne(Map.Entry<Long, Long> entry, LocalDateTime now) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(List.of(entry), now));
+            flushedTotal.addAndGet(entry.getValue());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("hit buffer dropped {} hits of post {}", entry.getValue(), entry.getKey(), e);
+        } catch (RuntimeException e) {
+            add(entry.getKey(), entry.getValue());
+            log.warn("hit buffer flush failed, post {} requeued", entry.getKey(), e);
+        }
+    }
+
+    protected void write(List<Map.Entry<Long, Long>> drained, LocalDateTime time) {
+        Timestamp timestamp = Timestamp.valueOf(time);
+        Date viewDate = Date.valueOf(time.toLocalDate());
+        List<Object[]> rows = new ArrayList<>();
+        List<Object[]> dailyRows = new ArrayList<>();
+        List<Object[]> counterRows = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : drained) {
+            dailyRows.add(new Object[]{viewDate, entry.getValue(), entry.getKey()});
+            counterRows.add(new Object[]{entry.getValue(), entry.getKey()});
+            for (long i = 0; i < entry.getValue(); i++) {
+                rows.add(new Object[]{timestamp, entry.getKey()});
+                if (rows.size() == batchSize) {
+                    jdbcTemplate.batchUpdate(INSERT_HIT, rows);
+                    rows = new ArrayList<>();
+                }
+            }
+        }
+        if (!rows.isEmpty()) jdbcTemplate.batchUpdate(INSERT_HIT, rows);
+        jdbcTemplate.batchUpdate(UPSERT_HIT_DAILY, dailyRows);
+        jdbcTemplate.batchUpdate(ADD_HIT_COUNT, counterRows);
+        jdbcTemplate.batchUpdate(ADD_PREVIEW_HIT_COUNT, counterRows);
+    }
+
+    private static class Counter extends LongAdder {
+        private volatile boolean retired = false;
+    }
+}
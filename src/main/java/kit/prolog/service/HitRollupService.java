@@ -0,0 +1,140 @@
+package kit.prolog.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/*
+* HITS_DAILY 일간 집계 백필 / HITS 원본 압축
+* 집계 테이블 도입 이전에 쌓인 HITS 원본 행을 하루 단위로 나누어 집계 테이블에 반영
+* 이미 누적된 값보다 작아지지 않도록 GREATEST로 갱신하므로 여러 번 실행해도 안전
+* 보존 기간이 지난 원본 행은 집계에 반영한 뒤 chunk 단위로 삭제
+* */
+@Log4j2
+@Service
+public class HitRollupService {
+    private static final String BACKFILL_DAY =
+            "INSERT INTO hits_daily(post_post_id, view_date, view_count) " +
+            "SELECT h.post_post_id, ?, COUNT(*) FROM hits h " +
+            "WHERE h.time >= ? AND h.time < ? GROUP BY h.post_post_id " +
+            "ON DUPLICATE KEY UPDATE view_count = GREATEST(view_count, VALUES(view_count))";
+    private static final String DELETE_DAY_CHUNK = "DELETE FROM hits WHERE time >= ? AND time < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    public HitRollupService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            @Value("${prolog.hit.rollup.backfill-on-startup:false}") boolean backfillOnStartup,
+                            @Value("${prolog.hit.compaction.retention-days:30}") int retentionDays,
+                            @Value("${prolog.hit.compaction.chunk-size:5000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillOnStartup = backfillOnStartup;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+    }
+
+    /*
+    * 설정 시 전체 백필, 그렇지 않으면 집계보다 오래된 원본이 남아있는 기간만 백필
+    * 집계 도입 이전의 원본도 누적 조회수에 포함되도록 보장
+    * */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (backfillOnStartup) {
+            backfill();
+            return;
+        }
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(time) FROM hits", Timestamp.class);
+        if (oldest == null) return;
+        LocalDate oldestRaw = oldest.toLocalDateTime().toLocalDate();
+        Date oldestRollup = jdbcTemplate.queryForObject("SELECT MIN(view_date) FROM hits_daily", Date.class);
+        LocalDate until = oldestRollup == null ? LocalDate.now() : oldestRollup.toLocalDate();
+        if (oldestRaw.isBefore(until) || oldestRollup == null) backfill(oldestRaw, until);
+    }
+
+    /**
+     * 전체 기간 백필
+     * 반환 : 처리한 일 수
+     * */
+    public int backfill() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(time) FROM hits", Timestamp.class);
+        if (oldest == null) return 0;
+        return backfill(oldest.toLocalDateTime().toLocalDate(), LocalDate.now());
+    }
+
+    /**
+     * 기간 백필 [from, to]
+     * 하루 단위 트랜잭션으로 나누어 긴 잠금을 피함
+     * */
+    public int backfill(LocalDate from, LocalDate to) {
+        int days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            backfillDay(day);
+            days++;
+        }
+        log.info("hit rollup backfilled {} days ({} ~ {})", days, from, to);
+        return days;
+    }
+
+    @Scheduled(cron = "${prolog.hit.compaction.cron:0 30 4 * * *}")
+    public void scheduledCompact() {
+        compact(LocalDate.now().minusDays(retentionDays));
+    }
+
+    /**
+     * 원본 압축
+     * 매개변수 : before(이 날짜 이전의 원본 행을 압축)
+     * 반환 : 삭제한 원본 행 수
+     * 하루씩 집계에 먼저 반영(GREATEST)한 뒤 삭제하므로, 도중에 실패하더라도 재실행 시 집계 값은 줄어들지 않음
+     * 삭제는 chunk 단위 트랜잭션으로 나누어 긴 잠금을 피함
+     * */
+    public long compact(LocalDate before) {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(time) FROM hits", Timestamp.class);
+        if (oldest == null) return 0L;
+
+        long deleted = 0L;
+        for (LocalDate day = oldest.toLocalDateTime().toLocalDate(); day.isBefore(before); day = day.plusDays(1)) {
+            backfillDay(day);
+            deleted += deleteDay(day);
+        }
+        log.info("hit compaction deleted {} raw rows before {}", deleted, before);
+        return deleted;
+    }
+
+    private long deleteDay(LocalDate day) {
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        long deleted = 0L;
+        int rows;
+        do {
+            Integer chunk = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(DELETE_DAY_CHUNK, start, end, chunkSize));
+            rows = chunk == null ? 0 : chunk;
+            deleted += rows;
+        } while (rows == chunkSize);
+        return deleted;
+    }
+
+    private void backfillDay(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(BACKFILL_DAY,
+                Date.valueOf(day), Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1))));
+    }
+}
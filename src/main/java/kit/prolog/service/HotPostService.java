@@ -0,0 +1,168 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.service.leaderboard.HotPostLeaderboard;
+import kit.prolog.service.leaderboard.ScoredPost;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+
+/*
+* 인기 게시글 (최근 windowDays일 동안 받은 좋아요 수 순)
+* 좋아요/취소 시 순위표에 바로 반영하고, 매일 자정 기간을 벗어난 날짜의 좋아요를 차감
+* 기동 시와 매일 만료 직후 LIKES에서 기간 내 좋아요를 날짜별로 집계하여 순위표를 재구성
+* (만료가 실패했거나 잠금을 잡은 인스턴스가 중단되어 빠진 날짜가 있어도 하루 안에 바로잡음)
+* 순위표를 공유하는 여러 인스턴스 중 잠금을 잡은 한 곳만 만료/재구성을 실행 (배포 시 재구성은 REBUILD_LOCK_TTL 동안 한 번)
+* */
+@Log4j2
+@Service
+public class HotPostService {
+    private static final String DAILY_LIKES =
+            "SELECT post_post_id, DATE(time) AS liked_on, COUNT(*) AS likes FROM likes " +
+            "WHERE time >= ? GROUP BY post_post_id, DATE(time)";
+    private static final Duration EXPIRE_LOCK_TTL = Duration.ofHours(1);
+    private static final Duration REBUILD_LOCK_TTL = Duration.ofMinutes(10);
+
+    private final HotPostLeaderboard leaderboard;
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int windowDays;
+
+    public HotPostService(HotPostLeaderboard leaderboard, PostRepository postRepository, JdbcTemplate jdbcTemplate,
+                          @Value("${prolog.leaderboard.window-days:7}") int windowDays) {
+        this.leaderboard = leaderboard;
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.windowDays = windowDays;
+    }
+
+    public void liked(Long postId, LocalDateTime likedAt) {
+        update(postId, likedAt, 1L);
+    }
+
+    /**
+     * 좋아요 취소
+     * 매개변수 : likedAt(취소된 좋아요를 누른 시각), 기간을 벗어난 좋아요는 이미 차감되었으므로 무시
+     * */
+    public void unliked(Long postId, LocalDateTime likedAt) {
+        if (likedAt != null) update(postId, likedAt, -1L);
+    }
+
+    public void deleted(Long postId) {
+        try {
+            leaderboard.remove(postId);
+        } catch (DataAccessException e) {
+            log.warn("hot post leaderboard remove failed, post : {}", postId, e);
+        }
+    }
+
+    /**
+     * 인기 게시글 목록 조회
+     * 매개변수 : score, last(이전 페이지 마지막 게시글의 점수와 pk, 첫 페이지는 null)
+     * 반환 : 순위 순서의 List<PostPreviewDto>, score에 최근 좋아요 수를 담아 다음 cursor로 사용
+     * */
+    public List<PostPreviewDto> getHottestPosts(Long score, Long last) {
+        return getHottestPosts(score, last, PAGE_SIZE);
+    }
+
+    public List<PostPreviewDto> getHottestPosts(Long score, Long last, int size) {
+        ScoredPost cursor = score == null || last == null ? null : new ScoredPost(last, score);
+        return toPreviews(getRanking(cursor, size));
+    }
+
+    /**
+     * 순위표 한 페이지 조회
+     * 매개변수 : cursor(이전 페이지 마지막 게시글, 첫 페이지는 null), size(조회 개수)
+     * 반환 : 순위 순서의 List<ScoredPost>, size보다 적으면 순위표의 끝
+     * */
+    public List<ScoredPost> getRanking(ScoredPost cursor, int size) {
+        return leaderboard.page(cursor, size);
+    }
+
+    /**
+     * 순위의 게시글 미리보기 조회, 삭제된 게시글은 제외
+     * 반환 : 순위 순서의 List<PostPreviewDto>, score에 최근 좋아요 수를 담아 다음 cursor로 사용
+     * */
+    public List<PostPreviewDto> toPreviews(List<ScoredPost> ranking) {
+        if (ranking.isEmpty()) return new ArrayList<>();
+
+        Map<Long, PostPreviewDto> previews = postRepository
+                .findPreviewsByIds(ranking.stream().map(ScoredPost::getPostId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(dto -> dto.getPostDto().getId(), Function.identity()));
+
+        List<PostPreviewDto> hottestPosts = new ArrayList<>();
+        ranking.forEach(scoredPost -> {
+            PostPreviewDto preview = previews.get(scoredPost.getPostId());
+            if (preview == null) return;
+            preview.setScore(scoredPost.getScore());
+            hottestPosts.add(preview);
+        });
+        return hottestPosts;
+    }
+
+    @Scheduled(cron = "${prolog.leaderboard.expire-cron:0 0 0 * * *}")
+    public void expire() {
+        LocalDate likedOn = LocalDate.now().minusDays(windowDays);
+        if (!lock("expire:" + likedOn, EXPIRE_LOCK_TTL)) return;
+        leaderboard.expire(likedOn);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${prolog.leaderboard.rebuild-cron:0 5 0 * * *}")
+    public void rebuild() {
+        if (!lock("rebuild", REBUILD_LOCK_TTL)) return;
+        LocalDate from = LocalDate.now().minusDays(windowDays - 1);
+        Map<LocalDate, Map<Long, Long>> dailyLikes = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            dailyLikes.put(day, new HashMap<>());
+        }
+        try {
+            jdbcTemplate.query(DAILY_LIKES, rs -> {
+                dailyLikes.computeIfAbsent(rs.getDate("liked_on").toLocalDate(), day -> new HashMap<>())
+                        .put(rs.getLong("post_post_id"), rs.getLong("likes"));
+            }, Timestamp.valueOf(from.atStartOfDay()));
+            leaderboard.rebuild(dailyLikes);
+            log.info("hot post leaderboard rebuilt from {}", from);
+        } catch (DataAccessException e) {
+            log.warn("hot post leaderboard rebuild failed", e);
+        }
+    }
+
+    private boolean lock(String job, Duration ttl) {
+        try {
+            if (leaderboard.tryLock(job, ttl)) return true;
+            log.info("hot post leaderboard {} skipped, running on another instance", job);
+        } catch (DataAccessException e) {
+            log.warn("hot post leaderboard lock failed, {} skipped", job, e);
+        }
+        return false;
+    }
+
+    private void update(Long postId, LocalDateTime likedAt, long delta) {
+        LocalDate likedOn = likedAt.toLocalDate();
+        if (likedOn.isBefore(LocalDate.now().minusDays(windowDays - 1))) return;
+        try {
+            leaderboard.add(postId, likedOn, delta);
+        } catch (DataAccessException e) {
+            // 순위표 갱신 실패는 좋아요 처리에 영향을 주지 않으며 다음 기동 시 재구성으로 복구
+            log.warn("hot post leaderboard update failed, post : {}", postId, e);
+        }
+    }
+}
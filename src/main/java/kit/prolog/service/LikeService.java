@@ -0,0 +1,146 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.LikeDto;
+import kit.prolog.repository.jpa.LikeRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/*
+* 게시글 좋아요
+* LIKES(user, post) 유니크 키를 기준으로 INSERT IGNORE / DELETE 단일 쿼리로 상태를 변경
+* 실제로 변경된 행이 있을 때만 POSTS.like_count와 인기 게시글 순위를 증감하므로 동시 요청(연속 클릭)에도 중복 행과 카운터 오차가 없음
+* 인기 게시글 순위(Redis)는 커밋 후에 반영하고, 같은 게시글의 동시 전환(DELETE 후 INSERT IGNORE)이 교착 상태로 롤백되면 트랜잭션을 다시 실행
+* */
+@Log4j2
+@Service
+public class LikeService {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final LikeRepository likeRepository;
+    private final PostRepository postRepository;
+    private final HotPostService hotPostService;
+    private final PostPreviewService postPreviewService;
+    private final ContentVersionService contentVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    public LikeService(LikeRepository likeRepository, PostRepository postRepository, HotPostService hotPostService,
+                       PostPreviewService postPreviewService, ContentVersionService contentVersionService,
+                       PlatformTransactionManager transactionManager) {
+        this.likeRepository = likeRepository;
+        this.postRepository = postRepository;
+        this.hotPostService = hotPostService;
+        this.postPreviewService = postPreviewService;
+        this.contentVersionService = contentVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 좋아요
+     * 매개변수 : userId(회원 pk), postId(게시글 pk)
+     * 반환 : LikeDto(좋아요 수, 좋아요 여부), 이미 좋아요 한 경우에도 동일한 결과 (멱등)
+     * 발생 가능 에러 : NullPointerException(게시글 없음)
+     * */
+    public LikeDto like(Long userId, Long postId) throws NullPointerException {
+        return withRetry(() -> {
+            checkPost(postId);
+            insert(userId, postId);
+            return currentState(postId, true);
+        });
+    }
+
+    /**
+     * 좋아요 취소
+     * 매개변수 : userId(회원 pk), postId(게시글 pk)
+     * 반환 : LikeDto(좋아요 수, 좋아요 여부), 좋아요 하지 않은 경우에도 동일한 결과 (멱등)
+     * */
+    public LikeDto unlike(Long userId, Long postId) throws NullPointerException {
+        return withRetry(() -> {
+            checkPost(postId);
+            delete(userId, postId);
+            return currentState(postId, false);
+        });
+    }
+
+    /**
+     * 좋아요/취소 전환
+     * 삭제된 행이 없으면 좋아요, 그 사이 다른 요청이 먼저 추가했다면 INSERT IGNORE가 무시되어 좋아요 상태 유지
+     * */
+    public LikeDto toggle(Long userId, Long postId) throws NullPointerException {
+        return withRetry(() -> {
+            checkPost(postId);
+            if (delete(userId, postId)) return currentState(postId, false);
+            insert(userId, postId);
+            return currentState(postId, true);
+        });
+    }
+
+    /*
+    * 교착 상태(MySQL 1213)는 JDBC 경로에서는 DeadlockLoserDataAccessException, JPA 경로에서는 CannotAcquireLockException으로
+    * 변환되므로 공통 상위 타입으로 받아 MAX_ATTEMPTS번까지 새 트랜잭션으로 다시 실행
+    * 바깥 트랜잭션에 참여한 경우에는 롤백 표시된 트랜잭션을 다시 쓸 수 없으므로 재시도하지 않음
+    * */
+    private LikeDto withRetry(Supplier<LikeDto> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) return action.get();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= MAX_ATTEMPTS) throw e;
+                log.info("like transaction deadlocked, retry {}/{}", attempt, MAX_ATTEMPTS - 1);
+            }
+        }
+    }
+
+    private void insert(Long userId, Long postId) {
+        if (likeRepository.insertIgnore(userId, postId) == 1) {
+            postRepository.addLikeCount(postId, 1L);
+            postPreviewService.addLikeCount(postId, 1L);
+            LocalDateTime likedAt = LocalDateTime.now();
+            TransactionUtil.afterCommit(() -> hotPostService.liked(postId, likedAt));
+            contentVersionService.increaseLikeVersion(userId);
+        }
+    }
+
+    // 인기 게시글 순위에서 차감할 날짜를 알기 위해 삭제 전에 좋아요 시각을 조회
+    private boolean delete(Long userId, Long postId) {
+        Optional<LocalDateTime> likedAt = likeRepository.findTimeByUserIdAndPostId(userId, postId);
+        if (likedAt.isEmpty() || likeRepository.deleteByUserIdAndPostId(userId, postId) != 1) return false;
+        postRepository.addLikeCount(postId, -1L);
+        postPreviewService.addLikeCount(postId, -1L);
+        TransactionUtil.afterCommit(() -> hotPostService.unliked(postId, likedAt.get()));
+        contentVersionService.increaseLikeVersion(userId);
+        return true;
+    }
+
+    /**
+     * 목록 페이지의 좋아요 여부 일괄 조회
+     * 매개변수 : userId(회원 pk), postIds(페이지의 게시글 pk 목록)
+     * 반환 : 좋아요 한 게시글 pk 집합, 페이지당 IN 쿼리 1회
+     * */
+    @Transactional
+    public Set<Long> findLikedPostIds(Long userId, Collection<Long> postIds) {
+        if (postIds.isEmpty()) return Set.of();
+        return likeRepository.findLikedPostIds(userId, postIds);
+    }
+
+    private void checkPost(Long postId) {
+        if (!postRepository.existsById(postId)) throw new NullPointerException("No Such Post");
+    }
+
+    private LikeDto currentState(Long postId, boolean exist) {
+        return new LikeDto(postRepository.findLikeCountById(postId).intValue(), exist);
+    }
+}
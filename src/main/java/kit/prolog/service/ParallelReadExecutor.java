@@ -0,0 +1,121 @@
+package kit.prolog.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static kit.prolog.config.datasource.ReplicaRoutingDataSource.isPrimaryPinned;
+import static kit.prolog.config.datasource.ReplicaRoutingDataSource.readFromPrimary;
+
+/*
+* 서로 의존하지 않는 조회를 동시에 실행하는 실행기
+* 각 조회는 전용 스레드에서 별도의 읽기 전용 트랜잭션으로 실행
+* 스레드 수와 대기열 크기를 제한하며, 대기열이 가득 차면 호출 스레드가 직접 실행(직렬 실행으로 후퇴)
+* 조회마다 커넥션을 하나씩 사용하므로 동시에 실행하는 조회 수를 세마포어로 커넥션 풀 크기보다 작게 제한 (호출 스레드 실행 포함)
+* 호출 스레드가 커넥션을 잡은 채 기다리면 풀이 고갈될 수 있으므로 트랜잭션 밖에서 호출해야 함
+* 취소해도 실행 중인 JDBC 조회는 멈추지 않으므로 트랜잭션 제한 시간으로 조회 자체에 query timeout을 걸어둠
+* 호출 스레드가 readFromPrimary로 프라이머리에 고정되어 있으면 실행 스레드의 조회도 프라이머리로 고정
+* */
+@Component
+public class ParallelReadExecutor {
+    private final ThreadPoolExecutor executor;
+    private final Semaphore connections;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long timeoutMillis;
+
+    public ParallelReadExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${prolog.post.detail.threads:4}") int threads,
+                                @Value("${prolog.post.detail.queue-capacity:64}") int queueCapacity,
+                                @Value("${prolog.post.detail.max-connections:4}") int maxConnections,
+                                @Value("${prolog.post.detail.timeout-ms:2000}") long timeoutMillis) {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "parallel-read-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.connections = new Semaphore(maxConnections);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999)));
+        this.timeoutMillis = timeoutMillis;
+
+        Gauge.builder("prolog.parallel.read.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 병렬 조회 수")
+                .register(meterRegistry);
+        Gauge.builder("prolog.parallel.read.queued", executor, e -> e.getQueue().size())
+                .description("대기 중인 병렬 조회 수")
+                .register(meterRegistry);
+        Gauge.builder("prolog.parallel.read.connections", connections, c -> maxConnections - c.availablePermits())
+                .description("병렬 조회가 사용 중인 커넥션 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회 하나를 읽기 전용 트랜잭션으로 비동기 실행
+     * 매개변수 : query(다른 조회 결과에 의존하지 않는 조회), 트랜잭션 밖에서 호출
+     * 반환 : 조회 결과 CompletableFuture, await로 기다림
+     * */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+        boolean pinned = isPrimaryPinned();
+        return CompletableFuture.supplyAsync(() -> pinned ? readFromPrimary(() -> execute(query)) : execute(query), executor);
+    }
+
+    /*
+    * 커넥션 허용량을 얻은 뒤 실행, 제한 시간 안에 얻지 못하면 IllegalStateException
+    * 실행을 시작한 뒤에만 허용량을 얻으므로 대기 중 취소되어도 반납이 누락되지 않음
+    * */
+    private <T> T execute(Supplier<T> query) {
+        try {
+            if (!connections.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Parallel Read Timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel Read Interrupted", e);
+        }
+        try {
+            return readOnlyTransaction.execute(status -> query.get());
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * 제출한 조회가 모두 끝날 때까지 하나의 전체 제한 시간 안에서 기다림
+     * 제한 시간을 넘기면 남은 조회를 취소하고 IllegalStateException (실행 중인 조회는 query timeout으로 끝남)
+     * 조회 중 발생한 RuntimeException은 그대로 다시 던짐
+     * */
+    public void await(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            for (CompletableFuture<?> future : futures) future.cancel(true);
+            throw new IllegalStateException("Parallel Read Timeout", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel Read Interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
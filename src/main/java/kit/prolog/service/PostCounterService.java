@@ -0,0 +1,85 @@
+package kit.prolog.service;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+* POSTS 반정규화 카운터(hit_count, like_count, comment_count) 보정
+* 증감 쿼리 누락, 수동 데이터 수정 등으로 어긋난 값을 원본(HITS_DAILY, LIKES, COMMENTS)에서 다시 계산
+* 미리보기 읽기 모델(POST_PREVIEWS)의 카운터도 보정된 값으로 맞춤
+* 게시글 pk 구간 단위 트랜잭션으로 나누어 긴 잠금을 피함
+* */
+@Log4j2
+@Service
+public class PostCounterService {
+    private static final String RECONCILE_RANGE =
+            "UPDATE posts p SET " +
+            "p.hit_count = (SELECT COALESCE(SUM(d.view_count), 0) FROM hits_daily d WHERE d.post_post_id = p.post_id), " +
+            "p.like_count = (SELECT COUNT(*) FROM likes l WHERE l.post_post_id = p.post_id), " +
+            "p.comment_count = (SELECT COUNT(*) FROM comments c WHERE c.post_post_id = p.post_id AND c.block = false) " +
+            "WHERE p.post_id >= ? AND p.post_id < ?";
+    private static final String SYNC_PREVIEW_RANGE =
+            "UPDATE post_previews s JOIN posts p ON p.post_id = s.post_id " +
+            "SET s.hit_count = p.hit_count, s.like_count = p.like_count " +
+            "WHERE s.post_id >= ? AND s.post_id < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean reconcileOnStartup;
+    private final int rangeSize;
+
+    public PostCounterService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              @Value("${prolog.post.counter.reconcile-on-startup:true}") boolean reconcileOnStartup,
+                              @Value("${prolog.post.counter.range-size:1000}") int rangeSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcileOnStartup = reconcileOnStartup;
+        this.rangeSize = rangeSize;
+    }
+
+    /*
+    * 카운터 컬럼이 추가되기 전의 게시글은 0으로 시작하므로 기동 시 한 번 보정
+    * 조회수는 HITS_DAILY 백필(HitRollupService) 이후에 계산되어야 하므로 가장 나중에 실행
+    * */
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) reconcile();
+    }
+
+    @Scheduled(cron = "${prolog.post.counter.reconcile-cron:0 0 5 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * 전체 게시글 카운터 보정
+     * 반환 : 처리한 게시글 수
+     * */
+    public long reconcile() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(post_id) FROM posts", Long.class);
+        if (maxId == null) return 0L;
+
+        long reconciled = 0L;
+        for (long start = 1L; start <= maxId; start += rangeSize) {
+            long from = start, to = start + rangeSize;
+            Integer rows = transactionTemplate.execute(status -> {
+                int updated = jdbcTemplate.update(RECONCILE_RANGE, from, to);
+                jdbcTemplate.update(SYNC_PREVIEW_RANGE, from, to);
+                return updated;
+            });
+            reconciled += rows == null ? 0 : rows;
+        }
+        log.info("post counters reconciled for {} posts", reconciled);
+        return reconciled;
+    }
+}
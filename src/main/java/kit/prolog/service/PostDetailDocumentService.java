@@ -0,0 +1,132 @@
+package kit.prolog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kit.prolog.domain.PostDetailDocument;
+import kit.prolog.dto.AttachmentDto;
+import kit.prolog.dto.LayoutDto;
+import kit.prolog.dto.PostDetailDto;
+import kit.prolog.enums.LayoutType;
+import kit.prolog.repository.jpa.AttachmentRepository;
+import kit.prolog.repository.jpa.PostDetailDocumentRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.repository.jpa.PostTagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static kit.prolog.config.datasource.ReplicaRoutingDataSource.readFromPrimary;
+
+/*
+* 게시글 상세 문서(POST_DETAILS) 관리
+* 상세조회는 문서 pk 조회 한 번으로 상세 내용을 가져오고, 좋아요/조회수 등 실시간 값만 따로 덧씌움
+* 게시글 작성/수정 시 다시 만들고, 작성자/카테고리 변경은 POSTS.revision 증가로 다음 조회 때 다시 만들도록 함
+* */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class PostDetailDocumentService {
+    private final PostDetailDocumentRepository documentRepository;
+    private final PostRepository postRepository;
+    private final AttachmentRepository attachmentRepository;
+    private final PostTagRepository postTagRepository;
+    private final ParallelReadExecutor parallelReadExecutor;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 게시글 작성/수정 후 상세 문서 재생성
+     * 매개변수 : postId(게시글 pk), 레이아웃/태그/첨부파일이 저장된 뒤 호출해야 함
+     * 같은 트랜잭션에서 저장한 내용을 읽어야 하므로 하위 조회를 직렬로 실행
+     * */
+    public void rebuild(Long postId) {
+        Long revision = postRepository.findRevisionById(postId);
+        PostDetailDto detail = assemble(postId, false);
+        if (detail != null) documentRepository.upsert(postId, revision, write(detail));
+    }
+
+    /**
+     * 상세 문서 조회
+     * 매개변수 : postId(게시글 pk), revision(현재 POSTS.revision)
+     * 반환 : 좋아요/조회수를 제외한 PostDetailDto, 게시글이 없으면 null
+     * 문서가 없거나 revision이 다르면 하위 조회를 병렬로 실행해 다시 만들고 저장
+     * 병렬 조회를 기다리는 동안 커넥션을 잡지 않도록 트랜잭션 밖에서 조회마다 커넥션을 받아 실행
+     * revision은 프라이머리에서 읽은 값이므로 문서 조회와 재생성도 프라이머리에서 실행 (병렬 조회 스레드 포함)
+     * (지연된 레플리카의 이전 내용을 새 revision으로 저장하면 다음 수정까지 이전 내용을 응답함)
+     * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostDetailDto get(Long postId, Long revision) {
+        return readFromPrimary(() -> {
+            Optional<PostDetailDocument> document = documentRepository.findById(postId);
+            if (document.isPresent() && document.get().getRevision().equals(revision)) {
+                return read(document.get().getDocument());
+            }
+            PostDetailDto detail = assemble(postId, true);
+            if (detail != null) documentRepository.upsert(postId, revision, write(detail));
+            return detail;
+        });
+    }
+
+    public void delete(Long postId) {
+        if (documentRepository.existsById(postId)) documentRepository.deleteById(postId);
+    }
+
+    private PostDetailDto assemble(Long postId, boolean parallel) {
+        PostDetailDto detail = postRepository.findPostById(postId);
+        if (detail == null) return null;
+
+        CompletableFuture<List<AttachmentDto>> attachmentList = load(() -> attachmentRepository.findByPost_Id(postId), parallel);
+        CompletableFuture<List<String>> tagList = load(() -> postTagRepository.findTagNameByPost_Id(postId), parallel);
+        CompletableFuture<List<LayoutDto>> layoutList = load(() -> postRepository.selectDetailLayout(postId), parallel);
+        if (parallel) parallelReadExecutor.await(attachmentList, tagList, layoutList);
+
+        //레이아웃 가져오기
+        Map<Long, LayoutDto> layoutId = new HashMap<>();
+        layoutList.join().forEach(layout -> {
+            if(layout.getDtype() == LayoutType.IMAGE.getValue()){
+                if(layoutId.containsKey(layout.getId())){
+                    layoutId.get(layout.getId()).addUrl(layout);
+                }else {
+                    layoutId.put(layout.getId(), layout);
+                }
+            }else{
+                layoutId.put(layout.getId(), layout);
+            }
+        });
+
+        // 조회수는 실시간 값이므로 문서에 담지 않음
+        detail.setHits(null);
+        detail.setAttachmentDto(attachmentList.join());
+        detail.setTags(new ArrayList<>(tagList.join()));
+        detail.setLayoutDto(new ArrayList<>(layoutId.values()));
+        return detail;
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> query, boolean parallel) {
+        return parallel ? parallelReadExecutor.submit(query) : CompletableFuture.completedFuture(query.get());
+    }
+
+    private String write(PostDetailDto detail) {
+        try {
+            return objectMapper.writeValueAsString(detail);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid Post Detail", e);
+        }
+    }
+
+    /**
+     * 저장된 상세 문서 JSON을 PostDetailDto로 변환 (리액티브 읽기 서버에서도 사용)
+     * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostDetailDto read(String json) {
+        try {
+            return objectMapper.readValue(json, PostDetailDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid Post Detail", e);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package kit.prolog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kit.prolog.domain.Category;
+import kit.prolog.domain.Post;
+import kit.prolog.domain.PostPreviewSnapshot;
+import kit.prolog.domain.User;
+import kit.prolog.dto.LayoutDto;
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.repository.jpa.PostPreviewSnapshotRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+
+/*
+* 게시글 미리보기 읽기 모델(POST_PREVIEWS) 관리
+* 게시글 작성/수정/삭제, 좋아요, 조회수 반영, 카테고리/회원 정보 변경 시 함께 갱신
+* 최근 게시글, 내가 쓴 글, 카테고리별 목록은 조인 없이 이 테이블의 pk 범위 조회 한 번으로 응답
+* */
+@Log4j2
+@Service
+@Transactional
+public class PostPreviewService {
+    private static final int BACKFILL_BATCH = 100;
+
+    private final PostPreviewSnapshotRepository snapshotRepository;
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostPreviewService(PostPreviewSnapshotRepository snapshotRepository, PostRepository postRepository,
+                              ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.snapshotRepository = snapshotRepository;
+        this.postRepository = postRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<PostPreviewDto> getRecentPosts(int cursor) {
+        return getRecentPosts(cursor, PAGE_SIZE);
+    }
+
+    public List<PostPreviewDto> getRecentPosts(int cursor, int size) {
+        return toPreviewDtos(snapshotRepository.findByPostIdLessThanOrderByPostIdDesc(
+                fromCursor(cursor), PageRequest.of(0, size)));
+    }
+
+    public List<PostPreviewDto> getPostsByAccount(String account, int cursor) {
+        return toPreviewDtos(snapshotRepository.findByAccountAndPostIdLessThanOrderByPostIdDesc(
+                account, fromCursor(cursor), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    public List<PostPreviewDto> getPostsByUserId(Long userId, int cursor) {
+        return toPreviewDtos(snapshotRepository.findByUserIdAndPostIdLessThanOrderByPostIdDesc(
+                userId, fromCursor(cursor), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    public List<PostPreviewDto> getPostsByCategory(String account, String categoryName, int cursor) {
+        return toPreviewDtos(snapshotRepository.findByAccountAndCategoryNameAndPostIdLessThanOrderByPostIdDesc(
+                account, categoryName, fromCursor(cursor), PageRequest.of(0, PAGE_SIZE)));
+    }
+
+    /**
+     * pk 목록의 미리보기 조회 (검색 결과), 순서는 보장하지 않음
+     * */
+    public List<PostPreviewDto> getPostsByIds(List<Long> postIds) {
+        return toPreviewDtos(snapshotRepository.findAllById(postIds));
+    }
+
+    /**
+     * 게시글 작성/수정 후 미리보기 재생성
+     * 매개변수 : postId(게시글 pk), 대표 레이아웃(CONTEXTS)이 저장된 뒤 호출해야 함
+     * */
+    public void refresh(Long postId) {
+        refresh(List.of(postId));
+    }
+
+    public void delete(Long postId) {
+        if (snapshotRepository.existsById(postId)) snapshotRepository.deleteById(postId);
+    }
+
+    public void deleteByUserId(Long userId) {
+        snapshotRepository.deleteAllByUserId(userId);
+    }
+
+    public void addLikeCount(Long postId, long delta) {
+        snapshotRepository.addLikeCount(postId, delta);
+    }
+
+    /**
+     * 회원 탈퇴 시 회원이 누른 좋아요 수 만큼 미리보기의 좋아요 수 차감
+     * 매개변수 : userId(탈퇴 회원 pk), LIKES 행을 지우기 전에 호출해야 함
+     * */
+    public void subtractLikeCountsByUserId(Long userId) {
+        snapshotRepository.subtractLikeCountsByUserId(userId);
+    }
+
+    public void renameCategory(Category category) {
+        snapshotRepository.updateCategoryName(category.getId(), category.getName());
+    }
+
+    public void moveCategory(Category oldCategory, Category newCategory) {
+        snapshotRepository.moveCategory(oldCategory.getId(), newCategory.getId(), newCategory.getName());
+    }
+
+    public void updateWriter(User user) {
+        snapshotRepository.updateWriter(user.getId(), user.getName(), user.getImage());
+    }
+
+    /*
+    * 읽기 모델 도입 이전의 게시글, 갱신 누락분을 기동 시 채움
+    * */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void backfill() {
+        List<Long> missing = snapshotRepository.findMissingPostIds();
+        for (int from = 0; from < missing.size(); from += BACKFILL_BATCH) {
+            List<Long> batch = missing.subList(from, Math.min(from + BACKFILL_BATCH, missing.size()));
+            transactionTemplate.executeWithoutResult(status -> refresh(batch));
+        }
+        if (!missing.isEmpty()) log.info("post preview snapshots backfilled for {} posts", missing.size());
+    }
+
+    private void refresh(List<Long> postIds) {
+        Map<Long, PostPreviewDto> previews = postRepository.findPreviewsByIds(postIds).stream()
+                .collect(Collectors.toMap(dto -> dto.getPostDto().getId(), Function.identity()));
+        postRepository.findAllById(postIds).forEach(post -> {
+            PostPreviewDto preview = previews.get(post.getId());
+            if (preview != null) snapshotRepository.save(toSnapshot(post, preview));
+        });
+    }
+
+    private PostPreviewSnapshot toSnapshot(Post post, PostPreviewDto preview) {
+        PostPreviewSnapshot snapshot = new PostPreviewSnapshot();
+        snapshot.setPostId(post.getId());
+        snapshot.setTitle(post.getTitle());
+        snapshot.setTime(post.getTime());
+        snapshot.setUserId(post.getUser().getId());
+        snapshot.setAccount(post.getUser().getAccount());
+        snapshot.setUserName(post.getUser().getName());
+        snapshot.setUserImage(post.getUser().getImage());
+        if (post.getCategory() != null) {
+            snapshot.setCategoryId(post.getCategory().getId());
+            snapshot.setCategoryName(post.getCategory().getName());
+        }
+        snapshot.setHitCount(post.getHitCount());
+        snapshot.setLikeCount(post.getLikeCount());
+        snapshot.setMainLayout(writeLayout(preview.getLayoutDto()));
+        return snapshot;
+    }
+
+    /**
+     * 미리보기 행을 목록 응답용 PostPreviewDto로 변환 (리액티브 읽기 서버에서도 사용)
+     * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PostPreviewDto> toPreviewDtos(List<PostPreviewSnapshot> snapshots) {
+        return snapshots.stream().map(snapshot -> {
+            PostPreviewDto dto = new PostPreviewDto(snapshot.getPostId(), snapshot.getTitle(), snapshot.getTime(),
+                    snapshot.getUserName(), snapshot.getUserImage(), snapshot.getLikeCount(), snapshot.getHitCount());
+            dto.setLayoutDto(readLayout(snapshot.getMainLayout()));
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    private String writeLayout(LayoutDto layoutDto) {
+        if (layoutDto == null) return null;
+        try {
+            return objectMapper.writeValueAsString(layoutDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid Layout", e);
+        }
+    }
+
+    private LayoutDto readLayout(String json) {
+        if (json == null) return null;
+        try {
+            return objectMapper.readValue(json, LayoutDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid Layout", e);
+        }
+    }
+
+    private static long fromCursor(int cursor) {
+        return cursor == 0 ? Long.MAX_VALUE : cursor;
+    }
+}
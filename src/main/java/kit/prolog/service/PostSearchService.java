@@ -0,0 +1,302 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.service.leaderboard.ScoredPost;
+import kit.prolog.service.search.PostSearchIndex;
+import kit.prolog.service.search.SearchDocument;
+import kit.prolog.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+
+/*
+* 게시글 검색 (제목, 본문, 코드, 태그의 역색인, BM25 순위)
+* 게시글 작성/수정/삭제 커밋 후 해당 게시글만 다시 색인하고, 일정 주기로 로컬 디스크에 스냅샷 저장
+* 기동 시 별도 스레드에서 스냅샷을 불러와 DB와 게시글 pk를 대조하고, 스냅샷이 없거나 읽지 못하면 전체 재구성
+* 색인은 인스턴스마다 따로 가지므로 변경한 게시글 pk를 Redis 채널(search:posts)로 알리고, 다른 인스턴스는 받은 게시글을 다시 색인
+* 알림을 놓친 변경(Redis 장애, 재시작 중)은 매일 재구성 때 반영
+* */
+@Log4j2
+@Service
+public class PostSearchService {
+    private static final String POSTS_IN_RANGE =
+            "SELECT post_id, title FROM posts WHERE post_id >= ? AND post_id < ?";
+    private static final String CONTEXTS_IN_RANGE =
+            "SELECT post_post_id, context, code, code_explanation FROM contexts " +
+            "WHERE post_post_id >= ? AND post_post_id < ?";
+    private static final String TAGS_IN_RANGE =
+            "SELECT pt.post_post_id, t.name FROM posts_and_tags pt JOIN tags t ON t.tag_id = pt.tag_tag_id " +
+            "WHERE pt.post_post_id >= ? AND pt.post_post_id < ?";
+    public static final String CHANNEL = "search:posts";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final PostPreviewService postPreviewService;
+    private final TransactionTemplate primaryTransaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path indexPath;
+    private final int rangeSize;
+    // 자신이 보낸 알림을 구분하기 위한 인스턴스 id
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile PostSearchIndex index = new PostSearchIndex();
+    private volatile boolean rebuilding = false;
+    private final Set<Long> changedWhileRebuilding = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+
+    public PostSearchService(JdbcTemplate jdbcTemplate, StringRedisTemplate redisTemplate,
+                             PostPreviewService postPreviewService, PlatformTransactionManager transactionManager,
+                             @Value("${prolog.search.index-path:./data/search-index.bin}") String indexPath,
+                             @Value("${prolog.search.range-size:1000}") int rangeSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.redisTemplate = redisTemplate;
+        this.postPreviewService = postPreviewService;
+        // 커밋 직후 색인은 방금 쓴 내용을 읽어야 하므로 레플리카로 가지 않는 새 트랜잭션에서 조회
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexPath = Paths.get(indexPath);
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * 게시글 작성/수정 후 색인 갱신 (커밋 후 실행)
+     * */
+    public void indexed(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            reindex(postId);
+            publish(postId);
+        });
+    }
+
+    public void deleted(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            if (rebuilding) changedWhileRebuilding.add(postId);
+            index.remove(postId);
+            dirty.set(true);
+            publish(postId);
+        });
+    }
+
+    /**
+     * 다른 인스턴스의 변경 알림 처리 (RedisConfig의 구독 컨테이너에서 호출)
+     * 매개변수 : message("인스턴스 id:게시글 pk"), 게시글을 DB에서 다시 읽어 수정/삭제 모두 반영
+     * */
+    public void changedElsewhere(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator < 0 || message.substring(0, separator).equals(instanceId)) return;
+        try {
+            reindex(Long.valueOf(message.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("invalid search index message : {}", message);
+        }
+    }
+
+    /**
+     * 게시글 검색
+     * 매개변수 : keyword(검색어), score, last(이전 페이지 마지막 게시글의 점수와 pk, 첫 페이지는 null)
+     * 반환 : 점수 순서의 List<PostPreviewDto>, score에 BM25 점수(x1000)를 담아 다음 cursor로 사용
+     * */
+    public List<PostPreviewDto> searchPosts(String keyword, Long score, Long last) {
+        return searchPosts(keyword, score, last, PAGE_SIZE);
+    }
+
+    public List<PostPreviewDto> searchPosts(String keyword, Long score, Long last, int size) {
+        ScoredPost cursor = score == null || last == null ? null : new ScoredPost(last, score);
+        List<ScoredPost> hits = index.search(keyword, cursor, size);
+        if (hits.isEmpty()) return new ArrayList<>();
+
+        Map<Long, PostPreviewDto> previews = postPreviewService
+                .getPostsByIds(hits.stream().map(ScoredPost::getPostId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(dto -> dto.getPostDto().getId(), Function.identity()));
+
+        List<PostPreviewDto> searchedPosts = new ArrayList<>();
+        hits.forEach(hit -> {
+            PostPreviewDto preview = previews.get(hit.getPostId());
+            if (preview == null) return;
+            preview.setScore(hit.getScore());
+            searchedPosts.add(preview);
+        });
+        return searchedPosts;
+    }
+
+    /*
+    * 스냅샷 읽기/재구성이 기동을 막지 않도록 별도 스레드에서 실행, 끝나기 전의 검색은 빈 결과
+    * */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread loader = new Thread(this::load, "search-index-load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 스냅샷을 불러와 DB와 대조, 스냅샷이 없거나 읽지 못하면 전체 재구성
+     * 불러오는 중 변경된 게시글은 교체 후 다시 색인
+     * */
+    public synchronized void load() {
+        if (Files.exists(indexPath)) {
+            changedWhileRebuilding.clear();
+            rebuilding = true;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath)))) {
+                PostSearchIndex loaded = PostSearchIndex.readFrom(in);
+                reconcile(loaded);
+                swap(loaded);
+                log.info("search index loaded from {} ({} posts)", indexPath, index.size());
+                return;
+            } catch (IOException | RuntimeException e) {
+                rebuilding = false;
+                log.warn("search index snapshot unreadable, rebuilding", e);
+            }
+        }
+        rebuild();
+    }
+
+    /**
+     * 전체 재구성
+     * 새 색인을 만든 뒤 교체하며, 재구성 중 변경된 게시글은 교체 후 다시 색인
+     * */
+    @Scheduled(cron = "${prolog.search.rebuild-cron:0 0 4 * * *}")
+    public synchronized void rebuild() {
+        changedWhileRebuilding.clear();
+        rebuilding = true;
+        PostSearchIndex rebuilt = new PostSearchIndex();
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(post_id) FROM posts", Long.class);
+            if (maxId != null) {
+                for (long start = 1L; start <= maxId; start += rangeSize) {
+                    long from = start, to = start + rangeSize;
+                    readOnlyTransaction.execute(status -> load(from, to)).forEach(rebuilt::index);
+                }
+            }
+        } catch (DataAccessException e) {
+            rebuilding = false;
+            log.warn("search index rebuild failed", e);
+            return;
+        }
+        swap(rebuilt);
+        snapshot();
+        log.info("search index rebuilt ({} posts)", index.size());
+    }
+
+    @Scheduled(fixedDelayString = "${prolog.search.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!dirty.getAndSet(false)) return;
+        try {
+            if (indexPath.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            }
+            Path temp = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                index.writeTo(out);
+            }
+            Files.move(temp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("search index snapshot failed : {}", indexPath, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        snapshot();
+    }
+
+    /*
+    * 새 색인으로 교체한 뒤 교체 전까지 변경된 게시글을 새 색인에 다시 반영
+    * */
+    private void swap(PostSearchIndex replacement) {
+        index = replacement;
+        rebuilding = false;
+        new ArrayList<>(changedWhileRebuilding).forEach(postId -> reindex(index, postId));
+        changedWhileRebuilding.clear();
+        dirty.set(true);
+    }
+
+    private void reindex(Long postId) {
+        if (rebuilding) changedWhileRebuilding.add(postId);
+        reindex(index, postId);
+    }
+
+    private void reindex(PostSearchIndex target, Long postId) {
+        try {
+            List<SearchDocument> documents = primaryTransaction.execute(status -> load(postId, postId + 1));
+            if (documents.isEmpty()) target.remove(postId);
+            else target.index(documents.get(0));
+            dirty.set(true);
+        } catch (DataAccessException e) {
+            // 색인 실패는 게시글 저장에 영향을 주지 않으며 다음 재구성으로 복구
+            log.warn("search index update failed, post : {}", postId, e);
+        }
+    }
+
+    private void publish(Long postId) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, instanceId + ":" + postId);
+        } catch (DataAccessException e) {
+            log.warn("search index change publish failed, post : {}", postId, e);
+        }
+    }
+
+    /*
+    * 스냅샷 이후 추가/삭제된 게시글 반영 (수정분은 재구성으로 반영)
+    * */
+    private void reconcile(PostSearchIndex loaded) {
+        Set<Long> postIds = new HashSet<>(jdbcTemplate.queryForList("SELECT post_id FROM posts", Long.class));
+        Set<Long> indexedIds = loaded.postIds();
+        indexedIds.stream().filter(postId -> !postIds.contains(postId)).forEach(loaded::remove);
+        postIds.stream().filter(postId -> !indexedIds.contains(postId)).forEach(postId -> reindex(loaded, postId));
+    }
+
+    private List<SearchDocument> load(long from, long to) {
+        Map<Long, SearchDocument> documents = new LinkedHashMap<>();
+        jdbcTemplate.query(POSTS_IN_RANGE, rs -> {
+            long postId = rs.getLong("post_id");
+            documents.put(postId, new SearchDocument(postId, rs.getString("title")));
+        }, from, to);
+        if (documents.isEmpty()) return new ArrayList<>();
+
+        jdbcTemplate.query(CONTEXTS_IN_RANGE, rs -> {
+            SearchDocument document = documents.get(rs.getLong("post_post_id"));
+            if (document == null) return;
+            addIfPresent(document.getContexts(), rs.getString("context"));
+            addIfPresent(document.getCodes(), rs.getString("code"));
+            addIfPresent(document.getCodes(), rs.getString("code_explanation"));
+        }, from, to);
+        jdbcTemplate.query(TAGS_IN_RANGE, rs -> {
+            SearchDocument document = documents.get(rs.getLong("post_post_id"));
+            if (document != null) document.getTags().add(rs.getString("name"));
+        }, from, to);
+        return new ArrayList<>(documents.values());
+    }
+
+    private static void addIfPresent(List<String> texts, String text) {
+        if (text != null && !text.isBlank()) texts.add(text);
+    }
+}
@@ -4,6 +4,7 @@ import kit.prolog.domain.*;
 import kit.prolog.dto.*;
 import kit.prolog.enums.LayoutType;
 import kit.prolog.repository.jpa.*;
+import kit.prolog.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.PageRequest;
@@ -11,12 +12,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static kit.prolog.config.datasource.ReplicaRoutingDataSource.readFromPrimary;
+
 /*
 * 게시글 API 비즈니스 로직
 * 게시글 CRUD, 좋아요/취소, 다양한 화면에서의 목록 조회
@@ -37,7 +41,20 @@ public class PostService {
     private final PostTagRepository postTagRepository;
     private final CommentRepository commentRepository;
     private final HitRepository hitRepository;
+    private final HitDailyRepository hitDailyRepository;
     private final ContextRepository contextRepository;
+    private final HitCountBuffer hitCountBuffer;
+    private final HotPostService hotPostService;
+    private final PostPreviewService postPreviewService;
+    private final FeedCacheService feedCacheService;
+    private final PostDetailDocumentService postDetailDocumentService;
+    private final UniqueVisitorService uniqueVisitorService;
+    private final ContentVersionService contentVersionService;
+    private final PostSearchService postSearchService;
+    private final TagSuggestService tagSuggestService;
+    private final TagPostService tagPostService;
+
+    private final SingleFlight<Long, PostDetailDto> postDetailFlight = new SingleFlight<>();
 
     private final int POST_WRITE = 1;
     private final int POST_UPDATE = 2;
@@ -73,6 +90,7 @@ public class PostService {
     * 매개변수 : userId(회원 pk), moldId(레이아웃 틀 pk)
     * 반환 : MoldWithLayoutsDto (레이아웃 틀과 하위 레이아웃들을 포함한 레이아웃 틀)
     * */
+    @Transactional(readOnly = true)
     public MoldWithLayoutsDto viewLayoutsByMold(Long userId, Long moldId) throws NullPointerException, AccessDeniedException{
         if (!checkMoldPermissions(userId, moldId)) throw new AccessDeniedException("No Permissions");
 
@@ -87,6 +105,7 @@ public class PostService {
     * 매개변수 : userId(회원 pk)
     * 반환 : List<MoldDto>
     * */
+    @Transactional(readOnly = true)
     public List<MoldDto> viewMyMolds(Long userId){
         return moldRepository.findByUser_Id(userId);
     }
@@ -102,6 +121,8 @@ public class PostService {
 
         Optional<Mold> mold = moldRepository.findById(moldId);
         if(mold.isEmpty())  throw new NullPointerException("No Appropriate Data");
+        // 상세 문서에 담긴 레이아웃 틀 pk가 바뀌므로 다음 조회 때 다시 만들도록 함
+        postRepository.increaseRevisionByMoldId(moldId);
         List<Post> postList = postRepository.findByMold_Id(moldId);
         List<Layout> layoutList = layoutRepository.findByMold_Id(moldId);
         postList.forEach(post -> {
@@ -143,6 +164,12 @@ public class PostService {
         setMainLayout(layoutDtos);
         writeContexts(layoutDtos, savedPost);
         saveOption(param, savedPost, POST_WRITE);
+        postPreviewService.refresh(savedPost.getId());
+        postDetailDocumentService.rebuild(savedPost.getId());
+        postSearchService.indexed(savedPost.getId());
+        feedCacheService.evictRecent();
+        contentVersionService.increaseFeedVersion();
+        contentVersionService.increaseCategoryVersion(user.get().getAccount());
 
         return savedPost.getId();
     }
@@ -152,8 +179,10 @@ public class PostService {
     * 매개변수 : account(사용자 계정), categoryName(카테고리명), cursor(마지막 게시글 pk)
     * 반환 : List<PostPreviewDto>
     * */
+    @Transactional(readOnly = true)
     public List<PostPreviewDto> viewPostsByCategory(String account, String categoryName, int cursor){
-        return postRepository.findPostByCategoryName(account, categoryName, cursor);
+        // 카테고리 목록 ETag가 바뀐 뒤 지연된 레플리카의 이전 목록을 응답하지 않도록 프라이머리에서 조회
+        return readFromPrimary(() -> postPreviewService.getPostsByCategory(account, categoryName, cursor));
     }
 
     /**
@@ -164,51 +193,72 @@ public class PostService {
     *                       카테고리(pk, name), 첨부파일 리스트(pk,이름,url), 태그 리스트(이름),
     *                       조회수, 좋아요(count, exist), 댓글(id, 작성자, 내용, 작성일자, 상위댓글, block 여부)
     * 에러처리 :
-    * QueryDSL : 게시글을 기준으로 카테고리, 회원, 레이아웃 틀, 조회수 데이터를 조회
-    * Spring JPA : 댓글, 좋아요 , 첨부파일(리스트), 태그(리스트), 레이아웃(리스트)는 별도 쿼리로 조회하여 전달
+    * 상세 문서 : 작성자, 카테고리, 레이아웃, 첨부파일, 태그는 POST_DETAILS의 문서를 pk로 조회
+    * 실시간 값 : 조회수/좋아요 수(POSTS 카운터), 좋아요 여부, 작성자 여부는 요청마다 문서에 덧씌움
+    * 동시 조회 : 같은 게시글의 동시 요청은 문서/카운터 조회를 한 번만 실행하고 결과를 공유
+    * 조회수 : HitCountBuffer에 누적 후 스케줄러가 일괄 반영, 아직 반영되지 않은 조회수를 더해서 반환
+    * 순 방문자 : visitor(회원 pk 또는 클라이언트 IP 기반 키)를 게시글/작성자별 일간 스케치에 기록
     * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PostDetailDto viewPostDetailById(Long userId, Long postId) throws NullPointerException{
-        Hit savedHit = hitRepository.save(new Hit(LocalDateTime.now(), new Post(postId)));
-        PostDetailDto postDetailDto = postRepository.findPostById(postId);
-        if (postDetailDto == null) throw new NullPointerException("No Post Data");
-        boolean exist;
-        int likeCount = likeRepository.countByPost_Id(postId);
-        Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "time"));
-
-        List<AttachmentDto> attachmentList = attachmentRepository.findByPost_Id(postId);
-        List<String> tagList = new ArrayList<>();
-        List<String> optionalTagName = postTagRepository.findTagNameByPost_Id(postId);
-        if(!optionalTagName.isEmpty())
-            tagList.addAll(optionalTagName);
-
-        //레이아웃 가져오기
-        List<LayoutDto> layoutList = postRepository.selectDetailLayout(postId);
-        Map<Long, LayoutDto> layoutId = new HashMap<>();
-        layoutList.forEach(layout -> {
-            if(layout.getDtype() == LayoutType.IMAGE.getValue()){
-                if(layoutId.containsKey(layout.getId())){
-                    layoutId.get(layout.getId()).addUrl(layout);
-                }else {
-                    layoutId.put(layout.getId(), layout);
-                }
-            }else{
-                layoutId.put(layout.getId(), layout);
-            }
-        });
-
-        LikeDto like = new LikeDto(likeCount);
+        String visitor = userId == null ? null : UniqueVisitorService.userVisitor(userId);
+        return viewPostDetailById(userId, postId, visitor);
+    }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PostDetailDto viewPostDetailById(Long userId, Long postId, String visitor) throws NullPointerException{
+        // 같은 게시글의 동시 조회는 한 번만 읽어 공유, 기다리는 동안 커넥션을 잡지 않도록 트랜잭션 밖에서 실행
+        PostDetailDto shared = postDetailFlight.execute(postId, () -> loadPostDetail(postId));
+        PostDetailDto postDetailDto = new PostDetailDto(shared);
+
+        // 회원별, 실시간 값을 덧씌움
+        postDetailDto.setHits(recordPostView(postId, postDetailDto.getWriterId(), shared.getHits(), visitor));
+        LikeDto like = new LikeDto(shared.getLikeDto().getCount());
         if (userId != null) {
-            exist = likeRepository.existsByUser_IdAndPost_Id(userId, postId);
-            like.setExist(exist);
+            like.setExist(likeRepository.existsByUser_IdAndPost_Id(userId, postId));
         }
         postDetailDto.setLikeDto(like);
-        postDetailDto.setAttachmentDto(attachmentList);
-        postDetailDto.setTags(tagList);
-        postDetailDto.setLayoutDto(new ArrayList<>(layoutId.values()));
+        postDetailDto.setIsPostWriter(postDetailDto.getWriterId().equals(userId));
 
         return postDetailDto;
     }
 
+    /**
+     * 게시글 상세 조건부 조회용 실시간 값
+     * 매개변수 : postId(게시글 pk)
+     * 반환 : revision, 조회수, 좋아요 수, 작성자 pk (상세 문서를 읽지 않음)
+     * */
+    @Transactional(readOnly = true)
+    public PostRepository.DetailCounters findPostDetailCounters(Long postId) throws NullPointerException {
+        return postRepository.findDetailCountersById(postId)
+                .orElseThrow(() -> new NullPointerException("No Post Data"));
+    }
+
+    /**
+     * 게시글 조회 기록 (조회수, 순 방문자)
+     * 매개변수 : postId(게시글 pk), writerId(작성자 pk), hitCount(DB에 반영된 조회수), visitor(방문자 키)
+     * 반환 : 아직 반영되지 않은 조회수를 더한 조회수
+     * 본문을 응답하지 않는 304 응답에서도 조회수를 올리기 위해 상세조회와 분리
+     * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long recordPostView(Long postId, Long writerId, Long hitCount, String visitor) {
+        hitCountBuffer.record(postId);
+        uniqueVisitorService.recordVisit(postId, writerId, visitor);
+        return hitCount + hitCountBuffer.pending(postId);
+    }
+
+    /*
+    * 회원과 무관한 상세 내용, 상세 문서에 DB의 조회수/좋아요 수를 담아 반환
+    * */
+    private PostDetailDto loadPostDetail(Long postId) {
+        PostRepository.DetailCounters counters = postRepository.findDetailCountersById(postId)
+                .orElseThrow(() -> new NullPointerException("No Post Data"));
+        PostDetailDto postDetailDto = postDetailDocumentService.get(postId, counters.getRevision());
+        if (postDetailDto == null) throw new NullPointerException("No Post Data");
+        postDetailDto.setHits(counters.getHitCount());
+        postDetailDto.setLikeDto(new LikeDto(counters.getLikeCount().intValue()));
+        return postDetailDto;
+    }
+
 
     /**
      * 게시글 수정 API
@@ -235,8 +285,15 @@ public class PostService {
         Post savedPost = postRepository.save(post);
 
         setMainLayout(layoutDtos);
-        writeContexts(layoutDtos, savedPost);
+        updateContexts(layoutDtos, savedPost);
         saveOption(param, savedPost, POST_UPDATE);
+        postRepository.increaseRevision(savedPost.getId());
+        postPreviewService.refresh(savedPost.getId());
+        postDetailDocumentService.rebuild(savedPost.getId());
+        postSearchService.indexed(savedPost.getId());
+        feedCacheService.evictAll();
+        contentVersionService.increaseFeedVersion();
+        contentVersionService.increaseCategoryVersion(savedPost.getUser().getAccount());
 
         return savedPost.getId();
     }
@@ -255,39 +312,33 @@ public class PostService {
         likeRepository.deleteAllByPost_Id(postId);
         commentRepository.deleteAllByPost_Id(postId);
         hitRepository.deleteAllByPost_Id(postId);
+        hitDailyRepository.deleteAllByPost_Id(postId);
         attachmentRepository.deleteAllByPost_Id(postId);
+        List<String> tagNames = postTagRepository.findTagNameByPost_Id(postId);
+        tagSuggestService.untagged(tagNames);
+        tagPostService.untagged(postId, tagNames);
         postTagRepository.deleteAllByPost_Id(postId);
         contextRepository.deleteAllByPost_Id(postId);
         postRepository.deleteById(postId);
+        hitCountBuffer.discard(postId);
+        postPreviewService.delete(postId);
+        postDetailDocumentService.delete(postId);
+        hotPostService.deleted(postId);
+        postSearchService.deleted(postId);
+        feedCacheService.evictAll();
+        contentVersionService.increaseFeedVersion();
+        contentVersionService.increaseCategoryVersion(post.get().getUser().getAccount());
     }
 
     /**
      * 태그 조회 API
-     * 매개변수 : tagName(태그 이름)
-     * 반환 : List<String>
+     * 매개변수 : tagName(입력 중인 태그 이름)
+     * 반환 : List<String>, 사용한 게시글이 많은 순 자동완성 결과 (DB를 조회하지 않음)
      * 발생 가능 에러 :
      * */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<String> findTagByName(String tagName){
-        return tagRepository.findByNameStartingWith(tagName)
-                .stream().map(Tag::getName).collect(Collectors.toList());
-    }
-
-    /**
-    * 게시글 좋아요 API
-    * 매개변수 : postId(게시글 pk), userId(사용자 pk)
-    * 반환 : boolean
-    * 발생 가능 에러 : DataIntegrityViolationException(잘못된 데이터가 바인딩 되었을 때 발생)
-    * */
-    public boolean likePost(Long userId, Long postId) throws NullPointerException{
-        if (postRepository.findById(postId).isEmpty()) throw new NullPointerException("No Such Post");
-        Optional<Like> like = likeRepository.findByUser_IdAndPost_Id(userId, postId);
-        if (like.isPresent()) {
-            likeRepository.delete(like.get());
-        } else {
-            Like myLike = new Like(new User(userId), new Post(postId));
-            likeRepository.save(myLike);
-        }
-        return true;
+        return tagSuggestService.suggest(tagName);
     }
 
     /**
@@ -309,7 +360,11 @@ public class PostService {
      * */
     public String deleteFile(String fileName){
         Optional<Attachment> attachment = attachmentRepository.findByName(fileName);
-        attachment.ifPresent(attachmentRepository::delete);
+        attachment.ifPresent(file -> {
+            // 게시글에 연결된 첨부파일이면 상세 문서를 다음 조회 때 다시 만들도록 함
+            if (file.getPost() != null) postRepository.increaseRevision(file.getPost().getId());
+            attachmentRepository.delete(file);
+        });
         return attachment.isPresent() ? attachment.get().getName() : "";
     }
 
@@ -318,11 +373,13 @@ public class PostService {
      * 매개변수 : userId(사용자 pk), cursor(페이지 번호)
      * 반환 : List<PostPreviewDto>
      * */
+    @Transactional(readOnly = true)
     public List<PostPreviewDto> getMyPostList(String account, int cursor){
-        return postRepository.findMyPostByUserId(account, cursor);
+        return postPreviewService.getPostsByAccount(account, cursor);
     }
+    @Transactional(readOnly = true)
     public List<PostPreviewDto> getMyPostList(Long userId, int cursor){
-        return postRepository.findMyPostByUserId(userId, cursor);
+        return postPreviewService.getPostsByUserId(userId, cursor);
     }
 
     /**
@@ -330,42 +387,48 @@ public class PostService {
      * 매개변수 : userId(사용자 pk), account(계정명), cursor(페이지 번호)
      * 반환 : List<PostPreviewDto>
      * */
+    @Transactional(readOnly = true)
     public List<PostPreviewDto> getLikePostList(Long userId, String account, int cursor){
         Optional<User> user = userRepository.findById(userId);
         if (user.isEmpty()) throw new NullPointerException("No User Data");
         if (!user.get().getAccount().equals(account)) throw new IllegalArgumentException("No Permission");
         return postRepository.findLikePostByAccount(account, cursor);
     }
+    @Transactional(readOnly = true)
     public List<PostPreviewDto> getLikePostList(Long userId, int cursor){
         return postRepository.findLikePostByAccount(userId, cursor);
     }
 
     /**
-     * 전체 게시글 목록 조회 API
-     * 최근 날짜동안의 좋아요 상승률 내림차순으로 게시글 검색
+     * 최근 게시글 목록 조회 API
      * 매개변수 : cursor(페이지 번호)
      * 반환 : List<PostPreviewDto>
      * */
-    public List<PostPreviewDto> getHottestPostList(int cursor){
-        return postRepository.findHottestPosts(cursor);
+    @Transactional(readOnly = true)
+    public List<PostPreviewDto> getRecentPostList(int cursor){
+        // 무효화된 피드 캐시를 지연된 레플리카로 다시 채우지 않도록 프라이머리에서 조회
+        return readFromPrimary(() -> feedCacheService.getRecentPosts(cursor));
     }
 
     /**
-     * 최근 게시글 목록 조회 API
-     * 매개변수 : cursor(페이지 번호)
+     * 태그별 게시글 목록 조회 API
+     * 매개변수 : tagNames(태그 이름, 여러 개면 모든 태그가 달린 게시글), cursor(마지막 게시글 pk)
      * 반환 : List<PostPreviewDto>
      * */
-    public List<PostPreviewDto> getRecentPostList(int cursor){
-        return postRepository.findRecentPosts(cursor);
+    @Transactional(readOnly = true)
+    public List<PostPreviewDto> getPostsByTags(List<String> tagNames, int cursor){
+        // 태그 목록은 커밋 직후 반영되므로 아직 레플리카에 없는 게시글이 빠지지 않도록 프라이머리에서 조회
+        return readFromPrimary(() -> tagPostService.getPostsByTags(tagNames, cursor));
     }
 
     /**
      * 게시글 검색 API
-     * 매개변수 : keyword(검색 키워드), cursor(페이지 번호)
-     * 반환 : List<PostPreviewDto>
+     * 매개변수 : keyword(검색 키워드), score, last(이전 페이지 마지막 게시글의 점수와 pk, 첫 페이지는 null)
+     * 반환 : 검색 점수 순 List<PostPreviewDto>
      * */
-    public List<PostPreviewDto> searchPosts(String keyword, int cursor){
-        return postRepository.searchPosts(keyword, cursor);
+    @Transactional(readOnly = true)
+    public List<PostPreviewDto> searchPosts(String keyword, Long score, Long last){
+        return postSearchService.searchPosts(keyword, score, last);
     }
 
     /**
@@ -397,12 +460,75 @@ public class PostService {
         }
     }
     /**
-     * 게시글 작성 & 수정
+     * 게시글 작성
      * Layout과 Context 저장
+     * 레이아웃 UPDATE와 Context INSERT는 flush 때 JDBC batch로 묶어서 실행
      * */
     private void writeContexts(List<LayoutDto> layoutDtos, Post savedPost){
+        List<String> attachmentUrls = new ArrayList<>();
+        List<Context> contexts = new ArrayList<>();
+        toContexts(layoutDtos, savedPost, attachmentUrls).values().forEach(contexts::addAll);
+        if (!contexts.isEmpty()) contextRepository.saveAll(contexts);
+        if (!attachmentUrls.isEmpty()) attachmentRepository.updatePostByUrlIn(savedPost, attachmentUrls);
+    }
+
+    /**
+     * 게시글 수정
+     * 기존 Context를 한 번에 불러와 레이아웃별로 새 내용과 맞추고 (url이 같은 행 먼저, 나머지는 순서대로)
+     * 내용이 바뀐 행만 UPDATE, 모자란 행은 INSERT, 남는 행과 빠진 레이아웃의 행은 한 문장으로 DELETE
+     * 빠진 레이아웃은 레이아웃 틀에 속하지 않고 다른 Context가 가리키지 않으면 함께 DELETE
+     * 레이아웃마다 이미지 url 수(이미지가 아니면 1개)만큼만 Context가 남으므로 수정할수록 행이 쌓이지 않음
+     * */
+    private void updateContexts(List<LayoutDto> layoutDtos, Post savedPost){
+        List<String> attachmentUrls = new ArrayList<>();
+        Map<Long, List<Context>> contexts = toContexts(layoutDtos, savedPost, attachmentUrls);
+        Map<Long, List<Context>> savedContexts = new HashMap<>();
+        contextRepository.findByPost_IdOrderByIdAsc(savedPost.getId()).forEach(context -> savedContexts
+                .computeIfAbsent(context.getLayout() == null ? null : context.getLayout().getId(), id -> new ArrayList<>())
+                .add(context));
+
+        List<Context> inserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        contexts.forEach((layoutId, layoutContexts) -> {
+            List<Context> saved = new ArrayList<>(savedContexts.getOrDefault(layoutId, new ArrayList<>()));
+            savedContexts.remove(layoutId);
+            // 이미지 순서만 바뀐 경우 url이 같은 행을 그대로 두어 UPDATE가 없도록 함
+            List<Context> unmatched = new ArrayList<>();
+            for (Context context : layoutContexts) {
+                int same = -1;
+                for (int i = 0; context.getUrl() != null && i < saved.size() && same < 0; i++) {
+                    if (context.getUrl().equals(saved.get(i).getUrl())) same = i;
+                }
+                if (same < 0) unmatched.add(context);
+                else saved.remove(same).updateContent(context);
+            }
+            for (int i = 0; i < unmatched.size(); i++) {
+                if (i < saved.size()) saved.get(i).updateContent(unmatched.get(i));
+                else inserted.add(unmatched.get(i));
+            }
+            for (int i = unmatched.size(); i < saved.size(); i++) deleted.add(saved.get(i).getId());
+        });
+        savedContexts.values().forEach(saved -> saved.forEach(context -> deleted.add(context.getId())));
+        List<Long> droppedLayoutIds = savedContexts.keySet().stream().filter(Objects::nonNull).collect(Collectors.toList());
+
+        if (!deleted.isEmpty()) contextRepository.deleteAllByIdInBatch(deleted);
+        if (!droppedLayoutIds.isEmpty()) layoutRepository.deleteOrphansByIdIn(droppedLayoutIds);
+        if (!inserted.isEmpty()) contextRepository.saveAll(inserted);
+        if (!attachmentUrls.isEmpty()) attachmentRepository.updatePostByUrlIn(savedPost, attachmentUrls);
+    }
+
+    /**
+     * 게시글 작성 & 수정
+     * 레이아웃을 IN 조회 한 번으로 불러와 위치/크기/설명을 반영하고, 레이아웃별로 저장할 Context 생성
+     * 반환 : 레이아웃 pk별 Context 리스트 (이미지는 url마다 하나, 나머지는 하나), 링크/영상/문서 url은 attachmentUrls에 추가
+     * */
+    private Map<Long, List<Context>> toContexts(List<LayoutDto> layoutDtos, Post savedPost, List<String> attachmentUrls){
+        Map<Long, List<Context>> contexts = new LinkedHashMap<>();
+        Map<Long, Layout> layouts = layoutRepository.findAllById(layoutDtos.stream()
+                        .map(LayoutDto::getId).filter(Objects::nonNull).collect(Collectors.toList()))
+                .stream().collect(Collectors.toMap(Layout::getId, layout -> layout));
         layoutDtos.forEach(layoutDto -> {
-            layoutRepository.findLayoutById(layoutDto.getId()).ifPresent(layout -> {
+            Optional.ofNullable(layouts.get(layoutDto.getId())).ifPresent(layout -> {
                 layout.setExplanation(layoutDto.getExplanation());
                 layout.setCoordinateX(layoutDto.getCoordinateX());
                 layout.setCoordinateY(layoutDto.getCoordinateY());
@@ -433,51 +559,77 @@ public class PostService {
                     case VIDEOS:
                     case DOCUMENTS:
                         context.setUrl(layoutDto.getContent());
-                        Optional<Attachment> optional = attachmentRepository.findByUrl(layoutDto.getContent());
-                        optional.ifPresent(attachment -> {
-                            attachment.setPost(savedPost);
-                            attachmentRepository.save(attachment);
-                        });
+                        attachmentUrls.add(layoutDto.getContent());
                         break;
                 }
-                layoutRepository.save(layout);
                 if(contextList.isEmpty()){
-                    contextRepository.save(context);
-                }else{
-                    contextList.forEach(contextRepository::save);
+                    contextList.add(context);
                 }
+                contexts.computeIfAbsent(layout.getId(), id -> new ArrayList<>()).addAll(contextList);
             });
         });
+        return contexts;
     }
 
     /**
      * 게시글 작성&수정
      * 태그와 첨부파일 저장
+     * 태그 조회/생성, 게시글-태그 연결, 첨부파일 연결을 태그/첨부파일 개수와 관계없이 각각 한두 문장으로 처리
+     * 수정 시에는 기존 태그와 비교하여 빠진 태그 연결만 삭제하고 새 태그만 연결
      * */
     private void saveOption(HashMap<String, Object> param, Post savedPost, final int methodType){
         if (!param.isEmpty()){
             if(param.containsKey("tags")){
-                List<String> tagList = (List<String>) param.get("tags");
-                if(methodType == POST_UPDATE)   postTagRepository.deleteAllByPost_Id(savedPost.getId());
-                tagList.forEach(tag -> {
-                    Optional<Tag> optionalTag = tagRepository.findByName(tag);
-                    if(!optionalTag.isPresent()) {
-                        optionalTag = Optional.of(tagRepository.save(new Tag(tag)));
-                    }
-                    PostTag postTag = new PostTag(savedPost, optionalTag.get());
-                    postTagRepository.save(postTag);
-                });
+                // 태그 이름은 DB collation(대소문자 무시) 기준으로 중복 제거, 처음 입력한 표기를 유지
+                Map<String, String> uniqueTags = new LinkedHashMap<>();
+                ((List<String>) param.get("tags"))
+                        .forEach(name -> uniqueTags.putIfAbsent(name.toLowerCase(Locale.ROOT), name));
+                List<String> tagList = new ArrayList<>(uniqueTags.values());
+                if(methodType == POST_UPDATE) {
+                    List<String> tagNames = postTagRepository.findTagNameByPost_Id(savedPost.getId());
+                    // 태그 이름 비교는 DB collation(대소문자 무시)과 같게
+                    Set<String> saved = tagNames.stream().map(name -> name.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+                    Set<String> submitted = tagList.stream().map(name -> name.toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+                    List<String> removed = tagNames.stream()
+                            .filter(name -> !submitted.contains(name.toLowerCase(Locale.ROOT)))
+                            .collect(Collectors.toList());
+                    tagList = tagList.stream()
+                            .filter(name -> !saved.contains(name.toLowerCase(Locale.ROOT)))
+                            .collect(Collectors.toList());
+                    if (!removed.isEmpty()) postTagRepository.deleteByPost_IdAndTagNameIn(savedPost.getId(), removed);
+                    tagSuggestService.untagged(removed);
+                    tagPostService.untagged(savedPost.getId(), removed);
+                }
+                List<Long> tagIds = findOrCreateTags(tagList).stream().map(Tag::getId).collect(Collectors.toList());
+                postTagRepository.insertAll(savedPost.getId(), tagIds);
+                tagSuggestService.tagged(tagList);
+                tagPostService.tagged(savedPost.getId(), tagList);
             }
             if(param.containsKey("attachment")){
                 List<AttachmentDto> attachmentDtos = (List<AttachmentDto>) param.get("attachment");
-                attachmentDtos.forEach(attachment -> {
-                    Optional<Attachment> optional = attachmentRepository.findByName(attachment.getName());
-                    if(optional.isPresent()) {
-                        optional.get().setPost(savedPost);
-                        attachmentRepository.save(optional.get());
-                    }
-                });
+                List<String> attachmentNames = attachmentDtos.stream()
+                        .map(AttachmentDto::getName).collect(Collectors.toList());
+                if (!attachmentNames.isEmpty()) attachmentRepository.updatePostByNameIn(savedPost, attachmentNames);
             }
         }
     }
+
+    /**
+     * 게시글 작성&수정
+     * 태그 이름들을 IN 조회 한 번으로 찾고, 없는 태그만 INSERT IGNORE 한 문장으로 추가한 뒤 다시 조회
+     * 같은 태그를 동시에 만드는 요청이 있어도 unique key 충돌 없이 먼저 저장된 태그를 사용
+     * */
+    private List<Tag> findOrCreateTags(List<String> tagNames){
+        if (tagNames.isEmpty()) return new ArrayList<>();
+        List<Tag> tags = tagRepository.findByNameIn(tagNames);
+        // 태그 이름 비교는 DB collation(대소문자 무시)과 같게
+        Set<String> found = tags.stream().map(tag -> tag.getName().toLowerCase(Locale.ROOT)).collect(Collectors.toSet());
+        List<String> missing = tagNames.stream()
+                .filter(name -> !found.contains(name.toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) return tags;
+
+        tagRepository.insertIgnore(missing);
+        return tagRepository.findByNameIn(tagNames);
+    }
 }
@@ -1,24 +1,105 @@
 package kit.prolog.service;
+import kit.prolog.dto.StatisticsBucketsDto;
 import kit.prolog.dto.StatisticsDto;
+import kit.prolog.enums.StatisticsGranularity;
 import kit.prolog.repository.custom.StatisticsCustomRepository;
+import kit.prolog.repository.jpa.PostRepository;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-@Transactional
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Transactional(readOnly = true)
 @Service
 @Slf4j
 @AllArgsConstructor
 public class StatisticService {
+    private static final int RECENT_DAYS = 10;
+    private static final int MAX_BUCKETS = 1000;
 
     StatisticsCustomRepository statisticsCustomRepository;
+    PostRepository postRepository;
+    UniqueVisitorService uniqueVisitorService;
 
+    /**
+     * (구)게시글 통계 API - 올해 월별 조회수
+     * 구간 통계를 월 단위로 조회하여 StatisticsDto로 변환
+     * */
     public StatisticsDto viewStatisticByPostId(Long userId, Long postId){
-        return statisticsCustomRepository.findStatisticByPostId(userId, postId);
+        int year = LocalDate.now().getYear();
+        StatisticsBucketsDto monthly = viewStatistics(userId, postId,
+                LocalDate.of(year, 1, 1), LocalDate.of(year + 1, 1, 1), StatisticsGranularity.MONTH);
+        StatisticsBucketsDto recent = viewStatistics(userId, postId,
+                LocalDate.now().minusDays(RECENT_DAYS - 1), LocalDate.now().plusDays(1), StatisticsGranularity.DAY);
+        StatisticsDto statisticsDto = new StatisticsDto(statisticsCustomRepository.countViewsByPostId(postId),
+                recent.getTotal(), monthly.getViews());
+        LocalDate today = LocalDate.now();
+        statisticsDto.setTodayVisitors(uniqueVisitorService.countPostVisitors(postId, today, today));
+        statisticsDto.setRecentVisitors(uniqueVisitorService.countPostVisitors(postId, today.minusDays(RECENT_DAYS - 1), today));
+        return statisticsDto;
     }
 
+    /**
+     * (구)회원 통계 API - 특정 연도 월별 조회수
+     * */
     public StatisticsDto viewStatisByUserId(Long userId, Long year){
-        return statisticsCustomRepository.findStatisticsByUserId(userId, year);
+        StatisticsBucketsDto monthly = viewStatistics(userId, null,
+                LocalDate.of(year.intValue(), 1, 1), LocalDate.of(year.intValue() + 1, 1, 1), StatisticsGranularity.MONTH);
+        StatisticsBucketsDto recent = viewStatistics(userId, null,
+                LocalDate.now().minusDays(RECENT_DAYS - 1), LocalDate.now().plusDays(1), StatisticsGranularity.DAY);
+        StatisticsDto statisticsDto = new StatisticsDto(statisticsCustomRepository.countViewsByUserId(userId),
+                recent.getTotal(), monthly.getViews());
+        LocalDate today = LocalDate.now();
+        statisticsDto.setTodayVisitors(uniqueVisitorService.countWriterVisitors(userId, today, today));
+        statisticsDto.setRecentVisitors(uniqueVisitorService.countWriterVisitors(userId, today.minusDays(RECENT_DAYS - 1), today));
+        return statisticsDto;
+    }
+
+    /**
+     * 구간 통계 API
+     * 매개변수 : userId(회원 pk), postId(게시글 pk, null이면 회원의 전체 게시글), [from, to), granularity(일/주/월)
+     * 반환 : StatisticsBucketsDto (구간 시작일 리스트와 구간별 조회수 배열, 빈 구간 포함)
+     * 에러처리 : 다른 회원의 게시글, 잘못된 기간
+     * */
+    public StatisticsBucketsDto viewStatistics(Long userId, Long postId, LocalDate from, LocalDate to,
+                                               StatisticsGranularity granularity) throws IllegalArgumentException{
+        if (!from.isBefore(to)) throw new IllegalArgumentException("Invalid Period");
+        if (postId != null && !userId.equals(postRepository.checkPostWriter(postId)))
+            throw new IllegalArgumentException("No Permissions");
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate start = granularity.align(from); start.isBefore(to); start = granularity.next(start)) {
+            starts.add(start);
+            if (starts.size() > MAX_BUCKETS) throw new IllegalArgumentException("Too Many Buckets");
+        }
+
+        Map<LocalDate, Long> dailyViews = postId == null
+                ? statisticsCustomRepository.findDailyViewsByUserId(userId, from, to)
+                : statisticsCustomRepository.findDailyViewsByPostId(postId, from, to);
+
+        long[] views = new long[starts.size()];
+        long total = 0L;
+        for (Map.Entry<LocalDate, Long> daily : dailyViews.entrySet()) {
+            int index = bucketIndex(starts, daily.getKey());
+            views[index] += daily.getValue();
+            total += daily.getValue();
+        }
+        return new StatisticsBucketsDto(granularity, from, to, starts, views, total);
+    }
+
+    // 구간 시작일은 정렬되어 있으므로 이진 탐색으로 해당 날짜가 속한 구간 검색
+    private int bucketIndex(List<LocalDate> starts, LocalDate date) {
+        int low = 0, high = starts.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts.get(mid).isAfter(date)) high = mid - 1;
+            else low = mid;
+        }
+        return low;
     }
 }
@@ -0,0 +1,125 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.service.search.TagPostingIndex;
+import kit.prolog.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static kit.prolog.repository.custom.PostCustomRepository.PAGE_SIZE;
+
+/*
+* 태그별 게시글 목록 (태그마다 게시글 pk posting list를 메모리에 둠)
+* 게시글 작성/수정/삭제 커밋 후 바로 반영하고, 기동 시와 매일 한 번 POSTS_AND_TAGS를 게시글 pk 구간별로 읽어 재구성
+* 재구성 중 반영된 추가/삭제는 순서대로 기록해 두었다가 교체 후 새 목록에 다시 적용 (추가/삭제는 여러 번 적용해도 결과가 같음)
+* */
+@Log4j2
+@Service
+public class TagPostService {
+    private static final String POST_TAGS_IN_RANGE =
+            "SELECT pt.post_post_id, t.name FROM posts_and_tags pt JOIN tags t ON t.tag_id = pt.tag_tag_id " +
+            "WHERE pt.post_post_id >= ? AND pt.post_post_id < ? ORDER BY pt.post_post_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostPreviewService postPreviewService;
+    private final int rangeSize;
+    private volatile TagPostingIndex index = new TagPostingIndex();
+    private volatile boolean rebuilding = false;
+    private final Queue<Change> changedWhileRebuilding = new ConcurrentLinkedQueue<>();
+
+    public TagPostService(JdbcTemplate jdbcTemplate, PostPreviewService postPreviewService,
+                          @Value("${prolog.tag.range-size:1000}") int rangeSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postPreviewService = postPreviewService;
+        this.rangeSize = rangeSize;
+    }
+
+    /**
+     * 태그별 게시글 조회
+     * 매개변수 : names(태그 이름, 여러 개면 모든 태그가 달린 게시글), cursor(마지막 게시글 pk, 첫 페이지는 0)
+     * 반환 : pk 내림차순 List<PostPreviewDto>
+     * */
+    public List<PostPreviewDto> getPostsByTags(List<String> names, int cursor) {
+        List<Long> postIds = index.intersect(names, cursor == 0 ? Long.MAX_VALUE : cursor, PAGE_SIZE);
+        if (postIds.isEmpty()) return new ArrayList<>();
+        return postPreviewService.getPostsByIds(postIds).stream()
+                .sorted(Comparator.comparing((PostPreviewDto dto) -> dto.getPostDto().getId()).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 게시글에 태그 추가 (커밋 후 반영)
+     * */
+    public void tagged(Long postId, Collection<String> names) {
+        update(postId, names, true);
+    }
+
+    public void untagged(Long postId, Collection<String> names) {
+        update(postId, names, false);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${prolog.tag.rebuild-cron:0 10 4 * * *}")
+    public synchronized void rebuild() {
+        changedWhileRebuilding.clear();
+        rebuilding = true;
+        TagPostingIndex rebuilt = new TagPostingIndex();
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(post_post_id) FROM posts_and_tags", Long.class);
+            if (maxId != null) {
+                for (long start = 1L; start <= maxId; start += rangeSize) {
+                    jdbcTemplate.query(POST_TAGS_IN_RANGE, rs -> {
+                        rebuilt.add(rs.getString("name"), rs.getLong("post_post_id"));
+                    }, start, start + rangeSize);
+                }
+            }
+        } catch (DataAccessException e) {
+            rebuilding = false;
+            log.warn("tag posting lists rebuild failed", e);
+            return;
+        }
+        index = rebuilt;
+        rebuilding = false;
+        Change change;
+        while ((change = changedWhileRebuilding.poll()) != null) change.applyTo(rebuilt);
+        log.info("tag posting lists rebuilt");
+    }
+
+    private void update(Long postId, Collection<String> names, boolean add) {
+        if (names == null || names.isEmpty()) return;
+        List<String> tags = new ArrayList<>(names);
+        TransactionUtil.afterCommit(() -> tags.forEach(name -> {
+            Change change = new Change(name, postId, add);
+            // 교체 전에 기록해야 이전 목록에만 반영되고 누락되는 경우가 없음
+            if (rebuilding) changedWhileRebuilding.add(change);
+            change.applyTo(index);
+        }));
+    }
+
+    private static class Change {
+        private final String name;
+        private final long postId;
+        private final boolean add;
+
+        private Change(String name, long postId, boolean add) {
+            this.name = name;
+            this.postId = postId;
+            this.add = add;
+        }
+
+        private void applyTo(TagPostingIndex target) {
+            if (add) target.add(name, postId);
+            else target.remove(name, postId);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package kit.prolog.service;
+
+import kit.prolog.service.search.TagTrie;
+import kit.prolog.util.TransactionUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/*
+* 태그 자동완성 (태그를 사용한 게시글 수 순)
+* 게시글 작성/수정/삭제 커밋 후 태그별 게시글 수를 trie에 바로 반영
+* 기동 시, 매일 한 번 TAGS/POSTS_AND_TAGS 집계로 재구성하여 다른 인스턴스의 변경분과 누락분을 맞춤
+* 재구성 중 반영된 태그는 이름을 기록해 두었다가 교체 직후 게시글 수를 다시 읽어 새 trie에 지정
+* (집계 쿼리가 이미 읽은 변경을 변화량으로 다시 더하면 두 번 세므로 변화량 대신 현재 값을 다시 읽음)
+* */
+@Log4j2
+@Service
+public class TagSuggestService {
+    private static final String TAG_POST_COUNTS =
+            "SELECT t.name, COUNT(pt.post_and_tag_id) AS posts FROM tags t " +
+            "LEFT JOIN posts_and_tags pt ON pt.tag_tag_id = t.tag_id GROUP BY t.tag_id, t.name";
+    private static final String TAG_POST_COUNTS_BY_NAMES =
+            "SELECT t.name, COUNT(pt.post_and_tag_id) AS posts FROM tags t " +
+            "LEFT JOIN posts_and_tags pt ON pt.tag_tag_id = t.tag_id WHERE t.name IN (%s) GROUP BY t.tag_id, t.name";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int suggestSize;
+    private volatile TagTrie trie = new TagTrie();
+    private volatile boolean rebuilding = false;
+    private final Set<String> changedWhileRebuilding = ConcurrentHashMap.newKeySet();
+
+    public TagSuggestService(JdbcTemplate jdbcTemplate, @Value("${prolog.tag.suggest-size:10}") int suggestSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.suggestSize = suggestSize;
+    }
+
+    /**
+     * 태그 자동완성
+     * 매개변수 : prefix(입력 중인 태그 이름, 대소문자 구분 없음)
+     * 반환 : 게시글 수 내림차순 상위 suggest-size개 태그 이름
+     * */
+    public List<String> suggest(String prefix) {
+        return trie.suggest(prefix, suggestSize);
+    }
+
+    /**
+     * 게시글에 태그 추가 (커밋 후 반영)
+     * */
+    public void tagged(Collection<String> names) {
+        update(names, 1L);
+    }
+
+    public void untagged(Collection<String> names) {
+        update(names, -1L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${prolog.tag.rebuild-cron:0 10 4 * * *}")
+    public synchronized void rebuild() {
+        changedWhileRebuilding.clear();
+        rebuilding = true;
+        TagTrie rebuilt = new TagTrie();
+        try {
+            jdbcTemplate.query(TAG_POST_COUNTS, rs -> {
+                rebuilt.add(rs.getString("name"), rs.getLong("posts"));
+            });
+        } catch (DataAccessException e) {
+            rebuilding = false;
+            log.warn("tag trie rebuild failed", e);
+            return;
+        }
+        trie = rebuilt;
+        rebuilding = false;
+        List<String> changed = new ArrayList<>(changedWhileRebuilding);
+        changedWhileRebuilding.clear();
+        refresh(rebuilt, changed);
+        log.info("tag trie rebuilt ({} tags)", rebuilt.size());
+    }
+
+    /*
+    * 재구성 중 바뀐 태그의 게시글 수를 다시 읽어 지정 (태그가 삭제되었으면 0)
+    * */
+    private void refresh(TagTrie target, List<String> names) {
+        if (names.isEmpty()) return;
+        Map<String, String> missing = new HashMap<>();
+        names.forEach(name -> missing.put(name.toLowerCase(Locale.ROOT), name));
+        try {
+            String placeholders = names.stream().map(name -> "?").collect(Collectors.joining(","));
+            jdbcTemplate.query(String.format(TAG_POST_COUNTS_BY_NAMES, placeholders), rs -> {
+                String name = rs.getString("name");
+                target.set(name, rs.getLong("posts"));
+                missing.remove(name.toLowerCase(Locale.ROOT));
+            }, names.toArray());
+        } catch (DataAccessException e) {
+            log.warn("tag trie refresh failed ({} tags)", names.size(), e);
+            return;
+        }
+        missing.values().forEach(name -> target.set(name, 0L));
+    }
+
+    private void update(Collection<String> names, long delta) {
+        if (names == null || names.isEmpty()) return;
+        List<String> tags = new ArrayList<>(names);
+        TransactionUtil.afterCommit(() -> tags.forEach(name -> {
+            if (name.isEmpty()) return;
+            // 교체 전에 기록해야 이전 trie에만 반영되고 누락되는 경우가 없음
+            if (rebuilding) changedWhileRebuilding.add(name);
+            trie.add(name, delta);
+        }));
+    }
+}
@@ -0,0 +1,92 @@
+package kit.prolog.service;
+
+import kit.prolog.service.visitor.UniqueVisitorCounter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+* 게시글/작성자별 일간 순 방문자 수
+* 방문자 키(회원 pk 또는 클라이언트 IP)를 HyperLogLog 스케치에 기록하므로 게시글당 메모리 사용량이 고정
+* */
+@Log4j2
+@Service
+public class UniqueVisitorService {
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final UniqueVisitorCounter uniqueVisitorCounter;
+    private final Duration retention;
+
+    public UniqueVisitorService(UniqueVisitorCounter uniqueVisitorCounter,
+                                @Value("${prolog.visitor.retention-days:35}") int retentionDays) {
+        this.uniqueVisitorCounter = uniqueVisitorCounter;
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    public static String userVisitor(Long userId) {
+        return "u:" + userId;
+    }
+
+    public static String ipVisitor(String ip) {
+        return "ip:" + ip;
+    }
+
+    /**
+     * 게시글 방문 기록
+     * 매개변수 : postId(게시글 pk), writerId(작성자 pk), visitor(방문자 키)
+     * 집계 저장소 장애가 게시글 조회를 막지 않도록 예외는 기록만 함
+     * */
+    public void recordVisit(Long postId, Long writerId, String visitor) {
+        if (visitor == null) return;
+        String today = LocalDate.now().format(DAY_FORMAT);
+        try {
+            uniqueVisitorCounter.add(List.of(postKey(postId, today), writerKey(writerId, today)), visitor, retention);
+        } catch (DataAccessException e) {
+            log.warn("unique visitor record failed, post : {}", postId, e);
+        }
+    }
+
+    /**
+     * 게시글 순 방문자 수 [from, to]
+     * 여러 날짜의 합집합이므로 같은 방문자는 한 번만 집계
+     * */
+    public long countPostVisitors(Long postId, LocalDate from, LocalDate to) {
+        List<String> keys = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            keys.add(postKey(postId, day.format(DAY_FORMAT)));
+        }
+        return count(keys);
+    }
+
+    public long countWriterVisitors(Long writerId, LocalDate from, LocalDate to) {
+        List<String> keys = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            keys.add(writerKey(writerId, day.format(DAY_FORMAT)));
+        }
+        return count(keys);
+    }
+
+    private long count(List<String> keys) {
+        try {
+            return uniqueVisitorCounter.count(keys);
+        } catch (DataAccessException e) {
+            log.warn("unique visitor count failed", e);
+            return 0L;
+        }
+    }
+
+    private String postKey(Long postId, String day) {
+        return "uv:post:" + postId + ":" + day;
+    }
+
+    private String writerKey(Long writerId, String day) {
+        return "uv:user:" + writerId + ":" + day;
+    }
+}
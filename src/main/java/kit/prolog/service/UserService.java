@@ -11,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Log4j2
@@ -30,6 +31,14 @@ public class UserService {
     private final PostTagRepository postTagRepository;
     private final CommentRepository commentRepository;
     private final HitRepository hitRepository;
+    private final HitDailyRepository hitDailyRepository;
+    private final HitCountBuffer hitCountBuffer;
+    private final PostPreviewService postPreviewService;
+    private final PostDetailDocumentService postDetailDocumentService;
+    private final ContentVersionService contentVersionService;
+    private final PostSearchService postSearchService;
+    private final TagSuggestService tagSuggestService;
+    private final TagPostService tagPostService;
     private final ContextRepository contextRepository;
 
     // email 회원가입
@@ -96,6 +105,9 @@ public class UserService {
                 user.setNickname(modifiedUser.getNickname());
                 user.setAlarm(modifiedUser.isAlarm());
                 userRepository.save(user);
+                postPreviewService.updateWriter(user);
+                postRepository.increaseRevisionByUserId(memberPk);
+                contentVersionService.increaseFeedVersion();
                 return true;
             }
         }catch (NullPointerException e){
@@ -109,23 +121,34 @@ public class UserService {
     public User deleteUser(Long memberPk){
         User user = new User();
         try{
+            postRepository.subtractLikeCountsByUserId(memberPk);
+            postPreviewService.subtractLikeCountsByUserId(memberPk);
             likeRepository.deleteAllByUser_Id(memberPk);
+            postPreviewService.deleteByUserId(memberPk);
             postRepository.findByUser_Id(memberPk).forEach(post -> {
                 likeRepository.deleteAllByPost_Id(post.getId());
                 commentRepository.deleteAllByPost_Id(post.getId());
                 hitRepository.deleteAllByPost_Id(post.getId());
+                hitDailyRepository.deleteAllByPost_Id(post.getId());
                 // 파일서버에 삭제 요청 필요
                 attachmentRepository.deleteAllByPost_Id(post.getId());
+                List<String> tagNames = postTagRepository.findTagNameByPost_Id(post.getId());
+                tagSuggestService.untagged(tagNames);
+                tagPostService.untagged(post.getId(), tagNames);
                 postTagRepository.deleteAllByPost_Id(post.getId());
                 contextRepository.deleteAllByPost_Id(post.getId());
                 Long moldId = postRepository.findMoldIdByPostId(post.getId());
                 postRepository.deleteById(post.getId());
+                hitCountBuffer.discard(post.getId());
+                postDetailDocumentService.delete(post.getId());
+                postSearchService.deleted(post.getId());
                 layoutRepository.deleteAllByMold_Id(moldId);
             });
             moldRepository.deleteByUser_Id(memberPk);
 
             // 유저가 작성한 게시글에 대해 모든 댓글들을 삭제한 후,
             // 유저의 남은 comment를 block처리 후 userFK를 null로 변경
+            postRepository.subtractCommentCountsByUserId(memberPk);
             commentRepository.blockCommentsByUserId(memberPk);
             categoryRepository.deleteAllByUser_Id(memberPk);
 
@@ -0,0 +1,37 @@
+package kit.prolog.service.leaderboard;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/*
+* 인기 게시글 순위표
+* 좋아요를 누른 날짜별 버킷에 누적하고, 기간이 지난 버킷은 expire로 순위에서 차감
+* */
+public interface HotPostLeaderboard {
+    void add(long postId, LocalDate likedOn, long delta);
+
+    /**
+     * cursor 다음 순위부터 size개 조회
+     * 매개변수 : cursor(마지막으로 받은 항목, 첫 페이지는 null), size(페이지 크기)
+     * */
+    List<ScoredPost> page(ScoredPost cursor, int size);
+
+    void expire(LocalDate likedOn);
+
+    void remove(long postId);
+
+    /**
+     * 전체 재구성
+     * 매개변수 : dailyLikes(날짜 -> 게시글 pk -> 좋아요 수), 기간 내 모든 날짜를 포함해야 함
+     * */
+    void rebuild(Map<LocalDate, Map<Long, Long>> dailyLikes);
+
+    /**
+     * 정기 작업(기간 만료, 재구성)을 순위표를 공유하는 인스턴스 중 하나만 실행하도록 잠금
+     * 매개변수 : job(작업 이름, 실행 단위마다 다르게), ttl(잠금 유지 시간, 풀지 않고 만료시킴)
+     * 반환 : 잠금 획득 여부
+     * */
+    boolean tryLock(String job, Duration ttl);
+}
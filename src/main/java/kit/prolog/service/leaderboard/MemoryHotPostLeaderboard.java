@@ -0,0 +1,78 @@
+package kit.prolog.service.leaderboard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/*
+* 메모리 기반 인기 게시글 순위표 (Redis를 사용할 수 없는 환경용)
+* 순위는 ConcurrentSkipListSet으로 유지하여 조회는 잠금 없이 O(log n + size)
+* 갱신은 점수 맵과 순위 집합을 함께 바꿔야 하므로 synchronized로 직렬화
+* */
+@Component
+@ConditionalOnProperty(name = "prolog.leaderboard.store", havingValue = "memory")
+public class MemoryHotPostLeaderboard implements HotPostLeaderboard {
+    private final NavigableSet<ScoredPost> ranking = new ConcurrentSkipListSet<>(ScoredPost.RANKING);
+    private final Map<Long, Long> scores = new HashMap<>();
+    private final Map<LocalDate, Map<Long, Long>> buckets = new HashMap<>();
+
+    @Override
+    public synchronized void add(long postId, LocalDate likedOn, long delta) {
+        buckets.computeIfAbsent(likedOn, day -> new HashMap<>()).merge(postId, delta, Long::sum);
+        adjust(postId, delta);
+    }
+
+    @Override
+    public List<ScoredPost> page(ScoredPost cursor, int size) {
+        NavigableSet<ScoredPost> next = cursor == null ? ranking : ranking.tailSet(cursor, false);
+        List<ScoredPost> page = new ArrayList<>(size);
+        for (ScoredPost scoredPost : next) {
+            if (page.size() == size) break;
+            page.add(scoredPost);
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized void expire(LocalDate likedOn) {
+        Map<Long, Long> bucket = buckets.remove(likedOn);
+        if (bucket != null) bucket.forEach((postId, count) -> adjust(postId, -count));
+    }
+
+    @Override
+    public synchronized void remove(long postId) {
+        buckets.values().forEach(bucket -> bucket.remove(postId));
+        Long score = scores.remove(postId);
+        if (score != null) ranking.remove(new ScoredPost(postId, score));
+    }
+
+    @Override
+    public synchronized void rebuild(Map<LocalDate, Map<Long, Long>> dailyLikes) {
+        ranking.clear();
+        scores.clear();
+        buckets.clear();
+        dailyLikes.forEach((day, likes) -> likes.forEach((postId, count) -> add(postId, day, count)));
+    }
+
+    private void adjust(long postId, long delta) {
+        long before = scores.getOrDefault(postId, 0L);
+        long after = before + delta;
+        if (before > 0) ranking.remove(new ScoredPost(postId, before));
+        if (after > 0) {
+            scores.put(postId, after);
+            ranking.add(new ScoredPost(postId, after));
+        } else {
+            scores.remove(postId);
+        }
+    }
+
+    // 인스턴스마다 순위표가 따로 있으므로 항상 실행
+    @Override
+    public boolean tryLock(String job, Duration ttl) {
+        return true;
+    }
+}
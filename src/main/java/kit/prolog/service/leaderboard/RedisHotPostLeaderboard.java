@@ -0,0 +1,131 @@
+package kit.prolog.service.leaderboard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/*
+* Redis sorted set 기반 인기 게시글 순위표
+* hot:posts            게시글 pk -> 복합 점수(좋아요 수 * 2^32 + 게시글 pk)
+* hot:posts:{yyyyMMdd} 게시글 pk -> 해당 날짜에 받은 좋아요 수
+* 복합 점수는 게시글마다 유일하므로 (점수, pk) cursor를 ZREVRANGEBYSCORE 한 번으로 조회
+* double 가수부(53bit) 안에서 정확하도록 게시글 pk < 2^32, 좋아요 수 < 2^21 을 가정
+* hot:posts:lock:{job} 정기 작업 잠금 (SET NX PX), 값은 잠금을 잡은 인스턴스
+* */
+@Component
+@ConditionalOnProperty(name = "prolog.leaderboard.store", havingValue = "redis", matchIfMissing = true)
+public class RedisHotPostLeaderboard implements HotPostLeaderboard {
+    private static final String RANKING_KEY = "hot:posts";
+    private static final String BUCKET_KEY = "hot:posts:";
+    private static final String LOCK_KEY = "hot:posts:lock:";
+    private static final DateTimeFormatter BUCKET_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final long SCORE_UNIT = 1L << 32;
+    private static final Duration BUCKET_TTL = Duration.ofDays(8);
+
+    // 순위 점수 증감을 원자적으로 처리, 좋아요 수가 0 이하가 되면 제거
+    // Lua의 기본 숫자 -> 문자열 변환은 유효숫자 14자리이므로 정수 그대로 전달되도록 %.0f 사용
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>(
+            "local score = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if not score then score = tonumber(ARGV[1]) else score = tonumber(score) end " +
+            "score = score + tonumber(ARGV[2]) * " + SCORE_UNIT + " " +
+            "if score < " + SCORE_UNIT + " then redis.call('ZREM', KEYS[1], ARGV[1]) return 0 end " +
+            "redis.call('ZADD', KEYS[1], string.format('%.0f', score), ARGV[1]) return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String owner = UUID.randomUUID().toString();
+
+    public RedisHotPostLeaderboard(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void add(long postId, LocalDate likedOn, long delta) {
+        String bucket = bucketKey(likedOn);
+        redisTemplate.opsForZSet().incrementScore(bucket, String.valueOf(postId), delta);
+        redisTemplate.expire(bucket, BUCKET_TTL);
+        adjust(postId, delta);
+    }
+
+    @Override
+    public List<ScoredPost> page(ScoredPost cursor, int size) {
+        double max = cursor == null ? Double.MAX_VALUE : composite(cursor) - 1;
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(RANKING_KEY, SCORE_UNIT, max, 0, size);
+        List<ScoredPost> page = new ArrayList<>();
+        if (tuples == null) return page;
+        for (ZSetOperations.TypedTuple<String> tuple : tuples) {
+            long score = tuple.getScore().longValue();
+            page.add(new ScoredPost(score & (SCORE_UNIT - 1), score >>> 32));
+        }
+        return page;
+    }
+
+    @Override
+    public void expire(LocalDate likedOn) {
+        String bucket = bucketKey(likedOn);
+        Set<ZSetOperations.TypedTuple<String>> likes = redisTemplate.opsForZSet().rangeWithScores(bucket, 0, -1);
+        redisTemplate.delete(bucket);
+        if (likes == null) return;
+        likes.forEach(like -> adjust(Long.parseLong(like.getValue()), -like.getScore().longValue()));
+    }
+
+    /*
+    * 날짜 버킷에 남은 값은 만료 시 ADJUST에서 0 이하로 계산되어 다시 추가되지 않으므로 순위에서만 제거
+    * */
+    @Override
+    public void remove(long postId) {
+        redisTemplate.opsForZSet().remove(RANKING_KEY, String.valueOf(postId));
+    }
+
+    @Override
+    public void rebuild(Map<LocalDate, Map<Long, Long>> dailyLikes) {
+        Set<String> keys = new HashSet<>();
+        dailyLikes.keySet().forEach(day -> keys.add(bucketKey(day)));
+        keys.add(RANKING_KEY);
+        redisTemplate.delete(keys);
+
+        Map<Long, Long> totals = new HashMap<>();
+        dailyLikes.forEach((day, likes) -> {
+            Set<ZSetOperations.TypedTuple<String>> bucket = new HashSet<>();
+            likes.forEach((postId, count) -> {
+                bucket.add(ZSetOperations.TypedTuple.of(String.valueOf(postId), count.doubleValue()));
+                totals.merge(postId, count, Long::sum);
+            });
+            if (bucket.isEmpty()) return;
+            redisTemplate.opsForZSet().add(bucketKey(day), bucket);
+            redisTemplate.expire(bucketKey(day), BUCKET_TTL);
+        });
+
+        Set<ZSetOperations.TypedTuple<String>> ranking = new HashSet<>();
+        totals.forEach((postId, count) -> {
+            if (count > 0) ranking.add(ZSetOperations.TypedTuple.of(
+                    String.valueOf(postId), (double) composite(new ScoredPost(postId, count))));
+        });
+        if (!ranking.isEmpty()) redisTemplate.opsForZSet().add(RANKING_KEY, ranking);
+    }
+
+    @Override
+    public boolean tryLock(String job, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY + job, owner, ttl));
+    }
+
+    private void adjust(long postId, long delta) {
+        redisTemplate.execute(ADJUST, List.of(RANKING_KEY), String.valueOf(postId), String.valueOf(delta));
+    }
+
+    private static long composite(ScoredPost scoredPost) {
+        return scoredPost.getScore() * SCORE_UNIT + scoredPost.getPostId();
+    }
+
+    private static String bucketKey(LocalDate day) {
+        return BUCKET_KEY + day.format(BUCKET_FORMAT);
+    }
+}
@@ -0,0 +1,25 @@
+package kit.prolog.service.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Comparator;
+
+/*
+* 인기 게시글 순위 항목 (최근 좋아요 수, 게시글 pk)
+* 순위는 점수 내림차순, 같은 점수는 게시글 pk 내림차순이며 페이지 cursor로도 사용
+* */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ScoredPost {
+    public static final Comparator<ScoredPost> RANKING = Comparator
+            .comparingLong(ScoredPost::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(ScoredPost::getPostId).reversed());
+
+    private final long postId;
+    private final long score;
+}
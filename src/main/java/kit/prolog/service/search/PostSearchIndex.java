@@ -0,0 +1,182 @@
+package kit.prolog.service.search;
+
+import kit.prolog.service.leaderboard.ScoredPost;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/*
+* 게시글 역색인 (토큰 -> 게시글 pk -> 가중 빈도)
+* 제목은 3, 태그는 2, 본문과 코드는 1의 가중치로 빈도를 더하고, 가중 빈도의 합을 문서 길이로 사용
+* 순위는 BM25(k1 = 1.2, b = 0.75) 점수를 1000배 하여 정수로 반올림한 값, 같은 점수는 게시글 pk 내림차순
+* 게시글 단위로 색인을 교체하며 읽기/쓰기는 ReadWriteLock으로 보호
+* */
+public class PostSearchIndex {
+    static final int TITLE_WEIGHT = 3;
+    static final int TAG_WEIGHT = 2;
+    static final int BODY_WEIGHT = 1;
+    static final long SCORE_SCALE = 1000L;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    private final Map<Long, Integer> lengths = new HashMap<>();
+    private long totalLength = 0L;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 게시글 색인 (이미 색인된 게시글이면 기존 항목을 교체)
+     * */
+    public void index(SearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        count(frequencies, document.getTitle(), TITLE_WEIGHT);
+        document.getTags().forEach(tag -> count(frequencies, tag, TAG_WEIGHT));
+        document.getContexts().forEach(context -> count(frequencies, context, BODY_WEIGHT));
+        document.getCodes().forEach(code -> count(frequencies, code, BODY_WEIGHT));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.getPostId());
+            putDocument(document.getPostId(), frequencies);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Long> postIds() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색
+     * 매개변수 : query(검색어, 색인과 같은 방식으로 토큰화하여 하나라도 포함한 게시글을 후보로 사용),
+     *          cursor(마지막으로 받은 항목, 첫 페이지는 null), size(페이지 크기)
+     * 반환 : BM25 점수 순 List<ScoredPost>
+     * */
+    public List<ScoredPost> search(String query, ScoredPost cursor, int size) {
+        Set<String> terms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) return new ArrayList<>();
+            int documentCount = documents.size();
+            double averageLength = (double) totalLength / documentCount;
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) continue;
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((postId, frequency) -> {
+                    double norm = K1 * (1 - B + B * lengths.get(postId) / averageLength);
+                    scores.merge(postId, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return scores.entrySet().stream()
+                .map(entry -> new ScoredPost(entry.getKey(), Math.round(entry.getValue() * SCORE_SCALE)))
+                .filter(hit -> cursor == null || ScoredPost.RANKING.compare(hit, cursor) > 0)
+                .sorted(ScoredPost.RANKING)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 스냅샷 저장 (버전, 게시글 수, 게시글마다 pk와 토큰별 가중 빈도)
+     * 역색인은 불러올 때 다시 만듦
+     * */
+    public void writeTo(DataOutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(documents.size());
+            for (Map.Entry<Long, Map<String, Integer>> document : documents.entrySet()) {
+                out.writeLong(document.getKey());
+                out.writeInt(document.getValue().size());
+                for (Map.Entry<String, Integer> term : document.getValue().entrySet()) {
+                    out.writeUTF(term.getKey());
+                    out.writeInt(term.getValue());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static PostSearchIndex readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) throw new IOException("Unsupported Search Index Version : " + version);
+
+        PostSearchIndex index = new PostSearchIndex();
+        int documentCount = in.readInt();
+        for (int i = 0; i < documentCount; i++) {
+            long postId = in.readLong();
+            int termCount = in.readInt();
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (int j = 0; j < termCount; j++) {
+                frequencies.put(in.readUTF(), in.readInt());
+            }
+            index.putDocument(postId, frequencies);
+        }
+        return index;
+    }
+
+    private static void count(Map<String, Integer> frequencies, String text, int weight) {
+        SearchTokenizer.tokenize(text).forEach(token -> frequencies.merge(token, weight, Integer::sum));
+    }
+
+    private void putDocument(long postId, Map<String, Integer> frequencies) {
+        if (frequencies.isEmpty()) return;
+        int length = 0;
+        for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new HashMap<>()).put(postId, term.getValue());
+            length += term.getValue();
+        }
+        documents.put(postId, frequencies);
+        lengths.put(postId, length);
+        totalLength += length;
+    }
+
+    private void removeDocument(long postId) {
+        Map<String, Integer> frequencies = documents.remove(postId);
+        if (frequencies == null) return;
+        for (String term : frequencies.keySet()) {
+            Map<Long, Integer> posting = postings.get(term);
+            posting.remove(postId);
+            if (posting.isEmpty()) postings.remove(term);
+        }
+        totalLength -= lengths.remove(postId);
+    }
+}
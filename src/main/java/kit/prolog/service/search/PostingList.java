@@ -0,0 +1,170 @@
+package kit.prolog.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+* 게시글 pk 오름차순 posting list (delta + varint 압축)
+* BLOCK_SIZE개씩 블록으로 나누고 블록마다 첫 pk는 그대로, 나머지는 앞 pk와의 차이를 varint로 저장
+* 블록의 첫/마지막 pk로 필요한 블록만 풀어서 floor(pk 이하 최댓값) 조회, 교집합은 floor를 번갈아 호출하여 건너뜀
+* 새 게시글은 pk가 가장 크므로 마지막 블록 끝에 이어 쓰고, 중간 삽입/삭제는 해당 블록만 다시 인코딩
+* 동기화하지 않으므로 TagPostingIndex의 lock 안에서 사용
+* */
+public class PostingList {
+    static final int BLOCK_SIZE = 128;
+
+    private final List<Block> blocks = new ArrayList<>();
+    private int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean add(long postId) {
+        Block lastBlock = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (lastBlock == null || postId > lastBlock.last) {
+            if (lastBlock == null || lastBlock.count == BLOCK_SIZE) blocks.add(new Block(postId));
+            else lastBlock.append(postId);
+            size++;
+            return true;
+        }
+
+        int index = Math.max(0, findBlock(postId));
+        long[] ids = blocks.get(index).decode();
+        int position = Arrays.binarySearch(ids, postId);
+        if (position >= 0) return false;
+        position = -position - 1;
+
+        long[] inserted = new long[ids.length + 1];
+        System.arraycopy(ids, 0, inserted, 0, position);
+        inserted[position] = postId;
+        System.arraycopy(ids, position, inserted, position + 1, ids.length - position);
+        if (inserted.length > BLOCK_SIZE) {
+            int half = inserted.length / 2;
+            blocks.set(index, Block.encode(inserted, 0, half));
+            blocks.add(index + 1, Block.encode(inserted, half, inserted.length));
+        } else {
+            blocks.set(index, Block.encode(inserted, 0, inserted.length));
+        }
+        size++;
+        return true;
+    }
+
+    public boolean remove(long postId) {
+        int index = findBlock(postId);
+        if (index < 0 || postId > blocks.get(index).last) return false;
+        long[] ids = blocks.get(index).decode();
+        int position = Arrays.binarySearch(ids, postId);
+        if (position < 0) return false;
+
+        if (ids.length == 1) {
+            blocks.remove(index);
+        } else {
+            long[] removed = new long[ids.length - 1];
+            System.arraycopy(ids, 0, removed, 0, position);
+            System.arraycopy(ids, position + 1, removed, position, ids.length - position - 1);
+            blocks.set(index, Block.encode(removed, 0, removed.length));
+        }
+        size--;
+        return true;
+    }
+
+    public Reader reader() {
+        return new Reader();
+    }
+
+    /*
+    * 첫 pk가 postId 이하인 마지막 블록, 없으면 -1
+    * */
+    private int findBlock(long postId) {
+        int low = 0, high = blocks.size() - 1, found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks.get(mid).first <= postId) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /*
+    * 마지막으로 푼 블록을 재사용하는 조회기, 내림차순으로 floor를 반복 호출하면 블록마다 한 번만 풂
+    * */
+    public class Reader {
+        private int blockIndex = -1;
+        private long[] decoded;
+
+        /**
+         * postId 이하의 가장 큰 게시글 pk
+         * 반환 : 없으면 -1
+         * */
+        public long floor(long postId) {
+            int index = findBlock(postId);
+            if (index < 0) return -1L;
+            Block block = blocks.get(index);
+            if (postId >= block.last) return block.last;
+            if (index != blockIndex) {
+                decoded = block.decode();
+                blockIndex = index;
+            }
+            int position = Arrays.binarySearch(decoded, postId);
+            return position >= 0 ? decoded[position] : decoded[-position - 2];
+        }
+    }
+
+    private static class Block {
+        private final long first;
+        private long last;
+        private int count;
+        private byte[] bytes;
+        private int length;
+
+        private Block(long first) {
+            this.first = first;
+            this.last = first;
+            this.count = 1;
+            this.bytes = new byte[16];
+            this.length = 0;
+        }
+
+        private static Block encode(long[] ids, int from, int to) {
+            Block block = new Block(ids[from]);
+            for (int i = from + 1; i < to; i++) block.append(ids[i]);
+            return block;
+        }
+
+        private void append(long postId) {
+            long delta = postId - last;
+            if (bytes.length - length < 10) bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            while ((delta & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            bytes[length++] = (byte) delta;
+            last = postId;
+            count++;
+        }
+
+        private long[] decode() {
+            long[] ids = new long[count];
+            ids[0] = first;
+            int position = 0;
+            for (int i = 1; i < count; i++) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    delta |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while ((b & 0x80) != 0);
+                ids[i] = ids[i - 1] + delta;
+            }
+            return ids;
+        }
+    }
+}
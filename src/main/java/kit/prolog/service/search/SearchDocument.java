@@ -0,0 +1,20 @@
+package kit.prolog.service.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+* 색인 대상 게시글 텍스트 (제목, 본문/수식 레이아웃 내용, 코드와 코드 설명, 태그)
+* */
+@Getter
+@RequiredArgsConstructor
+public class SearchDocument {
+    private final long postId;
+    private final String title;
+    private final List<String> contexts = new ArrayList<>();
+    private final List<String> codes = new ArrayList<>();
+    private final List<String> tags = new ArrayList<>();
+}
@@ -0,0 +1,59 @@
+package kit.prolog.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/*
+* 검색 색인/질의 공용 토크나이저
+* 한글은 형태소 분석 없이 음절 2-gram(한 글자 단어는 그대로), 영문/숫자는 소문자로 바꾼 단어 단위
+* 그 외 문자(공백, 기호)는 구분자이며 한글과 영문이 붙어 있으면 문자 종류가 바뀌는 곳에서 나눔
+* */
+public final class SearchTokenizer {
+    static final int MAX_TOKEN_LENGTH = 40;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) return tokens;
+
+        int start = 0;
+        boolean hangul = false;
+        boolean inWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean letter = Character.isLetterOrDigit(c);
+            boolean isHangul = letter && isHangul(c);
+            if (inWord && (!letter || isHangul != hangul)) {
+                addTokens(tokens, text.substring(start, i), hangul);
+                inWord = false;
+            }
+            if (letter && !inWord) {
+                start = i;
+                hangul = isHangul;
+                inWord = true;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addTokens(List<String> tokens, String word, boolean hangul) {
+        if (!hangul) {
+            if (word.length() <= MAX_TOKEN_LENGTH) tokens.add(word.toLowerCase(Locale.ROOT));
+            return;
+        }
+        if (word.length() == 1) {
+            tokens.add(word);
+            return;
+        }
+        for (int i = 0; i + 2 <= word.length(); i++) {
+            tokens.add(word.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeBlock.of(c) == Character.UnicodeBlock.HANGUL_SYLLABLES;
+    }
+}
@@ -0,0 +1,91 @@
+package kit.prolog.service.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/*
+* 태그별 게시글 posting list (키는 소문자로 바꾼 태그 이름)
+* 여러 태그의 AND 조회는 가장 짧은 list를 기준으로 나머지 list에서 floor를 찾아 건너뛰며 교집합을 만듦
+* */
+public class TagPostingIndex {
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(String name, long postId) {
+        lock.writeLock().lock();
+        try {
+            postings.computeIfAbsent(key(name), key -> new PostingList()).add(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String name, long postId) {
+        String key = key(name);
+        lock.writeLock().lock();
+        try {
+            PostingList postingList = postings.get(key);
+            if (postingList == null) return;
+            postingList.remove(postId);
+            if (postingList.size() == 0) postings.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size(String name) {
+        lock.readLock().lock();
+        try {
+            PostingList postingList = postings.get(key(name));
+            return postingList == null ? 0 : postingList.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 모든 태그가 달린 게시글 조회
+     * 매개변수 : names(태그 이름), before(이 pk보다 작은 게시글부터), size(최대 개수)
+     * 반환 : pk 내림차순 게시글 pk
+     * */
+    public List<Long> intersect(Collection<String> names, long before, int size) {
+        List<Long> postIds = new ArrayList<>();
+        Set<String> keys = names.stream().map(TagPostingIndex::key).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (keys.isEmpty() || size <= 0) return postIds;
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (String key : keys) {
+                PostingList postingList = postings.get(key);
+                if (postingList == null) return postIds;
+                lists.add(postingList);
+            }
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            PostingList.Reader[] readers = lists.stream().map(PostingList::reader).toArray(PostingList.Reader[]::new);
+
+            long candidate = readers[0].floor(before - 1);
+            while (candidate >= 0 && postIds.size() < size) {
+                long next = candidate;
+                for (int i = 1; i < readers.length && next == candidate; i++) {
+                    next = readers[i].floor(candidate);
+                }
+                if (next == candidate) {
+                    postIds.add(candidate);
+                    candidate = readers[0].floor(candidate - 1);
+                } else {
+                    candidate = next < 0 ? -1L : readers[0].floor(next);
+                }
+            }
+            return postIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,195 @@
+package kit.prolog.service.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+* 태그 자동완성용 radix trie (간선마다 문자열을 두어 분기 없는 경로를 한 노드로 압축)
+* 키는 소문자로 바꾼 태그 이름, 끝 노드에 원래 태그 이름과 가중치(태그를 사용한 게시글 수)를 저장
+* 노드마다 하위 트리의 최대 가중치를 두어 접두사 상위 k개를 최대 가중치 우선 탐색으로 찾음
+* 같은 가중치는 이름 오름차순
+* */
+public class TagTrie {
+    private final Node root = new Node("");
+    private int size = 0;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 태그 가중치 변경 (없는 태그면 추가)
+     * 매개변수 : name(태그 이름), delta(사용 게시글 수 변화량, 0보다 작아지지 않음)
+     * */
+    public void add(String name, long delta) {
+        update(name, delta, false);
+    }
+
+    /**
+     * 태그 가중치 지정 (없는 태그면 추가)
+     * 매개변수 : name(태그 이름), weight(사용 게시글 수)
+     * */
+    public void set(String name, long weight) {
+        update(name, weight, true);
+    }
+
+    private void update(String name, long value, boolean absolute) {
+        String key = name.toLowerCase(Locale.ROOT);
+        lock.writeLock().lock();
+        try {
+            Node node = insert(key);
+            if (node.name == null) size++;
+            node.name = name;
+            node.weight = Math.max(0L, absolute ? value : Math.max(node.weight, 0L) + value);
+            updateMaxWeight(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 접두사 상위 k개 조회
+     * 매개변수 : prefix(대소문자 구분 없음), limit(최대 개수)
+     * 반환 : 가중치 내림차순 태그 이름
+     * */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> suggestions = new ArrayList<>();
+        if (limit <= 0) return suggestions;
+        String key = prefix.toLowerCase(Locale.ROOT);
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            String path = "";
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.children.get(key.charAt(matched));
+                if (child == null) return suggestions;
+                int common = commonPrefix(child.label, key, matched);
+                if (common < child.label.length() && matched + common < key.length()) return suggestions;
+                path += child.label;
+                matched += common;
+                node = child;
+            }
+
+            PriorityQueue<Candidate> queue = new PriorityQueue<>();
+            queue.add(new Candidate(node, path, node.maxWeight, false));
+            while (!queue.isEmpty() && suggestions.size() < limit) {
+                Candidate candidate = queue.poll();
+                if (candidate.terminal) {
+                    suggestions.add(candidate.node.name);
+                    continue;
+                }
+                if (candidate.node.name != null) {
+                    queue.add(new Candidate(candidate.node, candidate.path, candidate.node.weight, true));
+                }
+                for (Node child : candidate.node.children.values()) {
+                    queue.add(new Candidate(child, candidate.path + child.label, child.maxWeight, false));
+                }
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node insert(String key) {
+        Node node = root;
+        int matched = 0;
+        while (matched < key.length()) {
+            char next = key.charAt(matched);
+            Node child = node.children.get(next);
+            if (child == null) {
+                Node leaf = new Node(key.substring(matched));
+                node.children.put(next, leaf);
+                return leaf;
+            }
+            int common = commonPrefix(child.label, key, matched);
+            if (common < child.label.length()) {
+                // 간선 분할 : 공통 접두사 노드를 새로 만들고 기존 노드를 그 아래로 옮김
+                Node split = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                split.children.put(child.label.charAt(0), child);
+                split.maxWeight = child.maxWeight;
+                node.children.put(next, split);
+                child = split;
+            }
+            matched += common;
+            node = child;
+        }
+        return node;
+    }
+
+    /*
+    * 키 경로의 노드들의 하위 트리 최대 가중치를 아래에서부터 다시 계산
+    * */
+    private void updateMaxWeight(String key) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        int matched = 0;
+        path.push(node);
+        while (matched < key.length()) {
+            node = node.children.get(key.charAt(matched));
+            matched += node.label.length();
+            path.push(node);
+        }
+        while (!path.isEmpty()) {
+            Node current = path.pop();
+            long maxWeight = current.weight;
+            for (Node child : current.children.values()) maxWeight = Math.max(maxWeight, child.maxWeight);
+            current.maxWeight = maxWeight;
+        }
+    }
+
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) common++;
+        return common;
+    }
+
+    private static class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private String name;            // 태그 끝 노드일 때만 원래 태그 이름
+        private long weight = -1L;      // 태그 끝 노드가 아니면 -1
+        private long maxWeight = -1L;
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /*
+    * 탐색 후보 (하위 트리 또는 태그), 가중치 내림차순, 같으면 경로 오름차순, 같은 경로는 태그가 먼저
+    * 하위 트리의 태그는 모두 그 경로로 시작하므로 같은 가중치의 태그가 이름 순서로 나옴
+    * */
+    private static class Candidate implements Comparable<Candidate> {
+        private final Node node;
+        private final String path;
+        private final long priority;
+        private final boolean terminal;
+
+        private Candidate(Node node, String path, long priority, boolean terminal) {
+            this.node = node;
+            this.path = path;
+            this.priority = priority;
+            this.terminal = terminal;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (priority != other.priority) return Long.compare(other.priority, priority);
+            int byPath = path.compareTo(other.path);
+            if (byPath != 0) return byPath;
+            return Boolean.compare(other.terminal, terminal);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package kit.prolog.service.visitor;
+
+import kit.prolog.util.HyperLogLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/*
+* 메모리 기반 순 방문자 수 집계 (Redis를 사용할 수 없는 환경용)
+* 인스턴스마다 따로 집계되므로 단일 인스턴스 환경에서만 정확
+* 스케치는 방문자가 적으면 sparse 표현이라 작지만, 키(게시글/작성자 x 일자) 수는 max-keys로 제한하고
+* 넘으면 만료된 키와 만료가 가장 가까운 키부터 max-keys의 90%까지 제거
+* */
+@Component
+@ConditionalOnProperty(name = "prolog.visitor.store", havingValue = "memory")
+public class MemoryUniqueVisitorCounter implements UniqueVisitorCounter {
+    private final Map<String, Sketch> sketches = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final int maxKeys;
+
+    public MemoryUniqueVisitorCounter(@Value("${prolog.visitor.memory.max-keys:100000}") int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public void add(Collection<String> keys, String visitor, Duration ttl) {
+        long expireAt = System.currentTimeMillis() + ttl.toMillis();
+        keys.forEach(key -> {
+            Sketch sketch = sketches.computeIfAbsent(key, k -> new Sketch());
+            sketch.expireAt = expireAt;
+            sketch.hyperLogLog.add(visitor);
+        });
+        if (sketches.size() > maxKeys) trim();
+    }
+
+    public int size() {
+        return sketches.size();
+    }
+
+    @Override
+    public long count(Collection<String> keys) {
+        HyperLogLog union = new HyperLogLog();
+        keys.stream()
+                .map(sketches::get)
+                .filter(sketch -> sketch != null && !sketch.isExpired(System.currentTimeMillis()))
+                .forEach(sketch -> union.merge(sketch.hyperLogLog));
+        return union.count();
+    }
+
+    @Scheduled(fixedDelay = 60 * 60 * 1000L)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        sketches.values().removeIf(sketch -> sketch.isExpired(now));
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) return;
+        try {
+            evictExpired();
+            int excess = sketches.size() - maxKeys / 10 * 9;
+            if (excess <= 0) return;
+            // 정렬 중 만료 시각이 바뀌지 않도록 먼저 복사
+            sketches.entrySet().stream()
+                    .map(entry -> Map.entry(entry.getKey(), entry.getValue().expireAt))
+                    .collect(Collectors.toList()).stream()
+                    .sorted(Map.Entry.comparingByValue())
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList())
+                    .forEach(sketches::remove);
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private static class Sketch {
+        private final HyperLogLog hyperLogLog = new HyperLogLog();
+        private volatile long expireAt;
+
+        private boolean isExpired(long now) {
+            return expireAt < now;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package kit.prolog.service.visitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+
+/*
+* Redis PFADD/PFCOUNT 기반 순 방문자 수 집계
+* 키 추가와 만료 설정을 한 번의 pipeline으로 전송
+* */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "prolog.visitor.store", havingValue = "redis", matchIfMissing = true)
+public class RedisUniqueVisitorCounter implements UniqueVisitorCounter {
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public void add(Collection<String> keys, String visitor, Duration ttl) {
+        byte[] value = visitor.getBytes(StandardCharsets.UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            keys.forEach(key -> addKey(connection, key.getBytes(StandardCharsets.UTF_8), value, ttl));
+            return null;
+        });
+    }
+
+    @Override
+    public long count(Collection<String> keys) {
+        if (keys.isEmpty()) return 0L;
+        Long count = redisTemplate.opsForHyperLogLog().size(keys.toArray(new String[0]));
+        return count == null ? 0L : count;
+    }
+
+    private void addKey(RedisConnection connection, byte[] key, byte[] value, Duration ttl) {
+        connection.pfAdd(key, value);
+        connection.expire(key, ttl.getSeconds());
+    }
+}
@@ -0,0 +1,13 @@
+package kit.prolog.service.visitor;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/*
+* 순 방문자 수 집계 저장소
+* 키 하나당 HyperLogLog 스케치 하나, 여러 키를 세면 합집합의 추정치를 반환
+* */
+public interface UniqueVisitorCounter {
+    void add(Collection<String> keys, String visitor, Duration ttl);
+    long count(Collection<String> keys);
+}
@@ -0,0 +1,56 @@
+package kit.prolog.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/*
+* 같은 key에 대한 동시 요청 병합 (single flight)
+* 먼저 들어온 요청 하나만 loader를 실행하고, 실행 중에 들어온 같은 key의 요청은 그 결과를 함께 받음
+* 결과를 캐싱하지는 않으며 실행이 끝나면 key를 제거하므로 이후 요청은 다시 실행
+* 결과 객체를 여러 요청이 공유하므로 호출하는 쪽에서 수정하지 않아야 함
+* */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.increment();
+            return join(existing);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 다른 요청의 실행 결과를 받아간 횟수
+     * */
+    public long sharedCount() {
+        return shared.sum();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // 실행한 요청과 같은 예외를 그대로 전달
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error) throw (Error) e.getCause();
+            throw e;
+        }
+    }
+}
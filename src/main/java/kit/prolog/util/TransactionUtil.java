@@ -0,0 +1,23 @@
+package kit.prolog.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtil {
+    /*
+    * 커밋 전에 실행하면 다른 요청이 커밋 전 데이터를 다시 읽어 캐싱할 수 있으므로 커밋 후 실행
+    * 트랜잭션 밖에서 호출하면 바로 실행
+    * */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
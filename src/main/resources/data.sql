@@ -65,82 +65,82 @@ INSERT INTO posts(time, title, category_category_id, mold_mold_id, user_user_id)
 VALUES (CURRENT_TIME, '21이거 방탄 유리야!!!!!!!!', 1, 2, 1);
 
 # 레이아웃 6
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
-VALUES (1, 10.245, 34.349, '레이아웃 설명1', 20, 30, 1);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
-VALUES (2, 20.121, 34.349, '레이아웃 설명2', 20, 30, 1);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
-VALUES (3, 33.245, 34.349, '레이아웃 설명3', 20, 30, 2);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width)
-VALUES (4, 49.245, 34.349, '레이아웃 설명4', 20, 30);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width)
-VALUES (5, 53.245, 34.349, '레이아웃 설명5', 20, 30);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width)
-VALUES (6, 65.245, 34.349, '레이아웃 설명6', 20, 30);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
+VALUES (1, 1, 10.245, 34.349, '레이아웃 설명1', 20, 30, 1);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
+VALUES (2, 2, 20.121, 34.349, '레이아웃 설명2', 20, 30, 1);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
+VALUES (3, 3, 33.245, 34.349, '레이아웃 설명3', 20, 30, 2);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width)
+VALUES (4, 4, 49.245, 34.349, '레이아웃 설명4', 20, 30);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width)
+VALUES (5, 5, 53.245, 34.349, '레이아웃 설명5', 20, 30);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width)
+VALUES (6, 6, 65.245, 34.349, '레이아웃 설명6', 20, 30);
 
 
 # 내용 60
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (1, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (1, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (1, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, code, code_explanation, code_type, main) values (2, 3, '코드내용', '코드설명', 'CPP', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (2, 4, 'https://www.erdcloud.com/d/c6EcfX5rhWDrvNi7i', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (3, 5, '수학공식', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (3, 6, 'https://www.youtube.com/watch?v=i2jWju6cUvk', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (4, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (4, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (4, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (5, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (5, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (5, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (6, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (6, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (6, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (7, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (7, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (7, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (8, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (8, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (8, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (9, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (9, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (9, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (10, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (10, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (10, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (11, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (11, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (11, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (12, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (12, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (12, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (13, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (13, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (13, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (14, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (14, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (14, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (15, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (15, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (15, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (16, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (16, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (16, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (17, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (17, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (17, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (18, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (18, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (18, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (19, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (19, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (19, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (20, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (20, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (20, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (21, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (21, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (21, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (1, 1, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (2, 1, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (3, 1, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, code, code_explanation, code_type, main) values (4, 2, 3, '코드내용', '코드설명', 'CPP', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (5, 2, 4, 'https://www.erdcloud.com/d/c6EcfX5rhWDrvNi7i', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (6, 3, 5, '수학공식', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (7, 3, 6, 'https://www.youtube.com/watch?v=i2jWju6cUvk', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (8, 4, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (9, 4, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (10, 4, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (11, 5, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (12, 5, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (13, 5, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (14, 6, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (15, 6, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (16, 6, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (17, 7, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (18, 7, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (19, 7, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (20, 8, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (21, 8, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (22, 8, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (23, 9, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (24, 9, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (25, 9, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (26, 10, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (27, 10, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (28, 10, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (29, 11, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (30, 11, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (31, 11, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (32, 12, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (33, 12, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (34, 12, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (35, 13, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (36, 13, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (37, 13, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (38, 14, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (39, 14, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (40, 14, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (41, 15, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (42, 15, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (43, 15, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (44, 16, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (45, 16, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (46, 16, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (47, 17, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (48, 17, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (49, 17, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (50, 18, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (51, 18, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (52, 18, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (53, 19, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (54, 19, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (55, 19, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (56, 20, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (57, 20, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (58, 20, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (59, 21, 1, '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (60, 21, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (61, 21, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
 
 
 # 태그 6
@@ -164,7 +164,7 @@ INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES (3,5);
 INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES (3,6);
 
 # 첨부파일 1
-INSERT INTO attachments(extension, name, url, post_post_id) VALUES ('txt', '실험 파일', '', 1);
+INSERT INTO attachments(attachment_id, extension, name, url, post_post_id) VALUES (1, 'txt', '실험 파일', '', 1);
 # 조회 10
 INSERT INTO hits(time, post_post_id) VALUES (CURRENT_TIME, 1);
 INSERT INTO hits(time, post_post_id) VALUES (CURRENT_TIME, 1);
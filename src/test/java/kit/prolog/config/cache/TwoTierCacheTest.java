@@ -0,0 +1,78 @@
+package kit.prolog.config.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoTierCacheTest {
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCache remote;
+    private TwoTierCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        remote = new ConcurrentMapCache("feed");
+        cache = new TwoTierCache("feed", Caffeine.newBuilder().maximumSize(10).build(), remote, meterRegistry);
+    }
+
+    @Test
+    void 미스시_한번만_적재후_L1에서_응답() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("head", () -> "posts-" + loads.incrementAndGet())).isEqualTo("posts-1");
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(remote.get("head").get()).isEqualTo("posts-1");
+        assertThat(count("l1", "hit")).isEqualTo(2.0);
+        assertThat(count("l1", "miss")).isEqualTo(1.0);
+        assertThat(count("l2", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void 다른_인스턴스가_채운_L2_사용() {
+        remote.put("head", "posts");
+
+        assertThat(cache.get("head", () -> "reloaded")).isEqualTo("posts");
+        assertThat(count("l2", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void 무효화시_두_계층_모두_제거() {
+        cache.put("head", "posts");
+
+        cache.evict("head");
+
+        assertThat(cache.get("head")).isNull();
+        assertThat(remote.get("head")).isNull();
+    }
+
+    @Test
+    void L2_장애시_원본_조회() {
+        Cache broken = mock(Cache.class);
+        when(broken.get(any())).thenThrow(new DataAccessResourceFailureException("down"));
+        TwoTierCache degraded = new TwoTierCache("broken", Caffeine.newBuilder().maximumSize(10).build(), broken, meterRegistry);
+
+        assertThat(degraded.get("head", () -> "posts")).isEqualTo("posts");
+        assertThat(degraded.get("head", () -> "reloaded")).isEqualTo("posts");
+    }
+
+    private double count(String tier, String result) {
+        return meterRegistry.get("prolog.cache.requests")
+                .tag("cache", "feed").tag("tier", tier).tag("result", result)
+                .counter().count();
+    }
+}
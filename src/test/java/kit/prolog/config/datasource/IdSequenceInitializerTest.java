@@ -0,0 +1,64 @@
+package kit.prolog.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/*
+* 메모리 H2에 MySQL처럼 시퀀스 테이블을 만들거나 실제 시퀀스를 만들어 보정 실행
+* */
+class IdSequenceInitializerTest {
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:id-sequence;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE contexts (context_id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE layouts (layout_id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE attachments (attachment_id BIGINT PRIMARY KEY)");
+        jdbcTemplate.update("INSERT INTO contexts VALUES (7), (120)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void 시퀀스_테이블을_최대_pk_다음_할당_구간으로_올림() {
+        for (String table : new String[]{"contexts_seq", "layouts_seq", "attachments_seq"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (next_val BIGINT)");
+        }
+        jdbcTemplate.update("INSERT INTO contexts_seq VALUES (1)");
+
+        new IdSequenceInitializer(jdbcTemplate).align();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM contexts_seq", Long.class)).isEqualTo(171L);
+        assertThat(jdbcTemplate.queryForObject("SELECT next_val FROM layouts_seq", Long.class)).isEqualTo(51L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM attachments_seq", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void 실제_시퀀스면_건너뜀() {
+        jdbcTemplate.execute("CREATE SEQUENCE contexts_seq START WITH 1 INCREMENT BY 50");
+
+        new IdSequenceInitializer(jdbcTemplate).align();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR contexts_seq", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    void 시퀀스_테이블_보정_실패시_기동_중단() {
+        jdbcTemplate.execute("CREATE TABLE contexts_seq (next_val BIGINT)");
+        jdbcTemplate.execute("DROP TABLE contexts");
+
+        assertThatThrownBy(() -> new IdSequenceInitializer(jdbcTemplate).align())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("contexts_seq");
+    }
+}
@@ -0,0 +1,75 @@
+package kit.prolog.config.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/*
+* 메모리 H2에 유니크 키 없는 LIKES와 부풀려진 좋아요 수를 만들어 보정 실행
+* */
+class LikeUniqueKeyInitializerTest {
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:like-unique-key;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE posts (post_id BIGINT PRIMARY KEY, like_count BIGINT, like_version BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE post_previews (post_id BIGINT PRIMARY KEY, like_count BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE likes (like_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "user_user_id BIGINT, post_post_id BIGINT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void 중복_좋아요를_지우고_좋아요_수를_다시_센_뒤_유니크_키_추가() {
+        // 게시글 1 : 회원 1이 세 번, 회원 2가 한 번 (실제 2개), 게시글 2 : 중복 없음
+        jdbcTemplate.update("INSERT INTO posts VALUES (1, 4, 0), (2, 1, 0)");
+        jdbcTemplate.update("INSERT INTO post_previews VALUES (1, 4), (2, 1)");
+        jdbcTemplate.update("INSERT INTO likes(user_user_id, post_post_id) VALUES (1, 1), (1, 1), (2, 1), (1, 1), (1, 2)");
+
+        initializer(jdbcTemplate).migrate();
+        // 추가한 키를 찾으므로 다시 실행해도 키를 또 추가하지 않음
+        initializer(jdbcTemplate).migrate();
+
+        assertThat(jdbcTemplate.queryForList("SELECT like_id FROM likes ORDER BY like_id", Long.class))
+                .containsExactly(1L, 3L, 5L);
+        assertThat(jdbcTemplate.queryForObject("SELECT like_count FROM posts WHERE post_id = 1", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT like_version FROM posts WHERE post_id = 1", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT like_count FROM post_previews WHERE post_id = 1", Long.class)).isEqualTo(2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT like_count FROM posts WHERE post_id = 2", Long.class)).isEqualTo(1L);
+        assertThatThrownBy(() -> jdbcTemplate.update("INSERT INTO likes(user_user_id, post_post_id) VALUES (2, 1)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void 유니크_키가_있으면_건너뜀() {
+        jdbcTemplate.execute("ALTER TABLE likes ADD CONSTRAINT uk_existing UNIQUE (user_user_id, post_post_id)");
+        JdbcTemplate jdbc = spy(new JdbcTemplate(dataSource));
+
+        initializer(jdbc).migrate();
+
+        verify(jdbc, never()).execute(startsWith("ALTER TABLE"));
+        verify(jdbc, never()).update(startsWith("DELETE"));
+    }
+
+    private LikeUniqueKeyInitializer initializer(JdbcTemplate jdbc) {
+        return new LikeUniqueKeyInitializer(jdbc, new DataSourceTransactionManager(dataSource));
+    }
+}
@@ -0,0 +1,78 @@
+package kit.prolog.config.datasource;
+
+import kit.prolog.config.QuerydslConfig;
+import kit.prolog.domain.Tag;
+import kit.prolog.repository.jpa.TagRepository;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 읽기 전용 트랜잭션의 Hibernate 세션 설정 확인
+* flush 모드 MANUAL(커밋 시 flush 없음), 기본 읽기 전용(엔티티 스냅샷을 만들지 않아 변경 감지 없음)
+* */
+@DataJpaTest
+@Import(QuerydslConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadOnlyTransactionTest {
+    @Autowired private TagRepository tagRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        tagRepository.deleteAll();
+    }
+
+    @Test
+    void 읽기_전용_세션은_flush와_변경감지를_하지_않음() {
+        Long tagId = tagRepository.save(new Tag("spring")).getId();
+
+        transaction(true).executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.MANUAL);
+            assertThat(session.isDefaultReadOnly()).isTrue();
+
+            Tag tag = entityManager.find(Tag.class, tagId);
+            assertThat(session.isReadOnly(tag)).isTrue();
+            ReflectionTestUtils.setField(tag, "name", "changed");
+        });
+
+        assertThat(tagRepository.findById(tagId).get().getName()).isEqualTo("spring");
+    }
+
+    @Test
+    void 쓰기_트랜잭션은_변경감지로_저장() {
+        Long tagId = tagRepository.save(new Tag("spring")).getId();
+
+        transaction(false).executeWithoutResult(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            assertThat(session.getHibernateFlushMode()).isEqualTo(FlushMode.AUTO);
+
+            Tag tag = entityManager.find(Tag.class, tagId);
+            assertThat(session.isReadOnly(tag)).isFalse();
+            ReflectionTestUtils.setField(tag, "name", "changed");
+        });
+
+        assertThat(tagRepository.findById(tagId).get().getName()).isEqualTo("changed");
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction;
+    }
+}
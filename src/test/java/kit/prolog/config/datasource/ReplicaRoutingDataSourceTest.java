@@ -0,0 +1,150 @@
+package kit.prolog.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kit.prolog.service.ParallelReadExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/*
+* 메모리 H2 두 개를 프라이머리/레플리카로 사용
+* 복제는 테스트에서 REPLICA_HEARTBEATS 값을 직접 써서 흉내냄
+* */
+class ReplicaRoutingDataSourceTest {
+    private static final long MAX_LAG = 1000L;
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1");
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        for (JdbcTemplate jdbc : new JdbcTemplate[]{primaryJdbc, replicaJdbc}) {
+            jdbc.execute("CREATE TABLE SERVERS (NAME VARCHAR(20))");
+            jdbc.execute("CREATE TABLE IF NOT EXISTS REPLICA_HEARTBEATS (ID INT NOT NULL PRIMARY KEY, BEAT_AT BIGINT NOT NULL)");
+        }
+        primaryJdbc.update("INSERT INTO SERVERS VALUES ('primary')");
+        replicaJdbc.update("INSERT INTO SERVERS VALUES ('replica')");
+        monitor = new ReplicaLagMonitor(primary, replica, MAX_LAG, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryJdbc.execute("DROP ALL OBJECTS");
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void 읽기_전용_트랜잭션만_레플리카로() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        DataSource routing = routing(replica);
+
+        assertThat(monitor.isAvailable()).isTrue();
+        assertThat(server(routing, true)).isEqualTo("replica");
+        assertThat(server(routing, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT NAME FROM SERVERS", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void 프라이머리로_고정한_조회는_읽기_전용이어도_프라이머리로() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        DataSource routing = routing(replica);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(true);
+
+        String pinned = transaction.execute(status -> ReplicaRoutingDataSource.readFromPrimary(() ->
+                new JdbcTemplate(routing).queryForObject("SELECT NAME FROM SERVERS", String.class)));
+
+        assertThat(pinned).isEqualTo("primary");
+        assertThat(server(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void 프라이머리_고정은_병렬_조회_스레드에도_적용() {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        DataSource routing = routing(replica);
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+        ParallelReadExecutor executor = new ParallelReadExecutor(new DataSourceTransactionManager(routing),
+                new SimpleMeterRegistry(), 2, 8, 2, 2000);
+        try {
+            // 상세 문서 재생성처럼 고정한 채 병렬 조회를 넘기면 읽기 전용 트랜잭션이어도 프라이머리에서 읽음
+            CompletableFuture<String> pinned = ReplicaRoutingDataSource.readFromPrimary(() ->
+                    executor.submit(() -> jdbc.queryForObject("SELECT NAME FROM SERVERS", String.class)));
+            CompletableFuture<String> unpinned =
+                    executor.submit(() -> jdbc.queryForObject("SELECT NAME FROM SERVERS", String.class));
+            executor.await(pinned, unpinned);
+
+            assertThat(pinned.join()).isEqualTo("primary");
+            assertThat(unpinned.join()).isEqualTo("replica");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void 복제_지연이_허용치를_넘으면_프라이머리로() {
+        replicate(System.currentTimeMillis() - MAX_LAG * 10);
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(monitor.getLagMillis()).isGreaterThan(MAX_LAG);
+        assertThat(server(routing(replica), true)).isEqualTo("primary");
+    }
+
+    @Test
+    void 복제되지_않은_레플리카는_사용하지_않음() {
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(primaryJdbc.queryForObject("SELECT COUNT(*) FROM REPLICA_HEARTBEATS", Integer.class)).isEqualTo(1);
+        assertThat(server(routing(replica), true)).isEqualTo("primary");
+    }
+
+    @Test
+    void 레플리카_커넥션_실패시_프라이머리로() throws SQLException {
+        replicate(System.currentTimeMillis());
+        monitor.check();
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("replica down"));
+
+        assertThat(server(routing(broken), true)).isEqualTo("primary");
+        assertThat(monitor.isAvailable()).isFalse();
+    }
+
+    private DataSource routing(DataSource replicaTarget) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replicaTarget, monitor));
+    }
+
+    private String server(DataSource routing, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(routing).queryForObject("SELECT NAME FROM SERVERS", String.class));
+    }
+
+    private void replicate(long beatAt) {
+        replicaJdbc.update("MERGE INTO REPLICA_HEARTBEATS(ID, BEAT_AT) KEY(ID) VALUES (1, ?)", beatAt);
+    }
+}
@@ -0,0 +1,187 @@
+package kit.prolog.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kit.prolog.domain.User;
+import kit.prolog.dto.LayoutDto;
+import kit.prolog.dto.LikeDto;
+import kit.prolog.dto.PostDetailDto;
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.service.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostControllerTest {
+    @Mock private PostService postService;
+    @Mock private LikeService likeService;
+    @Mock private FeedCacheService feedCacheService;
+    @Mock private UserService userService;
+    @Mock private JwtService jwtService;
+    @Mock private WebClient api;
+    @Mock private ContentVersionService contentVersionService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        mockMvc = MockMvcBuilders.standaloneSetup(new PostController(postService, likeService, feedCacheService,
+                userService, jwtService, api, objectMapper, contentVersionService)).build();
+    }
+
+    @Test
+    void 최근_게시글_NDJSON_스트리밍() throws Exception {
+        // 첫 페이지(30~16)를 쓰고 flush한 뒤 두 번째 페이지 조회를 붙잡아 둠
+        CountDownLatch secondPage = new CountDownLatch(1);
+        when(postService.getRecentPostList(0)).thenReturn(previews(30, 16));
+        when(postService.getRecentPostList(16)).thenAnswer(invocation -> {
+            secondPage.await(5, TimeUnit.SECONDS);
+            return previews(15, 13);
+        });
+
+        MvcResult result = mockMvc.perform(get("/recent/")
+                        .param("last", "0").param("limit", "17")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // 첫 페이지는 응답이 끝나기 전에 클라이언트에 전달됨
+        assertThat(awaitLines(result, 15)).startsWith("{\"id\":30,");
+        secondPage.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+
+        // 이전 페이지의 마지막 게시글을 cursor로 이어서 limit개까지만 전송
+        List<String> lines = Arrays.asList(result.getResponse().getContentAsString().split("\n"));
+        assertThat(lines).hasSize(17);
+        assertThat(lines.get(15)).startsWith("{\"id\":15,");
+        assertThat(lines.get(16)).startsWith("{\"id\":14,");
+        verify(postService).getRecentPostList(16);
+        verify(postService, never()).getRecentPostList(14);
+    }
+
+    @Test
+    void 인기_게시글_SSE_스트리밍() throws Exception {
+        when(feedCacheService.getHottestPosts(null, null)).thenReturn(previews(30, 16));
+        when(feedCacheService.getHottestPosts(16L, 16L)).thenReturn(previews(15, 15));
+
+        MvcResult result = mockMvc.perform(get("/").param("limit", "20").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+
+        // 이전 페이지 마지막 게시글의 점수와 pk로 이어서 조회, 짧은 페이지에서 종료
+        String[] events = result.getResponse().getContentAsString().split("\n\n");
+        assertThat(events).hasSize(16);
+        assertThat(events[0]).startsWith("data: {\"id\":30,");
+        assertThat(events[15]).startsWith("data: {\"id\":15,");
+        verify(feedCacheService, times(2)).getHottestPosts(any(), any());
+    }
+
+    @Test
+    void 만료된_토큰이면_비로그인으로_목록_조회() throws Exception {
+        when(jwtService.validateToken("expired")).thenReturn(false);
+        when(feedCacheService.getHottestPosts(null, null)).thenReturn(List.of());
+
+        mockMvc.perform(get("/").header("X-AUTH-TOKEN", "expired").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        verify(contentVersionService).feedTag(null);
+        verify(userService, never()).readUser(any());
+    }
+
+    @Test
+    void 좋아요_수가_같아도_좋아요_변경_후에는_전체_응답() throws Exception {
+        when(jwtService.validateToken("A")).thenReturn(true);
+        when(jwtService.getUserPk("A")).thenReturn("1");
+        when(userService.readUser(1L)).thenReturn(new User(1L));
+        // A가 좋아요(좋아요 1개), 이후 A 취소, B 좋아요로 좋아요 수는 그대로 1개
+        when(postService.findPostDetailCounters(10L))
+                .thenReturn(counters(1L, 1L), counters(1L, 1L), counters(3L, 1L));
+        PostDetailDto detail = new PostDetailDto();
+        detail.setLayoutDto(new ArrayList<>());
+        detail.setLikeDto(new LikeDto(1));
+        detail.setHits(0L);
+        when(postService.viewPostDetailById(eq(1L), eq(10L), anyString())).thenReturn(detail);
+
+        String etag = mockMvc.perform(get("/board/10").header("X-AUTH-TOKEN", "A"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/board/10").header("X-AUTH-TOKEN", "A").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/board/10").header("X-AUTH-TOKEN", "A").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        assertThat(etag).isNotNull();
+        verify(postService, times(2)).viewPostDetailById(eq(1L), eq(10L), anyString());
+    }
+
+    private static PostRepository.DetailCounters counters(Long likeVersion, Long likeCount) {
+        return new PostRepository.DetailCounters() {
+            public Long getRevision() { return 0L; }
+            public Long getHitCount() { return 0L; }
+            public Long getLikeCount() { return likeCount; }
+            public Long getLikeVersion() { return likeVersion; }
+            public Long getWriterId() { return 2L; }
+        };
+    }
+
+    private static String awaitLines(MvcResult result, int lines) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = result.getResponse().getContentAsString();
+        while (content.split("\n").length < lines && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content.split("\n")).hasSize(lines);
+        return content;
+    }
+
+    /*
+    * from부터 to까지 pk 내림차순, 점수는 pk와 같음
+    * */
+    private static List<PostPreviewDto> previews(long from, long to) {
+        return LongStream.rangeClosed(to, from).map(id -> from + to - id)
+                .mapToObj(id -> {
+                    PostPreviewDto preview = new PostPreviewDto(id, "제목" + id, LocalDateTime.now(), "작성자", null, 0L, 0L);
+                    preview.setLayoutDto(new LayoutDto(1L, "본문"));
+                    preview.setScore(id);
+                    return preview;
+                })
+                .collect(Collectors.toList());
+    }
+}
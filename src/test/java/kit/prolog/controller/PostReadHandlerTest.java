@@ -0,0 +1,77 @@
+package kit.prolog.controller;
+
+import kit.prolog.repository.r2dbc.PostR2dbcRepository;
+import kit.prolog.service.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostReadHandlerTest {
+    @Mock private PostR2dbcRepository postR2dbcRepository;
+    @Mock private PostPreviewService postPreviewService;
+    @Mock private PostDetailDocumentService postDetailDocumentService;
+    @Mock private FeedCacheService feedCacheService;
+    @Mock private HitCountBuffer hitCountBuffer;
+    @Mock private UniqueVisitorService uniqueVisitorService;
+    @Mock private TagSuggestService tagSuggestService;
+    @Mock private JwtService jwtService;
+
+    @Test
+    void 댓글_기본_페이지는_MVC와_같은_첫_페이지_10개() {
+        getComments(true, "/boards/1/comments");
+
+        verify(postR2dbcRepository).findComments(eq(1L), isNull(), eq(0L), eq(10));
+    }
+
+    @Test
+    void 댓글_페이지_번호는_MVC_설정을_따름() {
+        getComments(true, "/boards/1/comments?page=2&size=5");
+        verify(postR2dbcRepository).findComments(eq(1L), isNull(), eq(5L), eq(5));
+    }
+
+    @Test
+    void 댓글_페이지_번호_0부터() {
+        getComments(false, "/boards/1/comments?page=2&size=5");
+        verify(postR2dbcRepository).findComments(eq(1L), isNull(), eq(10L), eq(5));
+    }
+
+    @Test
+    void 만료된_토큰이면_비로그인으로_목록_조회() {
+        when(jwtService.validateToken("expired")).thenReturn(false);
+        when(feedCacheService.getHottestPosts(null, null)).thenReturn(List.of());
+
+        WebTestClient.bindToRouterFunction(handler(true).routes()).build()
+                .get().uri("/").header("X-AUTH-TOKEN", "expired")
+                .exchange()
+                .expectStatus().isOk();
+        verify(postR2dbcRepository, never()).findLikedPostIds(any(), any());
+    }
+
+    private PostReadHandler handler(boolean oneIndexedPages) {
+        return new PostReadHandler(postR2dbcRepository, postPreviewService, postDetailDocumentService,
+                feedCacheService, hitCountBuffer, uniqueVisitorService, tagSuggestService, jwtService, oneIndexedPages);
+    }
+
+    private void getComments(boolean oneIndexedPages, String uri) {
+        when(postR2dbcRepository.findComments(anyLong(), any(), anyLong(), anyInt())).thenReturn(Mono.just(List.of()));
+        WebTestClient.bindToRouterFunction(handler(oneIndexedPages).routes()).build()
+                .get().uri(uri)
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -8,6 +8,7 @@ import kit.prolog.domain.Tag;
 import kit.prolog.dto.LayoutDto;
 import kit.prolog.dto.MoldDto;
 import kit.prolog.dto.PostDetailDto;
+import kit.prolog.dto.PostPreviewDto;
 import kit.prolog.enums.LayoutType;
 import kit.prolog.repository.jpa.*;
 import org.junit.jupiter.api.*;
@@ -245,4 +246,16 @@ public class PostRepositoryTest {
         assertThat(layoutDtos.size()).isEqualTo(detail.getLayoutDto().size());
         assertThat(detail.getTags().size()).isEqualTo(tagList.size());
     }
+
+    @Test
+    @DisplayName("최근 게시글 미리보기 대표 레이아웃 일괄 조회")
+    public void assemblePreviewMainContexts(){
+        // when
+        List<PostPreviewDto> previews = postRepository.findRecentPosts(0);
+        // then
+        assertThat(previews).extracting(preview -> preview.getPostDto().getId()).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(previews.get(3).getLayoutDto().getUrl()).hasSize(2);
+        assertThat(previews.get(2).getLayoutDto().getCodes()).containsExactly("코드내용", "코드설명", "CPP");
+        assertThat(previews.get(0).getLayoutDto()).isNull();
+    }
 }
@@ -0,0 +1,130 @@
+package kit.prolog.repository.jpa;
+
+import kit.prolog.config.QuerydslConfig;
+import kit.prolog.dto.LikeDto;
+import kit.prolog.service.ContentVersionService;
+import kit.prolog.service.HotPostService;
+import kit.prolog.service.LikeService;
+import kit.prolog.service.PostPreviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 여러 스레드가 각자의 트랜잭션으로 동시에 좋아요를 요청하므로 테스트 트랜잭션을 사용하지 않음
+* INSERT IGNORE 사용을 위해 MySQL 모드의 메모리 DB 사용
+* */
+@DataJpaTest
+@Import({QuerydslConfig.class, LikeService.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:likes;MODE=MySQL;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"classpath:test.sql"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LikeRepositoryTest {
+    private static final int USERS = 10;
+    private static final long POST_ID = 1L;
+
+    @Autowired private LikeService likeService;
+    @Autowired private LikeRepository likeRepository;
+    @Autowired private PostRepository postRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @MockBean private HotPostService hotPostService;
+    @MockBean private PostPreviewService postPreviewService;
+    @MockBean private ContentVersionService contentVersionService;
+
+    @BeforeEach
+    void setUp() {
+        // test.sql의 회원 1명 외에 좋아요를 누를 회원 추가
+        for (int i = 2; i <= USERS; i++) {
+            jdbcTemplate.update("INSERT INTO users(account, alarm, email, image, introduce, name, nickname, password) " +
+                    "VALUES (?, 0, ?, '', '', ?, ?, '8344')", "user" + i, "user" + i + "@test.com", "회원" + i, "회원" + i);
+        }
+    }
+
+    @Test
+    void 동시_좋아요_중복_방지() throws Exception {
+        // 회원마다 5번씩 동시에 좋아요 (연속 클릭)
+        List<Callable<LikeDto>> requests = new ArrayList<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            long id = userId;
+            for (int i = 0; i < 5; i++) requests.add(() -> likeService.like(id, POST_ID));
+        }
+        runConcurrently(requests);
+
+        assertThat(likeRepository.countByPost_Id(POST_ID)).isEqualTo(USERS);
+        assertThat(postRepository.findLikeCountById(POST_ID)).isEqualTo(USERS);
+    }
+
+    @Test
+    void 동시_좋아요_취소_카운터_일치() throws Exception {
+        for (long userId = 1; userId <= USERS; userId++) likeService.like(userId, POST_ID);
+
+        // 홀수 회원은 취소, 짝수 회원은 다시 좋아요를 동시에 반복
+        List<Callable<LikeDto>> requests = new ArrayList<>();
+        for (long userId = 1; userId <= USERS; userId++) {
+            long id = userId;
+            for (int i = 0; i < 5; i++) {
+                requests.add(() -> id % 2 == 1 ? likeService.unlike(id, POST_ID) : likeService.like(id, POST_ID));
+            }
+        }
+        runConcurrently(requests);
+
+        assertThat(likeRepository.countByPost_Id(POST_ID)).isEqualTo(USERS / 2);
+        assertThat(postRepository.findLikeCountById(POST_ID)).isEqualTo(USERS / 2);
+    }
+
+    @Test
+    void 좋아요_전환() {
+        LikeDto liked = likeService.toggle(1L, POST_ID);
+        LikeDto unliked = likeService.toggle(1L, POST_ID);
+
+        assertThat(liked.isExist()).isTrue();
+        assertThat(liked.getCount()).isEqualTo(1);
+        assertThat(unliked.isExist()).isFalse();
+        assertThat(unliked.getCount()).isZero();
+    }
+
+    @Test
+    void 페이지_좋아요_여부_일괄조회() {
+        likeService.like(1L, 1L);
+        likeService.like(1L, 3L);
+        likeService.like(2L, 2L);
+
+        assertThat(likeService.findLikedPostIds(1L, List.of(1L, 2L, 3L, 4L))).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(likeService.findLikedPostIds(1L, List.of())).isEmpty();
+    }
+
+    private void runConcurrently(List<Callable<LikeDto>> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<LikeDto>> futures = new ArrayList<>();
+        for (Callable<LikeDto> request : requests) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return request.call();
+            }));
+        }
+        start.countDown();
+        for (Future<LikeDto> future : futures) future.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,115 @@
+package kit.prolog.repository.r2dbc;
+
+import io.r2dbc.spi.ConnectionFactories;
+import kit.prolog.domain.PostPreviewSnapshot;
+import kit.prolog.dto.CommentLv1Dto;
+import kit.prolog.dto.CommentLv2Dto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* H2 R2DBC 드라이버(MySQL 모드)로 리액티브 읽기 조회 확인
+* */
+class PostR2dbcRepositoryTest {
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE users (user_id BIGINT PRIMARY KEY, nickname VARCHAR(255), image VARCHAR(255))",
+            "CREATE TABLE posts (post_id BIGINT PRIMARY KEY, user_user_id BIGINT, revision BIGINT NOT NULL DEFAULT 0, " +
+                    "hit_count BIGINT NOT NULL DEFAULT 0, like_count BIGINT NOT NULL DEFAULT 0)",
+            "CREATE TABLE post_details (post_id BIGINT PRIMARY KEY, revision BIGINT NOT NULL, document CLOB)",
+            "CREATE TABLE post_previews (post_id BIGINT PRIMARY KEY, title VARCHAR(255), time TIMESTAMP, user_id BIGINT, " +
+                    "user_account VARCHAR(255), user_name VARCHAR(255), user_image VARCHAR(255), category_id BIGINT, " +
+                    "category_name VARCHAR(255), hit_count BIGINT, like_count BIGINT, main_layout CLOB)",
+            "CREATE TABLE likes (like_id BIGINT AUTO_INCREMENT PRIMARY KEY, user_user_id BIGINT, post_post_id BIGINT)",
+            "CREATE TABLE comments (comment_id BIGINT PRIMARY KEY, user_user_id BIGINT, post_post_id BIGINT, " +
+                    "upper_comment_comment_id BIGINT, context VARCHAR(255), block BOOLEAN, time TIMESTAMP)");
+
+    private DatabaseClient client;
+    private PostR2dbcRepository postR2dbcRepository;
+
+    @BeforeEach
+    void setUp() {
+        client = DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///reactive;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        postR2dbcRepository = new PostR2dbcRepository(client);
+        Flux.fromIterable(SCHEMA).concatMap(sql -> client.sql(sql).then()).blockLast();
+
+        execute("INSERT INTO users VALUES (1, '작성자', 'img1'), (2, '회원', 'img2')");
+        for (int i = 1; i <= 5; i++) {
+            execute("INSERT INTO posts(post_id, user_user_id, revision, hit_count, like_count) VALUES (" + i + ", 1, 1, " + i * 10 + ", " + i + ")");
+            execute("INSERT INTO post_previews VALUES (" + i + ", '제목" + i + "', TIMESTAMP '2022-11-20 12:00:00', 1, " +
+                    "'writer', '작성자', 'img1', 1, " + (i % 2 == 0 ? "'spring'" : "'jpa'") + ", " + i * 10 + ", " + i + ", NULL)");
+        }
+        execute("INSERT INTO post_details VALUES (1, 0, '{}')");
+        execute("INSERT INTO likes(user_user_id, post_post_id) VALUES (2, 1), (2, 3)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.sql("DROP ALL OBJECTS").then().block();
+    }
+
+    @Test
+    void 최근_게시글_커서_조회() {
+        List<PostPreviewSnapshot> previews = postR2dbcRepository.findRecentPreviews(4L, 2).collectList().block();
+
+        assertThat(previews).extracting(PostPreviewSnapshot::getPostId).containsExactly(3L, 2L);
+        assertThat(previews.get(0).getAccount()).isEqualTo("writer");
+        assertThat(previews.get(0).getHitCount()).isEqualTo(30L);
+    }
+
+    @Test
+    void 카테고리_게시글_조회() {
+        List<PostPreviewSnapshot> previews = postR2dbcRepository
+                .findCategoryPreviews("writer", "spring", Long.MAX_VALUE, 15).collectList().block();
+
+        assertThat(previews).extracting(PostPreviewSnapshot::getPostId).containsExactly(4L, 2L);
+    }
+
+    @Test
+    void 상세_카운터와_문서_조회() {
+        PostR2dbcRepository.PostDetailRow row = postR2dbcRepository.findDetail(1L).block();
+
+        assertThat(row.getRevision()).isEqualTo(1L);
+        assertThat(row.getDocumentRevision()).isEqualTo(0L);
+        assertThat(row.getDocument()).isEqualTo("{}");
+        assertThat(row.getHitCount()).isEqualTo(10L);
+
+        PostR2dbcRepository.PostDetailRow noDocument = postR2dbcRepository.findDetail(2L).block();
+        assertThat(noDocument.getDocument()).isNull();
+        assertThat(postR2dbcRepository.findDetail(99L).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void 좋아요_여부_조회() {
+        assertThat(postR2dbcRepository.existsLike(2L, 1L).block()).isTrue();
+        assertThat(postR2dbcRepository.existsLike(2L, 2L).block()).isFalse();
+        assertThat(postR2dbcRepository.findLikedPostIds(2L, List.of(1L, 2L, 3L)).block()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(postR2dbcRepository.findLikedPostIds(2L, List.of()).block()).isEmpty();
+    }
+
+    @Test
+    void 삭제된_상위_댓글은_하위_댓글이_있을때만_조회() {
+        execute("INSERT INTO comments VALUES (1, 2, 1, NULL, '첫 댓글', false, TIMESTAMP '2022-11-20 12:00:00')");
+        execute("INSERT INTO comments VALUES (2, 1, 1, NULL, '삭제', true, TIMESTAMP '2022-11-20 12:01:00')");
+        execute("INSERT INTO comments VALUES (3, 2, 1, 2, '답글', false, TIMESTAMP '2022-11-20 12:02:00')");
+        execute("INSERT INTO comments VALUES (4, 2, 1, NULL, '삭제', true, TIMESTAMP '2022-11-20 12:03:00')");
+
+        List<CommentLv1Dto> comments = postR2dbcRepository.findComments(1L, 2L, 0, 20).block();
+
+        assertThat(comments).extracting(CommentLv1Dto::getId).containsExactly(1L, 2L);
+        assertThat(comments.get(0).getIsCommentWriter()).isTrue();
+        assertThat(comments.get(1).getContext()).isEqualTo("삭제된 댓글입니다.");
+        assertThat(comments.get(1).getIsPostWriter()).isTrue();
+        assertThat(comments.get(1).getLowerComments()).extracting(CommentLv2Dto::getContext).containsExactly("답글");
+    }
+
+    private void execute(String sql) {
+        client.sql(sql).then().block();
+    }
+}
@@ -39,6 +39,12 @@ class CategoryServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PostPreviewService postPreviewService;
+
+    @Mock
+    private ContentVersionService contentVersionService;
+
     @BeforeEach
     void setUp() {
         when(userRepository.findById(1L))
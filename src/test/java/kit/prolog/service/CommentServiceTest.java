@@ -76,6 +76,7 @@ class CommentServiceTest {
                 .build();
         verify(commentRepository, times(1))
                 .save(eq(comment));
+        verify(postRepository, times(1)).addCommentCount(1L, 1L);
     }
 
     @Test
@@ -164,6 +165,7 @@ class CommentServiceTest {
         comment.setBlock(true);
         verify(commentRepository, times(1))
                 .save(eq(comment));
+        verify(postRepository, times(1)).decreaseCommentCountByCommentId(commentId);
     }
 
     @Test
@@ -0,0 +1,93 @@
+package kit.prolog.service;
+
+import kit.prolog.repository.jpa.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentVersionServiceTest {
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    private ContentVersionService contentVersionService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        contentVersionService = new ContentVersionService(redisTemplate, 3600);
+    }
+
+    @Test
+    void 버전이_증가하면_ETag_변경() {
+        when(valueOperations.multiGet(List.of("version:categories:user1"))).thenReturn(Arrays.asList((String) null));
+        String before = contentVersionService.categoriesTag("user1");
+
+        contentVersionService.increaseCategoryVersion("user1");
+        verify(valueOperations).increment("version:categories:user1");
+        when(valueOperations.multiGet(List.of("version:categories:user1"))).thenReturn(List.of("1"));
+
+        assertThat(before).isEqualTo("c0");
+        assertThat(contentVersionService.categoriesTag("user1")).isEqualTo("c1");
+    }
+
+    @Test
+    void 회원마다_다른_피드_ETag() {
+        when(valueOperations.multiGet(List.of("version:feed", "version:likes:1"))).thenReturn(List.of("3", "0"));
+        when(valueOperations.multiGet(List.of("version:feed", "version:likes:0"))).thenReturn(List.of("3", "0"));
+
+        assertThat(contentVersionService.feedTag(1L)).isNotEqualTo(contentVersionService.feedTag(null));
+        assertThat(contentVersionService.feedTag(1L)).isEqualTo(contentVersionService.feedTag(1L));
+    }
+
+    @Test
+    void 좋아요는_그_회원의_피드_ETag만_변경() {
+        Map<String, String> store = new HashMap<>(Map.of("version:feed", "3"));
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation -> ((List<String>) invocation.getArgument(0))
+                .stream().map(store::get).collect(Collectors.toList()));
+        when(valueOperations.increment(anyString())).thenAnswer(invocation ->
+                Long.parseLong(store.merge(invocation.getArgument(0), "1",
+                        (value, one) -> String.valueOf(Long.parseLong(value) + 1))));
+        String liker = contentVersionService.feedTag(1L), other = contentVersionService.feedTag(2L);
+
+        contentVersionService.increaseLikeVersion(1L);
+
+        assertThat(contentVersionService.feedTag(1L)).isNotEqualTo(liker);
+        assertThat(contentVersionService.feedTag(2L)).isEqualTo(other);
+        assertThat(store.get("version:feed")).isEqualTo("3");
+    }
+
+    @Test
+    void Redis_장애시_조건부_응답_안함() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(contentVersionService.feedTag(1L)).isNull();
+        assertThat(contentVersionService.categoryFeedTag("user1", null)).isNull();
+    }
+
+    @Test
+    void 게시글_ETag는_조회수와_무관() {
+        PostRepository.DetailCounters counters = mock(PostRepository.DetailCounters.class);
+        when(counters.getRevision()).thenReturn(2L);
+        when(counters.getLikeCount()).thenReturn(5L);
+        when(counters.getLikeVersion()).thenReturn(7L);
+
+        assertThat(ContentVersionService.postTag(counters, 1L)).isEqualTo("p2-7-5-1");
+        assertThat(ContentVersionService.postTag(counters, null)).isEqualTo("p2-7-5-0");
+        verify(counters, never()).getHitCount();
+    }
+}
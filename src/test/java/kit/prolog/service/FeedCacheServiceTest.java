@@ -0,0 +1,81 @@
+package kit.prolog.service;
+
+import kit.prolog.config.cache.CacheConfig;
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.service.leaderboard.ScoredPost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FeedCacheServiceTest {
+    @Mock private PostPreviewService postPreviewService;
+    @Mock private HotPostService hotPostService;
+
+    private FeedCacheService feedCacheService;
+
+    @BeforeEach
+    void setUp() {
+        feedCacheService = new FeedCacheService(postPreviewService, hotPostService,
+                new ConcurrentMapCacheManager(CacheConfig.RECENT_FEED, CacheConfig.HOTTEST_FEED), 3);
+    }
+
+    @Test
+    void 순위표가_한_페이지보다_짧으면_캐시에서_응답() {
+        List<ScoredPost> ranking = List.of(new ScoredPost(3L, 5L), new ScoredPost(2L, 3L), new ScoredPost(1L, 1L));
+        when(hotPostService.getRanking(null, 45)).thenReturn(ranking);
+        // 2번 게시글은 삭제되어 미리보기에서 빠짐
+        when(hotPostService.toPreviews(ranking)).thenReturn(List.of(preview(3L, 5L), preview(1L, 1L)));
+
+        List<PostPreviewDto> first = feedCacheService.getHottestPosts(null, null);
+        List<PostPreviewDto> next = feedCacheService.getHottestPosts(1L, 1L);
+
+        assertThat(first).extracting(dto -> dto.getPostDto().getId()).containsExactly(3L, 1L);
+        assertThat(next).isEmpty();
+        verify(hotPostService, times(1)).getRanking(any(), anyInt());
+        verify(hotPostService, never()).getHottestPosts(anyLong(), anyLong());
+    }
+
+    @Test
+    void 순위표가_남아있으면_head_밖은_원본_조회() {
+        List<ScoredPost> ranking = LongStream.rangeClosed(1, 45).map(i -> 46 - i)
+                .mapToObj(id -> new ScoredPost(id, id)).collect(Collectors.toList());
+        when(hotPostService.getRanking(null, 45)).thenReturn(ranking);
+        // 삭제된 게시글 하나가 빠져 head가 45개보다 적음
+        when(hotPostService.toPreviews(ranking)).thenReturn(ranking.stream().skip(1)
+                .map(scored -> preview(scored.getPostId(), scored.getScore())).collect(Collectors.toList()));
+
+        feedCacheService.getHottestPosts(6L, 6L);
+
+        verify(hotPostService, times(1)).getHottestPosts(6L, 6L);
+    }
+
+    @Test
+    void 최근_게시글이_한_페이지보다_짧으면_캐시에서_응답() {
+        when(postPreviewService.getRecentPosts(0, 45)).thenReturn(List.of(preview(2L, null), preview(1L, null)));
+
+        assertThat(feedCacheService.getRecentPosts(0)).hasSize(2);
+        assertThat(feedCacheService.getRecentPosts(1)).isEmpty();
+        verify(postPreviewService, never()).getRecentPosts(anyInt());
+    }
+
+    private static PostPreviewDto preview(Long postId, Long score) {
+        PostPreviewDto preview = new PostPreviewDto(postId, "제목" + postId, LocalDateTime.now(), "작성자", null);
+        preview.setScore(score);
+        return preview;
+    }
+}
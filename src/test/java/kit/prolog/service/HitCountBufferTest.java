@@ -0,0 +1,154 @@
+package kit.prolog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HitCountBufferTest {
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private HitCountBuffer hitCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        hitCountBuffer = new HitCountBuffer(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 100, 50);
+    }
+
+    @Test
+    void 조회수_누적_후_일괄반영() throws InterruptedException {
+        int threads = 8, perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < perThread; j++) hitCountBuffer.record(1L);
+                latch.countDown();
+            });
+        }
+        latch.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(hitCountBuffer.pending(1L)).isEqualTo(threads * perThread);
+
+        hitCountBuffer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(startsWith("INSERT INTO hits("), rows.capture());
+        assertThat(rows.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(threads * perThread);
+        assertThat(hitCountBuffer.pendingTotal()).isZero();
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO hits_daily"), anyList());
+    }
+
+    @Test
+    void 반영_실패시_재시도() {
+        hitCountBuffer.record(1L);
+        hitCountBuffer.record(2L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        hitCountBuffer.flush();
+
+        assertThat(hitCountBuffer.pending(1L)).isEqualTo(1L);
+        assertThat(hitCountBuffer.pending(2L)).isEqualTo(1L);
+    }
+
+    @Test
+    void 삭제된_게시글의_조회수는_버림() {
+        hitCountBuffer.record(1L);
+        hitCountBuffer.record(2L);
+        hitCountBuffer.record(2L);
+
+        hitCountBuffer.discard(2L);
+        hitCountBuffer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO hits("), rows.capture());
+        assertThat(rows.getValue()).extracting(row -> row[1]).containsExactly(1L);
+        assertThat(hitCountBuffer.pendingTotal()).isZero();
+    }
+
+    @Test
+    void 제약_조건_위반시_실패한_게시글만_버림() {
+        hitCountBuffer.record(1L);
+        hitCountBuffer.record(2L);
+        // 게시글 2가 반영 직전에 삭제되어 외래 키 위반
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            boolean deletedPost = rows.stream().anyMatch(row -> row[row.length - 1].equals(2L));
+            if (invocation.<String>getArgument(0).startsWith("INSERT INTO hits(") && deletedPost) {
+                throw new DataIntegrityViolationException("fk_hits_post");
+            }
+            return new int[rows.size()];
+        });
+
+        hitCountBuffer.flush();
+        hitCountBuffer.flush();
+
+        // 한 번에 쓰기 실패 후 게시글별로 다시 써서 게시글 1만 반영, 게시글 2는 재시도하지 않음
+        verify(jdbcTemplate, times(3)).batchUpdate(startsWith("INSERT INTO hits("), anyList());
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE posts"), anyList());
+        assertThat(hitCountBuffer.pendingTotal()).isZero();
+    }
+
+    @Test
+    void 버퍼_용량_초과시_다음_주기에_모두_반영() {
+        for (long postId = 0; postId < 100; postId++) hitCountBuffer.record(postId);
+        hitCountBuffer.record(100L);
+
+        // 요청 스레드에서는 DB에 쓰지 않음
+        assertThat(hitCountBuffer.overflowDrains()).isEqualTo(1L);
+        assertThat(hitCountBuffer.pendingTotal()).isEqualTo(101L);
+        verifyNoInteractions(jdbcTemplate);
+
+        hitCountBuffer.flush();
+
+        assertThat(hitCountBuffer.pendingTotal()).isZero();
+        hitCountBuffer.record(100L);
+        assertThat(hitCountBuffer.overflowDrains()).isEqualTo(1L);
+    }
+
+    @Test
+    void 반영_중_기록된_조회수_유실_없음() throws Exception {
+        int threads = 4, perThread = 20000;
+        hitCountBuffer = new HitCountBuffer(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), 2, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                // 용량(2)보다 많은 게시글에 기록하여 매 주기 카운터가 제거되도록 함
+                for (int j = 0; j < perThread; j++) hitCountBuffer.record((long) (j % 5));
+                latch.countDown();
+            });
+        }
+        while (latch.getCount() > 0) hitCountBuffer.flush();
+        executor.shutdown();
+        hitCountBuffer.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(startsWith("INSERT INTO hits("), rows.capture());
+        assertThat(rows.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(threads * perThread);
+        assertThat(hitCountBuffer.pendingTotal()).isZero();
+    }
+}
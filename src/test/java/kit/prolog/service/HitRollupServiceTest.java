@@ -0,0 +1,54 @@
+package kit.prolog.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HitRollupServiceTest {
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private HitRollupService hitRollupService;
+
+    @BeforeEach
+    void setUp() {
+        hitRollupService = new HitRollupService(jdbcTemplate, transactionManager, false, 30, 100);
+    }
+
+    @Test
+    void 집계_반영_후_chunk_단위_삭제() {
+        when(jdbcTemplate.queryForObject("SELECT MIN(time) FROM hits", Timestamp.class))
+                .thenReturn(Timestamp.valueOf(LocalDate.of(2022, 11, 1).atTime(13, 0)));
+        when(jdbcTemplate.update(startsWith("DELETE FROM hits"), any(), any(), eq(100)))
+                .thenReturn(100, 100, 7)
+                .thenReturn(0);
+
+        long deleted = hitRollupService.compact(LocalDate.of(2022, 11, 3));
+
+        assertThat(deleted).isEqualTo(207L);
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update(startsWith("INSERT INTO hits_daily"), any(), any(), any());
+        inOrder.verify(jdbcTemplate, times(3)).update(startsWith("DELETE FROM hits"), any(), any(), eq(100));
+        inOrder.verify(jdbcTemplate).update(startsWith("INSERT INTO hits_daily"), any(), any(), any());
+        inOrder.verify(jdbcTemplate).update(startsWith("DELETE FROM hits"), any(), any(), eq(100));
+    }
+
+    @Test
+    void 압축할_원본이_없는_경우() {
+        assertThat(hitRollupService.compact(LocalDate.of(2022, 11, 3))).isZero();
+        verify(jdbcTemplate, never()).update(startsWith("DELETE FROM hits"), any(), any(), any());
+    }
+}
@@ -0,0 +1,76 @@
+package kit.prolog.service;
+
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.service.leaderboard.HotPostLeaderboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotPostServiceTest {
+    @Mock private HotPostLeaderboard leaderboard;
+    @Mock private PostRepository postRepository;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private HotPostService hotPostService;
+
+    @BeforeEach
+    void setUp() {
+        hotPostService = new HotPostService(leaderboard, postRepository, jdbcTemplate, 7);
+    }
+
+    @Test
+    void 잠금을_잡은_인스턴스만_만료() {
+        LocalDate expired = LocalDate.now().minusDays(7);
+        when(leaderboard.tryLock(eq("expire:" + expired), any(Duration.class))).thenReturn(true, false);
+
+        hotPostService.expire();
+        hotPostService.expire();
+
+        verify(leaderboard, times(1)).expire(expired);
+    }
+
+    @Test
+    void 잠금을_못_잡으면_재구성_생략() {
+        when(leaderboard.tryLock(eq("rebuild"), any(Duration.class))).thenReturn(false);
+
+        hotPostService.rebuild();
+
+        verifyNoInteractions(jdbcTemplate);
+        verify(leaderboard, never()).rebuild(any());
+    }
+
+    @Test
+    void 재구성_조회_실패시_순위표_유지() {
+        when(leaderboard.tryLock(eq("rebuild"), any(Duration.class))).thenReturn(true);
+        doThrow(new QueryTimeoutException("timeout")).when(jdbcTemplate)
+                .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        hotPostService.rebuild();
+
+        verify(leaderboard, never()).rebuild(any());
+    }
+
+    @Test
+    void 잠금_실패시_작업_생략() {
+        when(leaderboard.tryLock(anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        hotPostService.expire();
+
+        verify(leaderboard, never()).expire(any());
+    }
+}
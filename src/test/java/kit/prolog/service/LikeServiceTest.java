@@ -0,0 +1,67 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.LikeDto;
+import kit.prolog.repository.jpa.LikeRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LikeServiceTest {
+    @Mock private LikeRepository likeRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private HotPostService hotPostService;
+    @Mock private PostPreviewService postPreviewService;
+    @Mock private ContentVersionService contentVersionService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private LikeService likeService;
+
+    @BeforeEach
+    void setUp() {
+        likeService = new LikeService(likeRepository, postRepository, hotPostService,
+                postPreviewService, contentVersionService, transactionManager);
+        when(postRepository.existsById(1L)).thenReturn(true);
+    }
+
+    @Test
+    void 교착_상태면_새_트랜잭션으로_재시도() {
+        when(likeRepository.findTimeByUserIdAndPostId(1L, 1L)).thenReturn(Optional.empty());
+        when(likeRepository.insertIgnore(1L, 1L))
+                .thenThrow(new CannotAcquireLockException("deadlock"))
+                .thenReturn(1);
+        when(postRepository.findLikeCountById(1L)).thenReturn(1L);
+
+        LikeDto likeDto = likeService.toggle(1L, 1L);
+
+        assertThat(likeDto.isExist()).isTrue();
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(hotPostService, times(1)).liked(eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void 재시도_횟수_초과시_예외_순위_반영_없음() {
+        when(likeRepository.insertIgnore(1L, 1L)).thenThrow(new DeadlockLoserDataAccessException("deadlock", null));
+
+        assertThatThrownBy(() -> likeService.like(1L, 1L)).isInstanceOf(DeadlockLoserDataAccessException.class);
+
+        verify(likeRepository, times(3)).insertIgnore(1L, 1L);
+        verify(transactionManager, never()).commit(any());
+        verifyNoInteractions(hotPostService);
+    }
+}
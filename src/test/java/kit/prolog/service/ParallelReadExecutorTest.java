@@ -0,0 +1,68 @@
+package kit.prolog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelReadExecutorTest {
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private ParallelReadExecutor parallelReadExecutor;
+
+    @BeforeEach
+    void setUp() {
+        parallelReadExecutor = new ParallelReadExecutor(transactionManager, new SimpleMeterRegistry(), 4, 64, 2, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelReadExecutor.shutdown();
+    }
+
+    @Test
+    void 동시_조회_수는_커넥션_허용량_이하() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        CompletableFuture<?>[] futures = IntStream.range(0, 8)
+                .mapToObj(i -> parallelReadExecutor.submit(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return running.decrementAndGet();
+                }))
+                .toArray(CompletableFuture[]::new);
+        parallelReadExecutor.await(futures);
+
+        assertThat(peak.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void 조회에_제한_시간_적용() {
+        parallelReadExecutor.await(parallelReadExecutor.submit(() -> 1));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definition.capture());
+        assertThat(definition.getValue().getTimeout()).isEqualTo(2);
+        assertThat(definition.getValue().isReadOnly()).isTrue();
+    }
+}
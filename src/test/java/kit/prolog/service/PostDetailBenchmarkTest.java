@@ -0,0 +1,123 @@
+package kit.prolog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kit.prolog.config.QuerydslConfig;
+import kit.prolog.repository.jpa.AttachmentRepository;
+import kit.prolog.repository.jpa.LikeRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.repository.jpa.PostTagRepository;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 게시글 상세조회 하위 조회의 직렬/병렬 실행 지연시간 비교
+* 기본 빌드에서는 실행하지 않으며 -Dbenchmark=true로 실행
+* 메모리 DB는 조회 지연이 거의 없으므로 실제 비교는 SPRING_DATASOURCE_URL 환경변수로 MySQL을 지정하여 실행
+* */
+@Log4j2
+@DataJpaTest
+@Import(QuerydslConfig.class)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"classpath:test.sql"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PostDetailBenchmarkTest {
+    private static final long POST_ID = 1L;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+
+    @Autowired private PostRepository postRepository;
+    @Autowired private LikeRepository likeRepository;
+    @Autowired private AttachmentRepository attachmentRepository;
+    @Autowired private PostTagRepository postTagRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private ParallelReadExecutor parallelReadExecutor;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        parallelReadExecutor = new ParallelReadExecutor(transactionManager, new SimpleMeterRegistry(), 4, 64, 4, 5000);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // 첨부파일 50개, 태그 20개
+        for (int i = 0; i < 50; i++) {
+            jdbcTemplate.update("INSERT INTO attachments(attachment_id, extension, name, url, post_post_id) " +
+                    "VALUES (NEXT VALUE FOR attachments_seq, 'png', ?, ?, ?)",
+                    "file" + i, "https://cdn/file" + i, POST_ID);
+        }
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("INSERT INTO tags(name) VALUES (?)", "bench" + i);
+            jdbcTemplate.update("INSERT INTO posts_and_tags(post_post_id, tag_tag_id) " +
+                    "SELECT ?, tag_id FROM tags WHERE name = ?", POST_ID, "bench" + i);
+        }
+    }
+
+    @Test
+    void 직렬_병렬_지연시간_비교() {
+        for (int i = 0; i < WARMUP; i++) {
+            serial();
+            parallel();
+        }
+
+        long[] serial = new long[ITERATIONS], parallel = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            serial();
+            serial[i] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parallel();
+            parallel[i] = System.nanoTime() - start;
+        }
+
+        log.info("post detail serial   p50 {}us, p99 {}us", percentile(serial, 50), percentile(serial, 99));
+        log.info("post detail parallel p50 {}us, p99 {}us", percentile(parallel, 50), percentile(parallel, 99));
+        assertThat(parallel()).isEqualTo(serial());
+    }
+
+    private int serial() {
+        return readOnlyTransaction.execute(status -> likeRepository.countByPost_Id(POST_ID)
+                + attachmentRepository.findByPost_Id(POST_ID).size()
+                + postTagRepository.findTagNameByPost_Id(POST_ID).size()
+                + postRepository.selectDetailLayout(POST_ID).size()
+                + (likeRepository.existsByUser_IdAndPost_Id(1L, POST_ID) ? 1 : 0));
+    }
+
+    private int parallel() {
+        CompletableFuture<Integer> likeCount = parallelReadExecutor.submit(() -> likeRepository.countByPost_Id(POST_ID));
+        CompletableFuture<Integer> attachments = parallelReadExecutor.submit(() -> attachmentRepository.findByPost_Id(POST_ID).size());
+        CompletableFuture<Integer> tags = parallelReadExecutor.submit(() -> postTagRepository.findTagNameByPost_Id(POST_ID).size());
+        CompletableFuture<Integer> layouts = parallelReadExecutor.submit(() -> postRepository.selectDetailLayout(POST_ID).size());
+        CompletableFuture<Boolean> exist = parallelReadExecutor.submit(() -> likeRepository.existsByUser_IdAndPost_Id(1L, POST_ID));
+        parallelReadExecutor.await(likeCount, attachments, tags, layouts, exist);
+        return likeCount.join() + attachments.join() + tags.join() + layouts.join() + (exist.join() ? 1 : 0);
+    }
+
+    private static long percentile(long[] nanos, int percentile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1000;
+    }
+}
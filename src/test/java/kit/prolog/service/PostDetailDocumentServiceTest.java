@@ -0,0 +1,92 @@
+package kit.prolog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kit.prolog.domain.PostDetailDocument;
+import kit.prolog.dto.AttachmentDto;
+import kit.prolog.dto.LayoutDto;
+import kit.prolog.dto.PostDetailDto;
+import kit.prolog.repository.jpa.AttachmentRepository;
+import kit.prolog.repository.jpa.PostDetailDocumentRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import kit.prolog.repository.jpa.PostTagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostDetailDocumentServiceTest {
+    @Mock private PostDetailDocumentRepository documentRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private AttachmentRepository attachmentRepository;
+    @Mock private PostTagRepository postTagRepository;
+    @Mock private ParallelReadExecutor parallelReadExecutor;
+
+    private PostDetailDocumentService postDetailDocumentService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        postDetailDocumentService = new PostDetailDocumentService(documentRepository, postRepository,
+                attachmentRepository, postTagRepository, parallelReadExecutor, objectMapper);
+    }
+
+    @Test
+    void 작성시_생성한_문서로_상세조회(){
+        givenPost();
+        when(postRepository.findRevisionById(10L)).thenReturn(0L);
+
+        postDetailDocumentService.rebuild(10L);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(documentRepository).upsert(eq(10L), eq(0L), json.capture());
+        when(documentRepository.findById(10L)).thenReturn(Optional.of(new PostDetailDocument(10L, 0L, json.getValue())));
+
+        PostDetailDto detail = postDetailDocumentService.get(10L, 0L);
+
+        assertThat(detail.getPostDto().getTitle()).isEqualTo("제목");
+        assertThat(detail.getCategoryDto().getName()).isEqualTo("개발용");
+        assertThat(detail.getTags()).containsExactly("spring", "jpa");
+        assertThat(detail.getAttachmentDto()).extracting(AttachmentDto::getUrl).containsExactly("http://file/1");
+        assertThat(detail.getLayoutDto()).hasSize(1);
+        assertThat(detail.getHits()).isNull();
+        verify(postRepository, times(1)).findPostById(10L);
+    }
+
+    @Test
+    void revision이_다르면_다시_생성(){
+        givenPost();
+        when(documentRepository.findById(10L)).thenReturn(Optional.of(new PostDetailDocument(10L, 0L, "{}")));
+        when(parallelReadExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(((Supplier<?>) invocation.getArgument(0)).get()));
+
+        PostDetailDto detail = postDetailDocumentService.get(10L, 1L);
+
+        assertThat(detail.getPostDto().getTitle()).isEqualTo("제목");
+        verify(parallelReadExecutor).await(any(), any(), any());
+        verify(documentRepository).upsert(eq(10L), eq(1L), anyString());
+    }
+
+    private void givenPost() {
+        when(postRepository.findPostById(10L)).thenReturn(new PostDetailDto(1L, "김태훈", null, 10L, "제목",
+                LocalDateTime.of(2022, 11, 20, 12, 0), 1L, 2L, "개발용", 5L));
+        when(attachmentRepository.findByPost_Id(10L)).thenReturn(List.of(new AttachmentDto(1L, "http://file/1")));
+        when(postTagRepository.findTagNameByPost_Id(10L)).thenReturn(List.of("spring", "jpa"));
+        when(postRepository.selectDetailLayout(10L)).thenReturn(List.of(new LayoutDto(3L, "본문")));
+    }
+}
@@ -0,0 +1,79 @@
+package kit.prolog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import kit.prolog.domain.Category;
+import kit.prolog.domain.Post;
+import kit.prolog.domain.PostPreviewSnapshot;
+import kit.prolog.domain.User;
+import kit.prolog.dto.LayoutDto;
+import kit.prolog.dto.PostPreviewDto;
+import kit.prolog.repository.jpa.PostPreviewSnapshotRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostPreviewServiceTest {
+    @Mock private PostPreviewSnapshotRepository snapshotRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private PostPreviewService postPreviewService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        postPreviewService = new PostPreviewService(snapshotRepository, postRepository, objectMapper, transactionManager);
+    }
+
+    @Test
+    void 게시글_미리보기_재생성_후_조회(){
+        LocalDateTime time = LocalDateTime.of(2022, 11, 20, 12, 0);
+        User user = new User(1L);
+        user.setAccount("sky834459");
+        user.setName("김태훈");
+        Category category = Category.builder().id(2L).name("개발용").build();
+        Post post = new Post("제목", time, user, category);
+        post.setId(10L);
+
+        PostPreviewDto preview = new PostPreviewDto(10L, "제목", time, "김태훈", null, 0L, 0L);
+        preview.addLayoutDto(List.of(
+                new LayoutDto(2, 10.0, 20.0, "설명", null, null, null, null, "http://image/1"),
+                new LayoutDto(2, 10.0, 20.0, "설명", null, null, null, null, "http://image/2")));
+        when(postRepository.findPreviewsByIds(List.of(10L))).thenReturn(List.of(preview));
+        when(postRepository.findAllById(List.of(10L))).thenReturn(List.of(post));
+
+        postPreviewService.refresh(10L);
+
+        ArgumentCaptor<PostPreviewSnapshot> snapshot = ArgumentCaptor.forClass(PostPreviewSnapshot.class);
+        verify(snapshotRepository).save(snapshot.capture());
+        assertThat(snapshot.getValue().getAccount()).isEqualTo("sky834459");
+        assertThat(snapshot.getValue().getCategoryName()).isEqualTo("개발용");
+
+        when(snapshotRepository.findByAccountAndCategoryNameAndPostIdLessThanOrderByPostIdDesc(
+                eq("sky834459"), eq("개발용"), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(snapshot.getValue()));
+
+        List<PostPreviewDto> posts = postPreviewService.getPostsByCategory("sky834459", "개발용", 0);
+
+        assertThat(posts).hasSize(1);
+        assertThat(posts.get(0).getPostDto().getTitle()).isEqualTo("제목");
+        assertThat(posts.get(0).getLayoutDto().getUrl()).containsExactly("http://image/1", "http://image/2");
+    }
+}
@@ -0,0 +1,145 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.PostPreviewDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/*
+* 메모리 H2에 검색에 쓰는 컬럼만 만들어 DB 적재, 색인, 스냅샷까지 실행
+* */
+@ExtendWith(MockitoExtension.class)
+class PostSearchServiceTest {
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private PostPreviewService postPreviewService;
+    @TempDir Path directory;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:search;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE posts (post_id BIGINT PRIMARY KEY, title VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE contexts (post_post_id BIGINT, context VARCHAR(255), " +
+                "code VARCHAR(255), code_explanation VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE tags (tag_id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE posts_and_tags (post_post_id BIGINT, tag_tag_id BIGINT)");
+
+        post(1L, "redis 캐시 정리", null);
+        post(2L, "일기", "오늘 redis 적용");
+        post(3L, "redis", null);
+        jdbcTemplate.update("INSERT INTO tags VALUES (1, 'redis')");
+        jdbcTemplate.update("INSERT INTO posts_and_tags VALUES (3, 1)");
+        lenient().when(postPreviewService.getPostsByIds(anyList())).thenAnswer(invocation ->
+                ((List<Long>) invocation.getArgument(0)).stream().map(PostSearchServiceTest::preview)
+                        .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void BM25_점수_순서로_cursor_다음부터_조회() {
+        PostSearchService postSearchService = service();
+        postSearchService.rebuild();
+
+        // 제목+태그, 제목, 본문 순
+        List<PostPreviewDto> first = postSearchService.searchPosts("REDIS", null, null, 2);
+        PostPreviewDto last = first.get(first.size() - 1);
+        List<PostPreviewDto> second = postSearchService.searchPosts("redis", last.getScore(), last.getPostDto().getId(), 2);
+
+        assertThat(postIds(first)).containsExactly(3L, 1L);
+        assertThat(first.get(0).getScore()).isGreaterThan(first.get(1).getScore());
+        assertThat(postIds(second)).containsExactly(2L);
+    }
+
+    @Test
+    void 한글_2gram으로_부분_검색() {
+        post(4L, "Spring부트 입문", "의존성 주입");
+        PostSearchService postSearchService = service();
+        postSearchService.rebuild();
+
+        assertThat(postIds(postSearchService.searchPosts("부트", null, null))).containsExactly(4L);
+        assertThat(postIds(postSearchService.searchPosts("의존", null, null))).containsExactly(4L);
+        assertThat(postSearchService.searchPosts("파이썬", null, null)).isEmpty();
+    }
+
+    @Test
+    void 스냅샷_저장_후_불러와_DB와_대조() {
+        service().rebuild();
+        assertThat(Files.exists(directory.resolve("index.bin"))).isTrue();
+
+        // 스냅샷 이후 추가/삭제된 게시글
+        post(4L, "redis 클러스터", null);
+        jdbcTemplate.update("DELETE FROM posts WHERE post_id = 2");
+        PostSearchService restarted = service();
+        restarted.load();
+
+        assertThat(postIds(restarted.searchPosts("redis", null, null))).containsExactlyInAnyOrder(1L, 3L, 4L);
+    }
+
+    @Test
+    void 다른_인스턴스의_변경만_다시_색인() {
+        PostSearchService postSearchService = service();
+        PostSearchService other = service();
+        postSearchService.rebuild();
+        other.rebuild();
+
+        jdbcTemplate.update("UPDATE posts SET title = 'kafka' WHERE post_id = 1");
+        postSearchService.indexed(1L);
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(PostSearchService.CHANNEL), message.capture());
+
+        assertThat(postIds(other.searchPosts("kafka", null, null))).isEmpty();
+        other.changedElsewhere(message.getValue());
+        assertThat(postIds(other.searchPosts("kafka", null, null))).containsExactly(1L);
+
+        // 자신이 보낸 알림은 무시
+        jdbcTemplate.update("UPDATE posts SET title = 'rabbitmq' WHERE post_id = 1");
+        postSearchService.changedElsewhere(message.getValue());
+        assertThat(postIds(postSearchService.searchPosts("kafka", null, null))).containsExactly(1L);
+    }
+
+    private PostSearchService service() {
+        return new PostSearchService(jdbcTemplate, redisTemplate, postPreviewService,
+                new DataSourceTransactionManager(dataSource), directory.resolve("index.bin").toString(), 2);
+    }
+
+    private void post(Long postId, String title, String context) {
+        jdbcTemplate.update("INSERT INTO posts VALUES (?, ?)", postId, title);
+        if (context != null) jdbcTemplate.update("INSERT INTO contexts VALUES (?, ?, NULL, NULL)", postId, context);
+    }
+
+    private static PostPreviewDto preview(Long postId) {
+        return new PostPreviewDto(postId, "제목" + postId, LocalDateTime.now(), "작성자", null);
+    }
+
+    private static List<Long> postIds(List<PostPreviewDto> previews) {
+        return previews.stream().map(dto -> dto.getPostDto().getId()).collect(Collectors.toList());
+    }
+}
@@ -5,6 +5,7 @@ import kit.prolog.dto.AttachmentDto;
 import kit.prolog.dto.CommentLv1Dto;
 import kit.prolog.dto.LayoutDto;
 import kit.prolog.dto.PostDetailDto;
+import kit.prolog.enums.LayoutType;
 import kit.prolog.repository.jpa.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +19,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
@@ -43,6 +45,18 @@ public class PostServiceTest {
     @Mock private LikeRepository likeRepository;
     @Mock private CommentRepository commentRepository;
     @Mock private HitRepository hitRepository;
+    @Mock private HitDailyRepository hitDailyRepository;
+    @Mock private ContextRepository contextRepository;
+    @Mock private HitCountBuffer hitCountBuffer;
+    @Mock private UniqueVisitorService uniqueVisitorService;
+    @Mock private HotPostService hotPostService;
+    @Mock private PostPreviewService postPreviewService;
+    @Mock private FeedCacheService feedCacheService;
+    @Mock private PostDetailDocumentService postDetailDocumentService;
+    @Mock private ContentVersionService contentVersionService;
+    @Mock private PostSearchService postSearchService;
+    @Mock private TagSuggestService tagSuggestService;
+    @Mock private TagPostService tagPostService;
 
 
     @Test
@@ -54,22 +68,131 @@ public class PostServiceTest {
         HashMap<String, Object> param = new HashMap<>();
 
         List<AttachmentDto> attachmentList = List.of(new AttachmentDto(1L, "url"));
-        param.put("attachments", attachmentList);
+        param.put("attachment", attachmentList);
         param.put("tags", List.of("react", "spring"));
 
         Post post = new Post(title, LocalDateTime.now(), new User(userId),
                 Category.builder().id(categoryId).build());
 
         when(postRepository.save(any(Post.class))).thenReturn(post);
-        when(moldRepository.findById(moldId)).thenReturn(Optional.of(new Mold(moldId)));
+        when(tagRepository.findByNameIn(List.of("react", "spring")))
+                .thenReturn(List.of(new Tag("react")), List.of(new Tag("react"), new Tag("spring")));
         when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(Category.builder().id(categoryId).build()));
         when(userRepository.findById(userId)).thenReturn(Optional.of(new User(userId)));
 
         Long writePost = postService.writePost(userId, title, layoutList, categoryId, param);
 
         assertThat(writePost).isEqualTo(post.getId());
-        verify(tagRepository, times(2)).save(any(Tag.class));
-        verify(attachmentRepository, times(1)).save(any(Attachment.class));
+        verify(tagRepository, times(1)).insertIgnore(List.of("spring"));
+        verify(postTagRepository, times(1)).insertAll(eq(post.getId()), argThat(tagIds -> tagIds.size() == 2));
+        verify(attachmentRepository, times(1)).updatePostByNameIn(eq(post), anyCollection());
+    }
+
+    @Test
+    void 게시글_작성시_태그는_대소문자_무시하고_중복_제거(){
+        Long userId = 1L, categoryId = 1L;
+        HashMap<String, Object> param = new HashMap<>();
+        param.put("tags", List.of("Spring", "react", "spring", "SPRING"));
+
+        Post post = new Post("게시글 제목", LocalDateTime.now(), new User(userId),
+                Category.builder().id(categoryId).build());
+
+        when(postRepository.save(any(Post.class))).thenReturn(post);
+        when(tagRepository.findByNameIn(List.of("Spring", "react")))
+                .thenReturn(List.of(new Tag("spring"), new Tag("react")));
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(Category.builder().id(categoryId).build()));
+        when(userRepository.findById(userId)).thenReturn(Optional.of(new User(userId)));
+
+        postService.writePost(userId, "게시글 제목", List.of(new LayoutDto(1L, "콘텐트")), categoryId, param);
+
+        // 처음 입력한 표기만 남기므로 같은 태그를 두 번 세거나 연결하지 않음
+        verify(tagRepository, never()).insertIgnore(anyList());
+        verify(postTagRepository, times(1)).insertAll(eq(post.getId()), argThat(tagIds -> tagIds.size() == 2));
+        verify(tagSuggestService, times(1)).tagged(List.of("Spring", "react"));
+        verify(tagPostService, times(1)).tagged(post.getId(), List.of("Spring", "react"));
+    }
+
+    @Test
+    void 게시글_수정(){
+        // given
+        Long userId = 1L, postId = 1L, categoryId = 1L;
+        Post post = new Post("게시글 제목", LocalDateTime.now(), new User(userId),
+                Category.builder().id(categoryId).build());
+        post.setId(postId);
+        Layout text = new Layout(1L, 0.0, 0.0, 100.0, 20.0, "", LayoutType.CONTEXT.getValue());
+        Layout image = new Layout(2L, 0.0, 20.0, 100.0, 20.0, "", LayoutType.IMAGE.getValue());
+        Layout removed = new Layout(3L, 0.0, 40.0, 100.0, 20.0, "", LayoutType.CONTEXT.getValue());
+
+        // 기존 Context : 본문 2개(이전 수정에서 남은 행 포함), 이미지 2개, 빠질 레이아웃 1개
+        Context oldText = context(10L, post, text), staleText = context(13L, post, text);
+        Context firstImage = context(11L, post, image), secondImage = context(12L, post, image);
+        Context removedText = context(14L, post, removed);
+        oldText.setContext("이전 본문");
+        firstImage.setUrl("a.png");
+        secondImage.setUrl("b.png");
+
+        LayoutDto textDto = new LayoutDto(1L, "새 본문");
+        LayoutDto imageDto = new LayoutDto(new ArrayList<>(List.of("a.png", "b.png", "c.png")));
+        imageDto.setId(2L);
+        HashMap<String, Object> param = new HashMap<>();
+        param.put("tags", List.of("Spring", "jpa"));
+
+        when(postRepository.checkPostWriter(postId)).thenReturn(userId);
+        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(Category.builder().id(categoryId).build()));
+        when(layoutRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(text, image));
+        when(contextRepository.findByPost_IdOrderByIdAsc(postId))
+                .thenReturn(List.of(oldText, firstImage, secondImage, staleText, removedText));
+        when(postTagRepository.findTagNameByPost_Id(postId)).thenReturn(List.of("react", "spring"));
+        when(tagRepository.findByNameIn(List.of("jpa"))).thenReturn(List.of(new Tag("jpa")));
+
+        postService.updatePost(postId, userId, "수정된 제목", List.of(textDto, imageDto), categoryId, param);
+
+        // 기존 행은 내용만 바꾸고, 모자란 이미지만 추가, 남는 행만 삭제
+        assertThat(oldText.getContext()).isEqualTo("새 본문");
+        assertThat(firstImage.getUrl()).isEqualTo("a.png");
+        assertThat(secondImage.getUrl()).isEqualTo("b.png");
+        verify(contextRepository, times(1)).deleteAllByIdInBatch(List.of(13L, 14L));
+        verify(contextRepository, times(1)).saveAll(argThat((List<Context> contexts) ->
+                contexts.size() == 1 && contexts.get(0).getUrl().equals("c.png")));
+        verify(layoutRepository, times(1)).deleteOrphansByIdIn(List.of(3L));
+        // 태그는 빠진 것만 삭제, 새 것만 연결 (대소문자 무시)
+        verify(postTagRepository, times(1)).deleteByPost_IdAndTagNameIn(postId, List.of("react"));
+        verify(postTagRepository, never()).deleteAllByPost_Id(any());
+        verify(postTagRepository, times(1)).insertAll(eq(postId), argThat(tagIds -> tagIds.size() == 1));
+    }
+
+    @Test
+    void 게시글_수정시_이미지는_url이_같은_행과_맞춤(){
+        Long userId = 1L, postId = 1L, categoryId = 1L;
+        Post post = new Post("게시글 제목", LocalDateTime.now(), new User(userId),
+                Category.builder().id(categoryId).build());
+        post.setId(postId);
+        Layout image = new Layout(2L, 0.0, 0.0, 100.0, 20.0, "", LayoutType.IMAGE.getValue());
+        Context firstImage = context(11L, post, image), secondImage = context(12L, post, image);
+        firstImage.setUrl("a.png");
+        secondImage.setUrl("b.png");
+
+        // a.png를 빼고 b.png 뒤에 c.png 추가
+        LayoutDto imageDto = new LayoutDto(new ArrayList<>(List.of("b.png", "c.png")));
+        imageDto.setId(2L);
+
+        when(postRepository.checkPostWriter(postId)).thenReturn(userId);
+        when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+        when(postRepository.save(post)).thenReturn(post);
+        when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(Category.builder().id(categoryId).build()));
+        when(layoutRepository.findAllById(List.of(2L))).thenReturn(List.of(image));
+        when(contextRepository.findByPost_IdOrderByIdAsc(postId)).thenReturn(List.of(firstImage, secondImage));
+
+        postService.updatePost(postId, userId, "게시글 제목", List.of(imageDto), categoryId, new HashMap<>());
+
+        // b.png 행은 그대로 두고 남는 a.png 행에 c.png를 씀
+        assertThat(secondImage.getUrl()).isEqualTo("b.png");
+        assertThat(firstImage.getUrl()).isEqualTo("c.png");
+        verify(contextRepository, never()).deleteAllByIdInBatch(any());
+        verify(contextRepository, never()).saveAll(any());
+        verify(layoutRepository, never()).deleteOrphansByIdIn(any());
     }
 
     @Test
@@ -87,6 +210,28 @@ public class PostServiceTest {
         assertThat(postDetailDto).isNotNull();
     }
 
+    @Test
+    void 첨부파일_삭제시_상세_문서_갱신(){
+        Attachment attachment = new Attachment("1", new Post(10L));
+        when(attachmentRepository.findByName("file.png")).thenReturn(Optional.of(attachment));
+
+        postService.deleteFile("file.png");
+
+        verify(postRepository).increaseRevision(10L);
+        verify(attachmentRepository).delete(attachment);
+    }
+
+    @Test
+    void 레이아웃_틀_삭제시_상세_문서_갱신(){
+        Long userId = 1L, moldId = 2L;
+        when(postRepository.checkMoldWriter(moldId)).thenReturn(userId);
+        when(moldRepository.findById(moldId)).thenReturn(Optional.of(new Mold(moldId)));
+
+        postService.deleteMold(moldId, userId);
+
+        verify(postRepository).increaseRevisionByMoldId(moldId);
+    }
+
 //    @Test
 //    void 게시글_삭제_연쇄작용(){
 //        Long postId = 1L;
@@ -105,4 +250,10 @@ public class PostServiceTest {
 //
 //        assertThat(deletePost).isTrue();
 //    }
+
+    private Context context(Long id, Post post, Layout layout) {
+        Context context = new Context(false, post, layout);
+        context.setId(id);
+        return context;
+    }
 }
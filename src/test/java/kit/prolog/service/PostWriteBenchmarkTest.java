@@ -0,0 +1,148 @@
+package kit.prolog.service;
+
+import kit.prolog.config.QuerydslConfig;
+import kit.prolog.domain.Layout;
+import kit.prolog.dto.AttachmentDto;
+import kit.prolog.dto.FileDto;
+import kit.prolog.dto.LayoutDto;
+import kit.prolog.repository.jpa.LayoutRepository;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 게시글 작성 한 번에 실행되는 SQL 문장 수 비교 (JDBC batch 끔/켬)
+* 끔 : 세션 batch 크기 1, IDENTITY pk처럼 INSERT/UPDATE를 한 문장씩 실행
+* 켬 : application.yml의 batch_size, 시퀀스 pk로 Context INSERT와 Layout UPDATE를 batch로 묶음
+* 문장 수는 Hibernate 통계의 prepared statement 수 (JdbcTemplate으로 실행하는 태그 INSERT 두 문장은 제외)
+* 기본 빌드에서는 실행하지 않으며 -Dbenchmark=true로 실행
+* */
+@Log4j2
+@DataJpaTest
+@Import({QuerydslConfig.class, PostService.class})
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-write;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = {"classpath:test.sql"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PostWriteBenchmarkTest {
+    private static final long USER_ID = 1L;
+    private static final long CATEGORY_ID = 1L;
+    private static final int LAYOUTS = 20;
+    private static final int ATTACHMENTS = 5;
+    private static final int WRITES = 20;
+
+    @Autowired private PostService postService;
+    @Autowired private LayoutRepository layoutRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @PersistenceContext private EntityManager entityManager;
+
+    @MockBean private HitCountBuffer hitCountBuffer;
+    @MockBean private HotPostService hotPostService;
+    @MockBean private PostPreviewService postPreviewService;
+    @MockBean private FeedCacheService feedCacheService;
+    @MockBean private PostDetailDocumentService postDetailDocumentService;
+    @MockBean private UniqueVisitorService uniqueVisitorService;
+    @MockBean private ContentVersionService contentVersionService;
+    @MockBean private PostSearchService postSearchService;
+    @MockBean private TagSuggestService tagSuggestService;
+    @MockBean private TagPostService tagPostService;
+
+    private TransactionTemplate transaction;
+    private List<Long> layoutIds;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        // 줄글 레이아웃 20개
+        List<Layout> layouts = IntStream.range(0, LAYOUTS)
+                .mapToObj(i -> new Layout(new LayoutDto(null, 1, 0, i * 20, 100, 20)))
+                .collect(Collectors.toList());
+        layoutIds = layoutRepository.saveAll(layouts).stream().map(Layout::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void 게시글_작성_문장_수_비교() {
+        // 태그 생성 문장이 첫 작성에만 실행되지 않도록 미리 한 번 작성
+        statementsPerWrite(1, 1);
+
+        double unbatched = statementsPerWrite(1, WRITES);
+        double batched = statementsPerWrite(null, WRITES);
+
+        log.info("post write statements (layouts {}, attachments {}) unbatched {}, batched {}",
+                LAYOUTS, ATTACHMENTS, unbatched, batched);
+        assertThat(batched).isLessThan(unbatched);
+    }
+
+    /*
+    * batchSize가 null이면 설정값 사용
+    * */
+    private double statementsPerWrite(Integer batchSize, int writes) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = 0;
+        for (int i = 0; i < writes; i++) {
+            List<AttachmentDto> attachments = postService.saveUploadedFiles(files());
+            long before = statistics.getPrepareStatementCount();
+            transaction.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                postService.writePost(USER_ID, "문장 수 측정", layoutDtos(), CATEGORY_ID, param(attachments));
+            });
+            statements += statistics.getPrepareStatementCount() - before;
+        }
+        return (double) statements / writes;
+    }
+
+    private List<LayoutDto> layoutDtos() {
+        return layoutIds.stream().map(id -> new LayoutDto(id, "본문" + id)).collect(Collectors.toList());
+    }
+
+    private List<FileDto> files() {
+        List<FileDto> files = new ArrayList<>();
+        for (int i = 0; i < ATTACHMENTS; i++) {
+            FileDto file = new FileDto();
+            file.setSavedName(System.nanoTime() + "_" + i + ".png");
+            file.setPath("https://cdn/" + file.getSavedName());
+            file.setType("png");
+            files.add(file);
+        }
+        return files;
+    }
+
+    private HashMap<String, Object> param(List<AttachmentDto> attachments) {
+        HashMap<String, Object> param = new HashMap<>();
+        param.put("tags", List.of("spring", "jpa", "batch"));
+        param.put("attachment", attachments);
+        return param;
+    }
+}
@@ -0,0 +1,80 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.StatisticsBucketsDto;
+import kit.prolog.dto.StatisticsDto;
+import kit.prolog.enums.StatisticsGranularity;
+import kit.prolog.repository.custom.StatisticsCustomRepository;
+import kit.prolog.repository.jpa.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticServiceTest {
+    @InjectMocks private StatisticService statisticService;
+
+    @Mock private StatisticsCustomRepository statisticsCustomRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private UniqueVisitorService uniqueVisitorService;
+
+    @Test
+    void 월별_구간_통계(){
+        LocalDate from = LocalDate.of(2022, 1, 1), to = LocalDate.of(2023, 1, 1);
+        when(statisticsCustomRepository.findDailyViewsByUserId(1L, from, to)).thenReturn(Map.of(
+                LocalDate.of(2022, 1, 31), 3L,
+                LocalDate.of(2022, 10, 1), 5L,
+                LocalDate.of(2022, 10, 31), 2L,
+                LocalDate.of(2022, 12, 31), 1L));
+
+        StatisticsBucketsDto statistics = statisticService.viewStatistics(1L, null, from, to, StatisticsGranularity.MONTH);
+
+        assertThat(statistics.getViews()).containsExactly(3, 0, 0, 0, 0, 0, 0, 0, 0, 7, 0, 1);
+        assertThat(statistics.getTotal()).isEqualTo(11L);
+    }
+
+    @Test
+    void 주별_구간은_월요일부터(){
+        // 2022-11-02 수요일 ~ 2022-11-16 수요일
+        LocalDate from = LocalDate.of(2022, 11, 2), to = LocalDate.of(2022, 11, 16);
+        when(postRepository.checkPostWriter(10L)).thenReturn(1L);
+        when(statisticsCustomRepository.findDailyViewsByPostId(10L, from, to)).thenReturn(Map.of(
+                LocalDate.of(2022, 11, 6), 1L,
+                LocalDate.of(2022, 11, 7), 4L));
+
+        StatisticsBucketsDto statistics = statisticService.viewStatistics(1L, 10L, from, to, StatisticsGranularity.WEEK);
+
+        assertThat(statistics.getStarts()).containsExactly(
+                LocalDate.of(2022, 10, 31), LocalDate.of(2022, 11, 7), LocalDate.of(2022, 11, 14));
+        assertThat(statistics.getViews()).containsExactly(1, 4, 0);
+    }
+
+    @Test
+    void 다른_회원의_게시글_통계(){
+        when(postRepository.checkPostWriter(10L)).thenReturn(2L);
+
+        assertThrows(IllegalArgumentException.class, () -> statisticService.viewStatistics(
+                1L, 10L, LocalDate.of(2022, 1, 1), LocalDate.of(2022, 2, 1), StatisticsGranularity.DAY));
+    }
+
+    @Test
+    void 연도별_통계_어댑터(){
+        when(statisticsCustomRepository.findDailyViewsByUserId(eq(1L), any(), any())).thenReturn(Map.of());
+        when(statisticsCustomRepository.countViewsByUserId(1L)).thenReturn(42L);
+
+        StatisticsDto statisticsDto = statisticService.viewStatisByUserId(1L, 2022L);
+
+        assertThat(statisticsDto.getCumulativeViews()).isEqualTo(42L);
+        assertThat(statisticsDto.getOctoberViews()).isZero();
+    }
+}
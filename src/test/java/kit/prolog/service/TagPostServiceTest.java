@@ -0,0 +1,94 @@
+package kit.prolog.service;
+
+import kit.prolog.dto.PostPreviewDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+/*
+* 메모리 H2에 태그 목록에 쓰는 컬럼만 만들어 구간별 재구성 실행
+* */
+@ExtendWith(MockitoExtension.class)
+class TagPostServiceTest {
+    @Mock private PostPreviewService postPreviewService;
+
+    private JdbcTemplate jdbcTemplate;
+    private Runnable duringRebuild = () -> {};
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:tag-post;DB_CLOSE_DELAY=-1");
+        // 첫 구간을 읽은 뒤, 교체 전에 다른 요청의 커밋이 끼어드는 경우를 재현
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) throws DataAccessException {
+                super.query(sql, rch, args);
+                Runnable action = duringRebuild;
+                duringRebuild = () -> {};
+                action.run();
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE tags (tag_id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE posts_and_tags (post_and_tag_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "post_post_id BIGINT, tag_tag_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO tags VALUES (1, 'spring'), (2, 'jpa')");
+        jdbcTemplate.update("INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES " +
+                "(1, 1), (2, 1), (2, 2), (3, 1), (3, 2), (4, 2), (5, 1), (5, 2)");
+        when(postPreviewService.getPostsByIds(anyList())).thenAnswer(invocation ->
+                ((List<Long>) invocation.getArgument(0)).stream().map(TagPostServiceTest::preview)
+                        .collect(Collectors.toList()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void 구간별로_읽어_모든_태그가_달린_게시글_조회() {
+        TagPostService tagPostService = new TagPostService(jdbcTemplate, postPreviewService, 2);
+        tagPostService.rebuild();
+
+        assertThat(postIds(tagPostService.getPostsByTags(List.of("Spring", "jpa"), 0))).containsExactly(5L, 3L, 2L);
+        assertThat(postIds(tagPostService.getPostsByTags(List.of("spring"), 3))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void 재구성_중_반영된_변경은_교체_후_다시_적용() {
+        TagPostService tagPostService = new TagPostService(jdbcTemplate, postPreviewService, 2);
+        duringRebuild = () -> {
+            // 이미 읽은 구간의 태그 삭제, 아직 읽지 않은 구간의 게시글 추가
+            jdbcTemplate.update("DELETE FROM posts_and_tags WHERE post_post_id = 2 AND tag_tag_id = 2");
+            tagPostService.untagged(2L, List.of("jpa"));
+            jdbcTemplate.update("INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES (6, 1), (6, 2)");
+            tagPostService.tagged(6L, List.of("spring", "jpa"));
+        };
+
+        tagPostService.rebuild();
+
+        assertThat(postIds(tagPostService.getPostsByTags(List.of("spring", "jpa"), 0))).containsExactly(6L, 5L, 3L);
+    }
+
+    private static PostPreviewDto preview(Long postId) {
+        return new PostPreviewDto(postId, "제목" + postId, LocalDateTime.now(), "작성자", null);
+    }
+
+    private static List<Long> postIds(List<PostPreviewDto> previews) {
+        return previews.stream().map(dto -> dto.getPostDto().getId()).collect(Collectors.toList());
+    }
+}
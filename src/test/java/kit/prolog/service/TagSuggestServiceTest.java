@@ -0,0 +1,81 @@
+package kit.prolog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+* 메모리 H2에 태그 집계에 쓰는 컬럼만 만들어 재구성 실행
+* */
+class TagSuggestServiceTest {
+    private JdbcTemplate jdbcTemplate;
+    private Runnable duringRebuild = () -> {};
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:tag-suggest;DB_CLOSE_DELAY=-1");
+        // 집계 쿼리를 다 읽은 뒤, 교체 전에 다른 요청의 커밋이 끼어드는 경우를 재현
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) throws DataAccessException {
+                super.query(sql, rch);
+                duringRebuild.run();
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE tags (tag_id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE posts_and_tags (post_and_tag_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "tag_tag_id BIGINT)");
+
+        tag(1L, "java", 4);
+        tag(2L, "jpa", 1);
+        tag(3L, "spring", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void 재구성_중_반영된_태그는_교체_후_다시_읽음() {
+        TagSuggestService tagSuggestService = new TagSuggestService(jdbcTemplate, 10);
+        duringRebuild = () -> {
+            jdbcTemplate.update("INSERT INTO posts_and_tags(tag_tag_id) VALUES (2), (2)");
+            tagSuggestService.tagged(List.of("jpa"));
+            tagSuggestService.tagged(List.of("JPA"));
+        };
+
+        tagSuggestService.rebuild();
+
+        // jpa 1 + 2 = 3 (변화량을 다시 더하지 않으므로 5가 되지도 않음)
+        assertThat(tagSuggestService.suggest("")).containsExactly("java", "jpa", "spring");
+    }
+
+    @Test
+    void 재구성_밖의_변경은_바로_반영() {
+        TagSuggestService tagSuggestService = new TagSuggestService(jdbcTemplate, 10);
+        tagSuggestService.rebuild();
+
+        tagSuggestService.tagged(List.of("spring"));
+        tagSuggestService.tagged(List.of("spring"));
+        tagSuggestService.tagged(List.of("spring"));
+
+        assertThat(tagSuggestService.suggest("")).containsExactly("spring", "java", "jpa");
+        assertThat(tagSuggestService.suggest("J")).containsExactly("java", "jpa");
+    }
+
+    private void tag(Long id, String name, int posts) {
+        jdbcTemplate.update("INSERT INTO tags VALUES (?, ?)", id, name);
+        for (int i = 0; i < posts; i++) {
+            jdbcTemplate.update("INSERT INTO posts_and_tags(tag_tag_id) VALUES (?)", id);
+        }
+    }
+}
@@ -31,6 +31,14 @@ public class UserServiceTest {
     @Mock private LikeRepository likeRepository;
     @Mock private CommentRepository commentRepository;
     @Mock private HitRepository hitRepository;
+    @Mock private HitDailyRepository hitDailyRepository;
+    @Mock private HitCountBuffer hitCountBuffer;
+    @Mock private PostPreviewService postPreviewService;
+    @Mock private PostDetailDocumentService postDetailDocumentService;
+    @Mock private ContentVersionService contentVersionService;
+    @Mock private PostSearchService postSearchService;
+    @Mock private TagSuggestService tagSuggestService;
+    @Mock private TagPostService tagPostService;
 
 //    @BeforeEach
     void setUp(){
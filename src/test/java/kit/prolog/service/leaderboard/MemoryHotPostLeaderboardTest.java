@@ -0,0 +1,64 @@
+package kit.prolog.service.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryHotPostLeaderboardTest {
+    private static final LocalDate TODAY = LocalDate.of(2022, 11, 20);
+
+    private final MemoryHotPostLeaderboard leaderboard = new MemoryHotPostLeaderboard();
+
+    @Test
+    void 점수_내림차순_같은_점수는_pk_내림차순(){
+        leaderboard.add(1L, TODAY, 3L);
+        leaderboard.add(2L, TODAY, 5L);
+        leaderboard.add(3L, TODAY, 3L);
+
+        assertThat(leaderboard.page(null, 10)).containsExactly(
+                new ScoredPost(2L, 5L), new ScoredPost(3L, 3L), new ScoredPost(1L, 3L));
+    }
+
+    @Test
+    void cursor_다음부터_조회(){
+        for (long postId = 1; postId <= 5; postId++) leaderboard.add(postId, TODAY, 1L);
+
+        List<ScoredPost> first = leaderboard.page(null, 2);
+        List<ScoredPost> second = leaderboard.page(first.get(1), 2);
+
+        assertThat(first).extracting(ScoredPost::getPostId).containsExactly(5L, 4L);
+        assertThat(second).extracting(ScoredPost::getPostId).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void 기간이_지난_좋아요_차감(){
+        leaderboard.add(1L, TODAY.minusDays(7), 4L);
+        leaderboard.add(1L, TODAY, 1L);
+        leaderboard.add(2L, TODAY.minusDays(7), 2L);
+
+        leaderboard.expire(TODAY.minusDays(7));
+
+        assertThat(leaderboard.page(null, 10)).containsExactly(new ScoredPost(1L, 1L));
+    }
+
+    @Test
+    void 좋아요_취소로_0이_되면_제외(){
+        leaderboard.add(1L, TODAY, 1L);
+        leaderboard.add(1L, TODAY, -1L);
+
+        assertThat(leaderboard.page(null, 10)).isEmpty();
+    }
+
+    @Test
+    void 재구성(){
+        leaderboard.add(9L, TODAY, 10L);
+
+        leaderboard.rebuild(Map.of(TODAY, Map.of(1L, 2L), TODAY.minusDays(1), Map.of(1L, 1L, 2L, 1L)));
+
+        assertThat(leaderboard.page(null, 10)).containsExactly(new ScoredPost(1L, 3L), new ScoredPost(2L, 1L));
+    }
+}
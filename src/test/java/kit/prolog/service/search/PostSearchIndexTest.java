@@ -0,0 +1,90 @@
+package kit.prolog.service.search;
+
+import kit.prolog.service.leaderboard.ScoredPost;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostSearchIndexTest {
+    private final PostSearchIndex index = new PostSearchIndex();
+
+    @Test
+    void 한글은_2gram_영문은_소문자_단어(){
+        assertThat(SearchTokenizer.tokenize("스프링부트 JPA-Entity 글"))
+                .containsExactly("스프", "프링", "링부", "부트", "jpa", "entity", "글");
+        assertThat(SearchTokenizer.tokenize("Spring부트2")).containsExactly("spring", "부트", "2");
+    }
+
+    @Test
+    void 제목_본문_코드_태그_검색(){
+        index.index(document(1L, "스프링 입문", "빈과 의존성 주입", null, "spring"));
+        index.index(document(2L, "자바 정리", "컬렉션", "List<String> list = new ArrayList<>();", null));
+        index.index(document(3L, "일기", "오늘은 맑음", null, "일상"));
+
+        assertThat(postIds(index.search("스프링", null, 10))).containsExactly(1L);
+        assertThat(postIds(index.search("의존성", null, 10))).containsExactly(1L);
+        assertThat(postIds(index.search("ArrayList", null, 10))).containsExactly(2L);
+        assertThat(postIds(index.search("SPRING", null, 10))).containsExactly(1L);
+        assertThat(index.search("파이썬", null, 10)).isEmpty();
+    }
+
+    @Test
+    void 제목에_포함된_게시글이_본문보다_먼저(){
+        index.index(document(1L, "일기", "오늘 redis 캐시를 적용", null, null));
+        index.index(document(2L, "redis 캐시 정리", "내용", null, null));
+
+        assertThat(postIds(index.search("redis", null, 10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void cursor_다음부터_조회(){
+        for (long postId = 1; postId <= 5; postId++) index.index(document(postId, "jpa", null, null, null));
+
+        List<ScoredPost> first = index.search("jpa", null, 2);
+        List<ScoredPost> second = index.search("jpa", first.get(1), 2);
+
+        assertThat(postIds(first)).containsExactly(5L, 4L);
+        assertThat(postIds(second)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void 수정과_삭제(){
+        index.index(document(1L, "스프링", null, null, null));
+        index.index(document(1L, "장고", null, null, null));
+        index.index(document(2L, "스프링", null, null, null));
+        index.remove(2L);
+
+        assertThat(index.search("스프링", null, 10)).isEmpty();
+        assertThat(postIds(index.search("장고", null, 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void 스냅샷_저장_후_불러오기() throws IOException {
+        index.index(document(1L, "스프링 입문", "빈과 의존성 주입", null, "spring"));
+        index.index(document(2L, "자바 정리", "스프링 없이", null, null));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        PostSearchIndex loaded = PostSearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertThat(loaded.postIds()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(loaded.search("스프링", null, 10)).isEqualTo(index.search("스프링", null, 10));
+    }
+
+    private static SearchDocument document(long postId, String title, String context, String code, String tag) {
+        SearchDocument document = new SearchDocument(postId, title);
+        if (context != null) document.getContexts().add(context);
+        if (code != null) document.getCodes().add(code);
+        if (tag != null) document.getTags().add(tag);
+        return document;
+    }
+
+    private static List<Long> postIds(List<ScoredPost> hits) {
+        return hits.stream().map(ScoredPost::getPostId).collect(Collectors.toList());
+    }
+}
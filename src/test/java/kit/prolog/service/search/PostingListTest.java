@@ -0,0 +1,48 @@
+package kit.prolog.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+    private final PostingList postingList = new PostingList();
+
+    @Test
+    void 여러_블록에_걸친_floor(){
+        for (long postId = 2; postId <= 1000; postId += 2) postingList.add(postId);
+        PostingList.Reader reader = postingList.reader();
+
+        assertThat(postingList.size()).isEqualTo(500);
+        assertThat(reader.floor(1L)).isEqualTo(-1L);
+        assertThat(reader.floor(2L)).isEqualTo(2L);
+        assertThat(reader.floor(301L)).isEqualTo(300L);
+        assertThat(reader.floor(Long.MAX_VALUE)).isEqualTo(1000L);
+    }
+
+    @Test
+    void 중간_삽입과_중복(){
+        for (long postId = 10; postId <= 10 * PostingList.BLOCK_SIZE; postId += 10) postingList.add(postId);
+
+        assertThat(postingList.add(15L)).isTrue();
+        assertThat(postingList.add(5L)).isTrue();
+        assertThat(postingList.add(15L)).isFalse();
+
+        PostingList.Reader reader = postingList.reader();
+        assertThat(postingList.size()).isEqualTo(PostingList.BLOCK_SIZE + 2);
+        assertThat(reader.floor(16L)).isEqualTo(15L);
+        assertThat(reader.floor(9L)).isEqualTo(5L);
+    }
+
+    @Test
+    void 삭제(){
+        postingList.add(1L);
+        postingList.add(300L);
+        postingList.add(70000L);
+
+        assertThat(postingList.remove(300L)).isTrue();
+        assertThat(postingList.remove(300L)).isFalse();
+        assertThat(postingList.remove(2L)).isFalse();
+        assertThat(postingList.reader().floor(69999L)).isEqualTo(1L);
+        assertThat(postingList.size()).isEqualTo(2);
+    }
+}
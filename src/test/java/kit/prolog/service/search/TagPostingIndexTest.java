@@ -0,0 +1,44 @@
+package kit.prolog.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagPostingIndexTest {
+    private final TagPostingIndex index = new TagPostingIndex();
+
+    @Test
+    void 태그_하나_pk_내림차순_cursor(){
+        for (long postId = 1; postId <= 5; postId++) index.add("Spring", postId);
+
+        assertThat(index.intersect(List.of("spring"), Long.MAX_VALUE, 2)).containsExactly(5L, 4L);
+        assertThat(index.intersect(List.of("spring"), 4L, 2)).containsExactly(3L, 2L);
+        assertThat(index.intersect(List.of("spring"), 1L, 2)).isEmpty();
+    }
+
+    @Test
+    void 여러_태그_교집합(){
+        for (long postId = 1; postId <= 1000; postId++) {
+            index.add("spring", postId);
+            if (postId % 3 == 0) index.add("jpa", postId);
+            if (postId % 5 == 0) index.add("redis", postId);
+        }
+
+        assertThat(index.intersect(List.of("spring", "jpa", "redis"), Long.MAX_VALUE, 3)).containsExactly(990L, 975L, 960L);
+        assertThat(index.intersect(List.of("jpa", "redis"), 960L, 2)).containsExactly(945L, 930L);
+        assertThat(index.intersect(List.of("spring", "java"), Long.MAX_VALUE, 10)).isEmpty();
+    }
+
+    @Test
+    void 태그_삭제(){
+        index.add("spring", 1L);
+        index.add("spring", 2L);
+        index.remove("spring", 2L);
+        index.remove("jpa", 1L);
+
+        assertThat(index.intersect(List.of("spring"), Long.MAX_VALUE, 10)).containsExactly(1L);
+        assertThat(index.size("spring")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,54 @@
+package kit.prolog.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagTrieTest {
+    private final TagTrie trie = new TagTrie();
+
+    @Test
+    void 사용한_게시글_수_내림차순_같으면_이름순(){
+        trie.add("spring", 5L);
+        trie.add("spring-boot", 7L);
+        trie.add("springdoc", 1L);
+        trie.add("spa", 5L);
+        trie.add("sql", 3L);
+        trie.add("java", 9L);
+
+        assertThat(trie.suggest("s", 10)).containsExactly("spring-boot", "spa", "spring", "sql", "springdoc");
+        assertThat(trie.suggest("spr", 2)).containsExactly("spring-boot", "spring");
+    }
+
+    @Test
+    void 간선_중간에서_끝나는_접두사와_없는_접두사(){
+        trie.add("spring-boot", 1L);
+        trie.add("spring-data", 2L);
+
+        assertThat(trie.suggest("spring-", 10)).containsExactly("spring-data", "spring-boot");
+        assertThat(trie.suggest("spring-b", 10)).containsExactly("spring-boot");
+        assertThat(trie.suggest("spx", 10)).isEmpty();
+        assertThat(trie.suggest("spring-boots", 10)).isEmpty();
+    }
+
+    @Test
+    void 대소문자_구분없이_찾고_원래_이름으로_반환(){
+        trie.add("JavaScript", 1L);
+        trie.add("스프링부트", 2L);
+        trie.add("스프링", 1L);
+
+        assertThat(trie.suggest("javas", 10)).containsExactly("JavaScript");
+        assertThat(trie.suggest("스프", 10)).containsExactly("스프링부트", "스프링");
+    }
+
+    @Test
+    void 가중치_변경(){
+        trie.add("spring", 3L);
+        trie.add("spa", 2L);
+        trie.add("spring", -2L);
+        trie.add("spa", -5L);
+
+        assertThat(trie.suggest("sp", 10)).containsExactly("spring", "spa");
+        assertThat(trie.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,24 @@
+package kit.prolog.service.visitor;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryUniqueVisitorCounterTest {
+
+    @Test
+    void 키_수_상한_초과시_만료가_가까운_키부터_제거(){
+        MemoryUniqueVisitorCounter counter = new MemoryUniqueVisitorCounter(10);
+        for (int i = 0; i < 10; i++) counter.add(List.of("post:" + i), "u:1", Duration.ofDays(1 + i));
+
+        counter.add(List.of("post:new"), "u:1", Duration.ofDays(30));
+
+        assertThat(counter.size()).isEqualTo(9);
+        assertThat(counter.count(List.of("post:0"))).isZero();
+        assertThat(counter.count(List.of("post:new"))).isEqualTo(1L);
+        assertThat(counter.count(List.of("post:9"))).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,64 @@
+package kit.prolog.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    void 중복_방문자는_한번만_집계(){
+        HyperLogLog hyperLogLog = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            hyperLogLog.add("u:1");
+            hyperLogLog.add("ip:127.0.0.1");
+        }
+        assertThat(hyperLogLog.count()).isEqualTo(2L);
+    }
+
+    @Test
+    void 대량_방문자_오차범위(){
+        HyperLogLog hyperLogLog = new HyperLogLog();
+        int visitors = 200_000;
+        for (int i = 0; i < visitors; i++) hyperLogLog.add("ip:10.0." + i);
+
+        assertThat((double) hyperLogLog.count()).isCloseTo(visitors, within(visitors * 0.03));
+    }
+
+    @Test
+    void 합집합(){
+        HyperLogLog today = new HyperLogLog(), yesterday = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) today.add("u:" + i);
+        for (int i = 500; i < 1500; i++) yesterday.add("u:" + i);
+
+        today.merge(yesterday);
+
+        assertThat((double) today.count()).isCloseTo(1500, within(45.0));
+    }
+
+    @Test
+    void 방문자가_적으면_sparse_표현_유지(){
+        HyperLogLog hyperLogLog = new HyperLogLog();
+        for (int i = 0; i < 300; i++) hyperLogLog.add("u:" + i);
+
+        assertThat(hyperLogLog.isSparse()).isTrue();
+        assertThat((double) hyperLogLog.count()).isCloseTo(300, within(9.0));
+    }
+
+    @Test
+    void sparse_dense_전환_후에도_같은_추정값(){
+        HyperLogLog sparse = new HyperLogLog(), dense = new HyperLogLog(), merged = new HyperLogLog();
+        for (int i = 0; i < 500; i++) sparse.add("u:" + i);
+        for (int i = 0; i < 20_000; i++) dense.add("u:" + i);
+        assertThat(dense.isSparse()).isFalse();
+
+        // sparse에 dense를 합치면 dense로 바뀌고, 이미 포함된 원소는 추정값에 영향 없음
+        merged.merge(sparse);
+        merged.merge(dense);
+        dense.merge(sparse);
+
+        assertThat(merged.isSparse()).isFalse();
+        assertThat(merged.count()).isEqualTo(dense.count());
+    }
+}
@@ -0,0 +1,77 @@
+package kit.prolog.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    @Test
+    void 동시_요청은_한번만_실행() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "detail";
+        })));
+        started.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> "detail-" + loads.incrementAndGet())));
+        }
+        // 뒤따른 요청이 모두 기다리기 시작한 뒤 실행을 끝냄
+        while (singleFlight.sharedCount() < 7) Thread.sleep(1);
+        release.countDown();
+
+        for (Future<String> result : results) assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("detail");
+        assertThat(loads).hasValue(1);
+        executor.shutdown();
+
+        // 실행이 끝난 뒤의 요청은 다시 실행
+        assertThat(singleFlight.execute(1L, () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    void 실행_실패는_기다리던_요청에도_전달() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new NullPointerException("No Post Data");
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "detail"));
+        while (singleFlight.sharedCount() < 1) Thread.sleep(1);
+        release.countDown();
+
+        ExecutionException leaderError = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+        ExecutionException followerError = assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(leaderError.getCause()).isInstanceOf(NullPointerException.class);
+        assertThat(followerError.getCause()).isInstanceOf(NullPointerException.class);
+        executor.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -23,26 +23,26 @@ INSERT INTO posts(time, title, category_category_id, mold_mold_id, user_user_id)
 VALUES (CURRENT_TIME, '4이것은 테스트용이예요', 2, 2, 1);
 
 /* 레이아웃 6 */
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
-VALUES (1, 10.245, 34.349, '레이아웃 설명1', 20, 30, 1);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
-VALUES (2, 20.121, 34.349, '레이아웃 설명2', 20, 30, 1);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
-VALUES (3, 33.245, 34.349, '레이아웃 설명3', 20, 30, 2);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width)
-VALUES (4, 49.245, 34.349, '레이아웃 설명4', 20, 30);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width)
-VALUES (5, 53.245, 34.349, '레이아웃 설명5', 20, 30);
-INSERT INTO layouts(dtype, coordinatex, coordinatey, explanation, height, width)
-VALUES (6, 65.245, 34.349, '레이아웃 설명6', 20, 30);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
+VALUES (NEXT VALUE FOR layouts_seq, 1, 10.245, 34.349, '레이아웃 설명1', 20, 30, 1);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
+VALUES (NEXT VALUE FOR layouts_seq, 2, 20.121, 34.349, '레이아웃 설명2', 20, 30, 1);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width, mold_mold_id)
+VALUES (NEXT VALUE FOR layouts_seq, 3, 33.245, 34.349, '레이아웃 설명3', 20, 30, 2);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width)
+VALUES (NEXT VALUE FOR layouts_seq, 4, 49.245, 34.349, '레이아웃 설명4', 20, 30);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width)
+VALUES (NEXT VALUE FOR layouts_seq, 5, 53.245, 34.349, '레이아웃 설명5', 20, 30);
+INSERT INTO layouts(layout_id, dtype, coordinatex, coordinatey, explanation, height, width)
+VALUES (NEXT VALUE FOR layouts_seq, 6, 65.245, 34.349, '레이아웃 설명6', 20, 30);
 
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (1, 1, '줄글 내용', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (1, 2, 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (1, 2, 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, code, code_explanation, code_type, main) values (2, 3, '코드내용', '코드설명', 'CPP', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (2, 4, 'https://www.erdcloud.com/d/c6EcfX5rhWDrvNi7i', false);
-INSERT INTO contexts(post_post_id, layout_layout_id, context, main) values (3, 5, '수학공식', true);
-INSERT INTO contexts(post_post_id, layout_layout_id, url, main) values (3, 6, 'https://www.youtube.com/watch?v=i2jWju6cUvk', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (NEXT VALUE FOR contexts_seq, 1, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명1'), '줄글 내용', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (NEXT VALUE FOR contexts_seq, 1, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명2'), 'http://img4.tmon.kr/cdn4/deals/2021/11/22/9164630210/front_9d836_cfq0o.jpg', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (NEXT VALUE FOR contexts_seq, 1, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명2'), 'https://www.flaticon.com/kr/free-icon/example_5578817', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, code, code_explanation, code_type, main) values (NEXT VALUE FOR contexts_seq, 2, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명3'), '코드내용', '코드설명', 'CPP', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (NEXT VALUE FOR contexts_seq, 2, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명4'), 'https://www.erdcloud.com/d/c6EcfX5rhWDrvNi7i', false);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, context, main) values (NEXT VALUE FOR contexts_seq, 3, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명5'), '수학공식', true);
+INSERT INTO contexts(context_id, post_post_id, layout_layout_id, url, main) values (NEXT VALUE FOR contexts_seq, 3, (SELECT layout_id FROM layouts WHERE explanation = '레이아웃 설명6'), 'https://www.youtube.com/watch?v=i2jWju6cUvk', false);
 
 /* 태그 6 */
 INSERT INTO tags(name) VALUES ('딥러닝');
@@ -65,7 +65,7 @@ INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES (3,5);
 INSERT INTO posts_and_tags(post_post_id, tag_tag_id) VALUES (3,6);
 
 /* 첨부파일 1 */
-INSERT INTO attachments(extension, name, url, post_post_id) VALUES ('txt', '실험 파일', '', 1);
+INSERT INTO attachments(attachment_id, extension, name, url, post_post_id) VALUES (NEXT VALUE FOR attachments_seq, 'txt', '실험 파일', '', 1);
 /* 조회 10 */
 INSERT INTO hits(time, post_post_id) VALUES (CURRENT_TIME, 1);
 INSERT INTO hits(time, post_post_id) VALUES (CURRENT_TIME, 1);